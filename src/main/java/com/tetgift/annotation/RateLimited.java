@@ -0,0 +1,17 @@
+package com.tetgift.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Throttles a controller method with the buckets of the named {@code rate-limit.policies} entry.
+ * {@link #account()} is a SpEL expression over the method arguments (e.g. {@code #request.email})
+ * that keys the per-account bucket; policies without an account bucket can leave it empty.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RateLimited {
+    String value();
+
+    String account() default "";
+}
@@ -0,0 +1,227 @@
+package com.tetgift.component;
+
+import com.tetgift.service.DelayedJobHandler;
+import com.tetgift.service.DelayedJobService;
+import com.tetgift.util.HierarchicalTimingWheel;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fires delayed jobs on the node holding the {@code delayed:leader} lease. Every refill the leader
+ * reads the jobs due within the horizon from each queue's sorted set into an in-process
+ * {@link HierarchicalTimingWheel}; the wheel then releases them on their due tick, and they are
+ * claimed atomically and handed to the queue's {@link DelayedJobHandler} in batches. Jobs
+ * scheduled on other nodes closer than one refill interval ahead may fire up to that interval late.
+ */
+@Component
+@Slf4j
+public class DelayedJobDispatcher {
+    private static final String LEASE_KEY = "delayed:leader";
+
+    private final DelayedJobService delayedJobService;
+    private final Map<String, DelayedJobHandler> handlers;
+    private final RedisLease lease;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long horizonMillis;
+    private final long refillMillis;
+    private final long leaseRenewMillis;
+    private final long visibilityMillis;
+    private final int batchSize;
+    private final Map<Job, Long> loaded = new HashMap<>();
+    private HierarchicalTimingWheel<Job> wheel;
+    private volatile boolean leader;
+    private volatile boolean running;
+    private Thread driver;
+
+    public DelayedJobDispatcher(DelayedJobService delayedJobService,
+                                List<DelayedJobHandler> handlers,
+                                StringRedisTemplate stringRedisTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${delayed-jobs.enabled:true}") boolean enabled,
+                                @Value("${delayed-jobs.tick-ms:100}") long tickMillis,
+                                @Value("${delayed-jobs.wheel-size:64}") int wheelSize,
+                                @Value("${delayed-jobs.horizon-ms:30000}") long horizonMillis,
+                                @Value("${delayed-jobs.refill-ms:5000}") long refillMillis,
+                                @Value("${delayed-jobs.lease-ms:15000}") long leaseMillis,
+                                @Value("${delayed-jobs.visibility-ms:60000}") long visibilityMillis,
+                                @Value("${delayed-jobs.batch-size:500}") int batchSize) {
+        this.delayedJobService = delayedJobService;
+        this.handlers = handlers.stream().collect(Collectors.toMap(DelayedJobHandler::queue, Function.identity()));
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.horizonMillis = horizonMillis;
+        this.refillMillis = refillMillis;
+        this.leaseRenewMillis = leaseMillis / 3;
+        this.visibilityMillis = visibilityMillis;
+        this.batchSize = batchSize;
+        this.lease = new RedisLease(stringRedisTemplate, LEASE_KEY, nodeId(), Duration.ofMillis(leaseMillis));
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+        Gauge.builder("delayed.jobs.leader", this, dispatcher -> dispatcher.leader ? 1 : 0).register(meterRegistry);
+        for (String queue : this.handlers.keySet()) {
+            Gauge.builder("delayed.jobs.pending", delayedJobService, service -> service.pending(queue))
+                    .tag("queue", queue).register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || handlers.isEmpty()) {
+            return;
+        }
+        running = true;
+        driver = Thread.ofPlatform().name("delayed-jobs").daemon().start(this::drive);
+        log.info("Delayed job dispatcher started for queues {}", handlers.keySet());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (driver != null) {
+            driver.interrupt();
+            driver.join(5_000L);
+        }
+        if (leader) {
+            lease.release();
+        }
+    }
+
+    private void drive() {
+        long nextLeaseCheck = 0;
+        long nextRefill = 0;
+        while (running) {
+            try {
+                long now = System.currentTimeMillis();
+                if (now >= nextLeaseCheck) {
+                    updateLeadership();
+                    nextLeaseCheck = now + leaseRenewMillis;
+                }
+                if (leader) {
+                    if (now >= nextRefill) {
+                        nextRefill = refill(now) ? now : now + refillMillis;
+                    }
+                    fireDue(now);
+                }
+                Thread.sleep(tickMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Delayed job dispatcher failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Renews or takes the lease. A node that loses it drops its wheel; the next leader rebuilds
+     * its own from Redis.
+     */
+    public boolean updateLeadership() {
+        boolean held = lease.acquire();
+        if (held != leader) {
+            log.info(held ? "Acquired delayed job leadership" : "Lost delayed job leadership");
+            wheel = new HierarchicalTimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+            loaded.clear();
+        }
+        leader = held;
+        return held;
+    }
+
+    /**
+     * Loads jobs due before {@code now + horizon} into the wheel and recovers expired claims.
+     * Returns true when a queue has a backlog of overdue jobs beyond one batch, so the caller
+     * refills again on the next tick instead of waiting a full refill interval.
+     */
+    public boolean refill(long now) {
+        boolean backlog = false;
+        for (String queue : handlers.keySet()) {
+            long recovered = delayedJobService.recover(queue, now, batchSize);
+            if (recovered > 0) {
+                log.warn("Recovered {} unfinished delayed jobs in {}", recovered, queue);
+            }
+            long lastDue = Long.MIN_VALUE;
+            Map<String, Long> jobs = delayedJobService.peek(queue, now + horizonMillis, batchSize);
+            for (Map.Entry<String, Long> entry : jobs.entrySet()) {
+                Job job = new Job(queue, entry.getKey());
+                if (!entry.getValue().equals(loaded.put(job, entry.getValue()))) {
+                    wheel.add(job, entry.getValue());
+                }
+                lastDue = entry.getValue();
+            }
+            backlog |= jobs.size() == batchSize && lastDue <= now;
+        }
+        return backlog;
+    }
+
+    /**
+     * Advances the wheel to {@code now} and runs everything that became due. Returns the number
+     * of jobs handled.
+     */
+    public int fireDue(long now) {
+        List<Job> due = wheel.advanceTo(now);
+        if (due.isEmpty()) {
+            return 0;
+        }
+        Map<String, List<String>> byQueue = new LinkedHashMap<>();
+        for (Job job : due) {
+            loaded.remove(job);
+            byQueue.computeIfAbsent(job.queue(), key -> new ArrayList<>()).add(job.id());
+        }
+        int handled = 0;
+        for (Map.Entry<String, List<String>> entry : byQueue.entrySet()) {
+            List<String> jobIds = entry.getValue();
+            for (int from = 0; from < jobIds.size(); from += batchSize) {
+                handled += dispatch(entry.getKey(), jobIds.subList(from, Math.min(jobIds.size(), from + batchSize)), now);
+            }
+        }
+        return handled;
+    }
+
+    private int dispatch(String queue, List<String> jobIds, long now) {
+        List<String> claimed = delayedJobService.claim(queue, jobIds, now, now + visibilityMillis);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        try {
+            handlers.get(queue).handle(claimed);
+            delayedJobService.complete(queue, claimed);
+            meterRegistry.counter("delayed.jobs.fired", "queue", queue).increment(claimed.size());
+            return claimed.size();
+        } catch (Exception e) {
+            meterRegistry.counter("delayed.jobs.failed", "queue", queue).increment(claimed.size());
+            log.error("Delayed jobs in {} failed, retrying after visibility timeout: {}", queue, e.getMessage());
+            return 0;
+        }
+    }
+
+    private static String nodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + "-" + ProcessHandle.current().pid() + "-" + UUID.randomUUID();
+    }
+
+    private record Job(String queue, String id) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.tetgift.component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.tetgift.dto.response.ResponseData;
+import com.tetgift.exception.ErrorResponse;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JSON converter that writes the {@link ResponseData} and {@link ErrorResponse} envelopes with one
+ * prebuilt {@link ObjectWriter} per declared type, straight to the response stream. Everything
+ * else, including JSON views and non-UTF-8 charsets, goes through the standard converter.
+ */
+public class EnvelopeJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+    private final ConcurrentHashMap<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public EnvelopeJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (!(object instanceof ResponseData<?> || object instanceof ErrorResponse) || !isUtf8(outputMessage)) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        ObjectWriter writer = writers.computeIfAbsent(type != null ? type : object.getClass(), this::writerFor);
+        try {
+            writer.writeValue(StreamUtils.nonClosing(outputMessage.getBody()), object);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private ObjectWriter writerFor(Type type) {
+        JavaType javaType = getJavaType(type, null);
+        return defaultObjectMapper.writerFor(javaType);
+    }
+
+    private static boolean isUtf8(HttpOutputMessage outputMessage) {
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        return contentType == null || contentType.getCharset() == null
+                || "UTF-8".equalsIgnoreCase(contentType.getCharset().name());
+    }
+}
@@ -0,0 +1,86 @@
+package com.tetgift.component;
+
+import com.tetgift.dto.response.PageResponse;
+import com.tetgift.exception.InvalidCursorException;
+import com.tetgift.model.BaseEntity;
+import com.tetgift.model.page.KeysetSort;
+import com.tetgift.model.page.PageCursor;
+import com.tetgift.repository.jdbc.TableStatisticsRepository;
+import com.tetgift.repository.jpa.KeysetSpecifications;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.Function;
+
+/**
+ * Cursor pagination over any {@link JpaSpecificationExecutor}: the filter is combined with a seek
+ * predicate from the cursor and {@code size + 1} rows are fetched to detect a next page, so no
+ * OFFSET scan and no {@code COUNT(*)} is ever issued.
+ */
+@Component
+public class KeysetPaginator {
+    private final PageCursorCodec cursorCodec;
+    private final TableStatisticsRepository tableStatistics;
+    private final int maxPageSize;
+
+    public KeysetPaginator(PageCursorCodec cursorCodec,
+                           TableStatisticsRepository tableStatistics,
+                           @Value("${pagination.max-page-size:100}") int maxPageSize) {
+        this.cursorCodec = cursorCodec;
+        this.tableStatistics = tableStatistics;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * @param filter optional filter, may be {@code null}
+     * @param cursor {@code nextCursor} of the previous page, or {@code null} for the first page
+     * @param table table name used for the approximate total when {@code withTotal} is set
+     */
+    public <T extends BaseEntity<Long>, K extends Comparable<? super K>, R> PageResponse<List<R>> page(
+            JpaSpecificationExecutor<T> repository, Specification<T> filter, KeysetSort<T, K> sort,
+            String cursor, int size, String table, boolean withTotal, Function<T, R> mapper) {
+        int pageSize = Math.clamp(size, 1, maxPageSize);
+        List<Specification<T>> specifications = new ArrayList<>(2);
+        if (filter != null) {
+            specifications.add(filter);
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            PageCursor position = cursorCodec.decode(cursor, sort.name());
+            K value;
+            try {
+                value = sort.getParser().apply(position.getSortValue());
+            } catch (RuntimeException e) {
+                throw new InvalidCursorException("Invalid page cursor");
+            }
+            specifications.add(KeysetSpecifications.after(sort.getAttribute(), value, position.getId(), sort.getDirection()));
+        }
+        List<T> rows = repository.findBy(Specification.allOf(specifications),
+                query -> query.sortBy(sort.toSort()).limit(pageSize + 1).all());
+
+        boolean hasNext = rows.size() > pageSize;
+        List<T> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            T last = page.get(page.size() - 1);
+            nextCursor = cursorCodec.encode(new PageCursor(sort.name(),
+                    String.valueOf(sort.getExtractor().apply(last)), last.getId()));
+        }
+        Long approximateTotal = null;
+        if (withTotal) {
+            OptionalLong estimate = tableStatistics.estimateRowCount(table);
+            approximateTotal = estimate.isPresent() ? estimate.getAsLong() : null;
+        }
+        return PageResponse.<List<R>>builder()
+                .pageSize(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .approximateTotal(approximateTotal)
+                .items(page.stream().map(mapper).toList())
+                .build();
+    }
+}
@@ -0,0 +1,225 @@
+package com.tetgift.component;
+
+import com.tetgift.dto.message.MailEnvelope;
+import com.tetgift.service.MailOutboxService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the mail outbox with a small pool of consumers. Each batch is delivered over one SMTP
+ * {@link Transport} connection instead of a new connection per message; failures are retried
+ * with exponential backoff and dead-lettered after {@code mail.outbox.max-attempts}.
+ */
+@Component
+@Slf4j
+public class MailOutboxWorker {
+    private final MailOutboxService mailOutboxService;
+    private final JavaMailSenderImpl mailSender;
+    private final boolean enabled;
+    private final int workers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final long maxBackoffMillis;
+    private final Duration pollBlock;
+    private final Duration staleAfter;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter deadLettered;
+    private final Timer deliveryLatency;
+    private final String consumerPrefix;
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    public MailOutboxWorker(MailOutboxService mailOutboxService,
+                            JavaMailSenderImpl mailSender,
+                            MeterRegistry meterRegistry,
+                            @Value("${mail.outbox.enabled:true}") boolean enabled,
+                            @Value("${mail.outbox.workers:2}") int workers,
+                            @Value("${mail.outbox.batch-size:50}") int batchSize,
+                            @Value("${mail.outbox.max-attempts:5}") int maxAttempts,
+                            @Value("${mail.outbox.backoff-ms:2000}") long backoffMillis,
+                            @Value("${mail.outbox.max-backoff-ms:300000}") long maxBackoffMillis,
+                            @Value("${mail.outbox.poll-block-ms:2000}") long pollBlockMillis,
+                            @Value("${mail.outbox.stale-after-ms:300000}") long staleAfterMillis) {
+        this.mailOutboxService = mailOutboxService;
+        this.mailSender = mailSender;
+        this.enabled = enabled;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.pollBlock = Duration.ofMillis(pollBlockMillis);
+        this.staleAfter = Duration.ofMillis(staleAfterMillis);
+        this.sent = Counter.builder("mail.outbox.messages").tag("result", "sent").register(meterRegistry);
+        this.retried = Counter.builder("mail.outbox.messages").tag("result", "retried").register(meterRegistry);
+        this.deadLettered = Counter.builder("mail.outbox.messages").tag("result", "dead_lettered").register(meterRegistry);
+        this.deliveryLatency = Timer.builder("mail.outbox.delivery.latency").register(meterRegistry);
+        this.consumerPrefix = hostName() + "-" + ProcessHandle.current().pid() + "-";
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        mailOutboxService.ensureConsumerGroup();
+        running = true;
+        executor = Executors.newFixedThreadPool(workers, Thread.ofPlatform().name("mail-outbox-", 0).factory());
+        for (int i = 0; i < workers; i++) {
+            String consumer = consumerPrefix + i;
+            executor.execute(() -> consume(consumer));
+        }
+        log.info("Mail outbox started with {} workers", workers);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (executor != null) {
+            executor.shutdown();
+            executor.awaitTermination(pollBlock.toMillis() + 5_000L, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.retry-poll-ms:1000}")
+    public void promoteDueRetries() {
+        if (running) {
+            mailOutboxService.promoteDueRetries(batchSize);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.stale-check-ms:60000}")
+    public void requeueStale() {
+        if (running) {
+            long requeued = mailOutboxService.requeueStale(staleAfter, batchSize);
+            if (requeued > 0) {
+                log.warn("Re-queued {} mail outbox entries abandoned by a stopped worker", requeued);
+            }
+        }
+    }
+
+    private void consume(String consumer) {
+        while (running) {
+            try {
+                processBatch(consumer, pollBlock);
+            } catch (Exception e) {
+                log.error("Mail outbox worker {} failed: {}", consumer, e.getMessage());
+                try {
+                    Thread.sleep(1_000L);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads up to one batch for {@code consumer} and delivers it over a single SMTP connection.
+     * Returns the number of messages sent.
+     */
+    public int processBatch(String consumer, Duration block) {
+        Map<String, MailEnvelope> batch = mailOutboxService.poll(consumer, batchSize, block);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Session session = mailSender.getSession();
+        Transport transport;
+        try {
+            transport = connect(session);
+        } catch (MessagingException e) {
+            batch.forEach((recordId, envelope) -> handleFailure(recordId, envelope, e));
+            return 0;
+        }
+        int delivered = 0;
+        try {
+            for (Map.Entry<String, MailEnvelope> entry : batch.entrySet()) {
+                MailEnvelope envelope = entry.getValue();
+                try {
+                    if (!transport.isConnected()) {
+                        closeQuietly(transport);
+                        transport = connect(session);
+                    }
+                    MimeMessage message = new MimeMessage(session,
+                            new ByteArrayInputStream(Base64.getDecoder().decode(envelope.getMime())));
+                    transport.sendMessage(message, message.getAllRecipients());
+                    mailOutboxService.acknowledge(entry.getKey());
+                    sent.increment();
+                    deliveryLatency.record(Duration.ofMillis(System.currentTimeMillis() - envelope.getEnqueuedAt()));
+                    delivered++;
+                } catch (MessagingException | IllegalArgumentException e) {
+                    handleFailure(entry.getKey(), envelope, e);
+                }
+            }
+        } finally {
+            closeQuietly(transport);
+        }
+        return delivered;
+    }
+
+    private void handleFailure(String recordId, MailEnvelope envelope, Exception e) {
+        envelope.setAttempt(envelope.getAttempt() + 1);
+        envelope.setLastError(e.getMessage());
+        if (envelope.getAttempt() >= maxAttempts) {
+            log.error("Giving up on mail to {} after {} attempts: {}", envelope.getTo(), envelope.getAttempt(), e.getMessage());
+            mailOutboxService.deadLetter(recordId, envelope, e.getMessage());
+            deadLettered.increment();
+            return;
+        }
+        long backoff = Math.min(maxBackoffMillis, backoffMillis << Math.min(20, envelope.getAttempt() - 1));
+        long jitter = ThreadLocalRandom.current().nextLong(backoff / 5 + 1);
+        log.warn("Mail to {} failed (attempt {}), retrying in {} ms: {}", envelope.getTo(), envelope.getAttempt(),
+                backoff + jitter, e.getMessage());
+        mailOutboxService.scheduleRetry(recordId, envelope, System.currentTimeMillis() + backoff + jitter);
+        retried.increment();
+    }
+
+    private Transport connect(Session session) throws MessagingException {
+        String protocol = mailSender.getProtocol() != null ? mailSender.getProtocol() : JavaMailSenderImpl.DEFAULT_PROTOCOL;
+        Transport transport = session.getTransport(protocol);
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        return transport;
+    }
+
+    private static void closeQuietly(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Error closing SMTP transport: {}", e.getMessage());
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.tetgift.component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounds the bytes each session may have waiting in the client outbound channel. A MESSAGE frame
+ * that would push a session past {@code websocket.outbound.max-queued-bytes} is dropped and the
+ * session is evicted, so one slow client cannot pile up memory behind the shared executor.
+ * Control frames (CONNECTED, RECEIPT, ERROR) are never dropped. A frame's bytes are released once,
+ * when it is handled or its send fails, and whatever is left is forgotten when the session ends.
+ */
+@Component
+@Slf4j
+public class OutboundBackpressureInterceptor implements ExecutorChannelInterceptor {
+    private final WebSocketSessionRegistry sessionRegistry;
+    private final long maxQueuedBytes;
+    private final ConcurrentHashMap<String, AtomicLong> queuedBySession = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Frame, Long> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong queuedBytes = new AtomicLong();
+    private final Counter dropped;
+
+    public OutboundBackpressureInterceptor(WebSocketSessionRegistry sessionRegistry,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${websocket.outbound.max-queued-bytes:262144}") long maxQueuedBytes) {
+        this.sessionRegistry = sessionRegistry;
+        this.maxQueuedBytes = maxQueuedBytes;
+        this.dropped = Counter.builder("websocket.outbound.frames.dropped").register(meterRegistry);
+        Gauge.builder("websocket.outbound.queued.bytes", queuedBytes, AtomicLong::get).register(meterRegistry);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId == null) {
+            return message;
+        }
+        long size = sizeOf(message);
+        if (!isDataFrame(message)) {
+            track(sessionId, message, size);
+            return message;
+        }
+        long queued = queuedBytes(sessionId);
+        if (queued + size > maxQueuedBytes) {
+            dropped.increment();
+            if (sessionRegistry.evict(sessionId)) {
+                log.warn("Evicted slow websocket session {} with {} bytes queued", sessionId, queued);
+            }
+            return null;
+        }
+        track(sessionId, message, size);
+        return message;
+    }
+
+    /**
+     * A send that fails after {@link #preSend} but before the frame is dispatched never reaches
+     * {@link #afterMessageHandled}, so its bytes are released here. Frames that were handled (the
+     * channel runs rejected tasks on the caller) are released only once.
+     */
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        if (ex != null) {
+            release(message);
+        }
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        release(message);
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        queuedBySession.computeIfPresent(event.getSessionId(), (id, queued) -> {
+            queuedBytes.addAndGet(-queued.get());
+            return null;
+        });
+    }
+
+    public long queuedBytes(String sessionId) {
+        AtomicLong queued = queuedBySession.get(sessionId);
+        return queued != null ? queued.get() : 0;
+    }
+
+    private void track(String sessionId, Message<?> message, long size) {
+        inFlight.put(new Frame(message), size);
+        queuedBySession.compute(sessionId, (id, queued) -> {
+            AtomicLong tracked = queued != null ? queued : new AtomicLong();
+            tracked.addAndGet(size);
+            queuedBytes.addAndGet(size);
+            return tracked;
+        });
+    }
+
+    /**
+     * Frames still in flight when their session was forgotten find no entry and release nothing,
+     * since the disconnect already took their bytes off the total.
+     */
+    private void release(Message<?> message) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        Long size = sessionId != null ? inFlight.remove(new Frame(message)) : null;
+        if (size == null) {
+            return;
+        }
+        queuedBySession.computeIfPresent(sessionId, (id, queued) -> {
+            queuedBytes.addAndGet(-size);
+            return queued.addAndGet(-size) <= 0 ? null : queued;
+        });
+    }
+
+    /**
+     * Identity of a frame between {@link #preSend} and its release. Broker frames usually carry no
+     * id header, but the same instance travels through every callback.
+     */
+    private record Frame(Message<?> message) {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Frame frame && frame.message == message;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(message);
+        }
+    }
+
+    private static boolean isDataFrame(Message<?> message) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        return accessor.getCommand() == null || accessor.getCommand() == StompCommand.MESSAGE;
+    }
+
+    private static long sizeOf(Message<?> message) {
+        return message.getPayload() instanceof byte[] payload ? payload.length : 0;
+    }
+}
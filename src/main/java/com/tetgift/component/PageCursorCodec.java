@@ -0,0 +1,85 @@
+package com.tetgift.component;
+
+import com.tetgift.exception.InvalidCursorException;
+import com.tetgift.model.page.PageCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Encodes {@link PageCursor}s as opaque {@code payload.signature} strings (base64url, HMAC-SHA256
+ * truncated to 128 bits), so clients can neither read nor forge a seek position.
+ */
+@Component
+@Slf4j
+public class PageCursorCodec {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_BYTES = 16;
+    private static final char SEPARATOR = '\n';
+
+    private final SecretKeySpec key;
+
+    public PageCursorCodec(@Value("${pagination.cursor.secret:}") String secret) {
+        byte[] keyBytes;
+        if (secret.isBlank()) {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            log.warn("pagination.cursor.secret is not set; cursors are only valid on this node until restart");
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+    }
+
+    public String encode(PageCursor cursor) {
+        byte[] payload = (cursor.getSort() + SEPARATOR + cursor.getSortValue() + SEPARATOR + cursor.getId())
+                .getBytes(StandardCharsets.UTF_8);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload) + "." + encoder.encodeToString(sign(payload));
+    }
+
+    /**
+     * Returns the cursor if it is authentic and was issued for {@code expectedSort}.
+     */
+    public PageCursor decode(String token, String expectedSort) {
+        int dot = token.indexOf('.');
+        if (dot < 0) {
+            throw new InvalidCursorException("Malformed page cursor");
+        }
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = Base64.getUrlDecoder().decode(token.substring(0, dot));
+            signature = Base64.getUrlDecoder().decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed page cursor");
+        }
+        if (!MessageDigest.isEqual(sign(payload), signature)) {
+            throw new InvalidCursorException("Invalid page cursor");
+        }
+        String[] parts = new String(payload, StandardCharsets.UTF_8).split(String.valueOf(SEPARATOR), 3);
+        if (parts.length != 3 || !parts[0].equals(expectedSort)) {
+            throw new InvalidCursorException("Page cursor does not match the requested sort");
+        }
+        return new PageCursor(parts[0], parts[1], Long.parseLong(parts[2]));
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return Arrays.copyOf(mac.doFinal(payload), SIGNATURE_BYTES);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign page cursor", e);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.tetgift.component;
+
+import com.tetgift.dto.message.PaymentCallback;
+import com.tetgift.enums.PaymentTransitionResult;
+import com.tetgift.service.PaymentCallbackService;
+import com.tetgift.service.PaymentTransitionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Applies queued VNPay callbacks. Each polled batch is grouped by transaction reference and every
+ * group runs on the stripe chosen by the reference's hash, so callbacks for one order are applied
+ * in order while different orders proceed in parallel. Entries are acknowledged only after their
+ * transition committed; anything else stays pending and is re-queued by {@link #requeueStale()},
+ * which dead-letters a callback once it has failed {@code payment.callback.max-attempts} times.
+ */
+@Component
+@Slf4j
+public class PaymentCallbackWorker {
+    private final PaymentCallbackService paymentCallbackService;
+    private final PaymentTransitionService paymentTransitionService;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration pollBlock;
+    private final Duration staleAfter;
+    private final Timer lag;
+    private final Counter failures;
+    private final String consumer;
+    private final ExecutorService[] stripes;
+    private ExecutorService poller;
+    private volatile boolean running;
+
+    public PaymentCallbackWorker(PaymentCallbackService paymentCallbackService,
+                                 PaymentTransitionService paymentTransitionService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${payment.callback.enabled:true}") boolean enabled,
+                                 @Value("${payment.callback.stripes:4}") int stripes,
+                                 @Value("${payment.callback.batch-size:100}") int batchSize,
+                                 @Value("${payment.callback.poll-block-ms:2000}") long pollBlockMillis,
+                                 @Value("${payment.callback.stale-after-ms:60000}") long staleAfterMillis) {
+        this.paymentCallbackService = paymentCallbackService;
+        this.paymentTransitionService = paymentTransitionService;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pollBlock = Duration.ofMillis(pollBlockMillis);
+        this.staleAfter = Duration.ofMillis(staleAfterMillis);
+        this.lag = Timer.builder("payment.callback.lag").register(meterRegistry);
+        this.failures = Counter.builder("payment.callback.applied").tag("result", "error").register(meterRegistry);
+        this.consumer = hostName() + "-" + ProcessHandle.current().pid();
+        this.stripes = new ExecutorService[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("payment-callback-" + i).factory());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        paymentCallbackService.ensureConsumerGroup();
+        running = true;
+        poller = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("payment-callback-poller").factory());
+        poller.execute(this::consume);
+        log.info("Payment callback worker started with {} stripes", stripes.length);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (poller != null) {
+            poller.shutdown();
+            poller.awaitTermination(pollBlock.toMillis() + 5_000L, TimeUnit.MILLISECONDS);
+        }
+        for (ExecutorService stripe : stripes) {
+            stripe.shutdown();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${payment.callback.stale-check-ms:30000}")
+    public void requeueStale() {
+        if (running) {
+            long requeued = paymentCallbackService.requeueStale(staleAfter, batchSize);
+            if (requeued > 0) {
+                log.warn("Re-queued {} payment callbacks that were not applied", requeued);
+            }
+        }
+    }
+
+    private void consume() {
+        while (running) {
+            try {
+                processBatch(pollBlock);
+            } catch (Exception e) {
+                log.error("Payment callback worker failed: {}", e.getMessage());
+                try {
+                    Thread.sleep(1_000L);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Polls one batch, applies it across the stripes and acknowledges what was applied.
+     * Returns the number of acknowledged entries.
+     */
+    public int processBatch(Duration block) throws InterruptedException {
+        Map<String, PaymentCallback> batch = paymentCallbackService.poll(consumer, batchSize, block);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Map<String, List<String>> recordIdsByRef = new LinkedHashMap<>();
+        Map<String, List<PaymentCallback>> callbacksByRef = new LinkedHashMap<>();
+        batch.forEach((recordId, callback) -> {
+            recordIdsByRef.computeIfAbsent(callback.getTxnRef(), key -> new ArrayList<>()).add(recordId);
+            callbacksByRef.computeIfAbsent(callback.getTxnRef(), key -> new ArrayList<>()).add(callback);
+        });
+
+        Map<String, Future<PaymentTransitionResult>> results = new LinkedHashMap<>();
+        callbacksByRef.forEach((txnRef, callbacks) ->
+                results.put(txnRef, stripeOf(txnRef).submit(() -> paymentTransitionService.apply(txnRef, callbacks))));
+
+        List<String> applied = new ArrayList<>(batch.size());
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, Future<PaymentTransitionResult>> entry : results.entrySet()) {
+            String txnRef = entry.getKey();
+            try {
+                PaymentTransitionResult result = entry.getValue().get();
+                meterRegistry.counter("payment.callback.applied", "result", result.name().toLowerCase()).increment();
+                applied.addAll(recordIdsByRef.get(txnRef));
+                for (PaymentCallback callback : callbacksByRef.get(txnRef)) {
+                    lag.record(Duration.ofMillis(now - callback.getReceivedAt()));
+                }
+            } catch (ExecutionException e) {
+                failures.increment();
+                log.error("Could not apply VNPay callback for {}: {}", txnRef, e.getCause().getMessage());
+            }
+        }
+        paymentCallbackService.acknowledge(applied);
+        return applied.size();
+    }
+
+    private ExecutorService stripeOf(String txnRef) {
+        return stripes[Math.floorMod(txnRef.hashCode(), stripes.length)];
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
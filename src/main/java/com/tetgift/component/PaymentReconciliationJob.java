@@ -0,0 +1,53 @@
+package com.tetgift.component;
+
+import com.tetgift.service.PaymentReconciliationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Runs payment reconciliation on a fixed delay. A {@link RedisLease} owned by this instance keeps
+ * concurrent nodes from querying VNPay for the same payments in the same round; a round that
+ * outlives the lease cannot release the lock another node has since taken.
+ */
+@Component
+@Slf4j
+public class PaymentReconciliationJob {
+    private static final String LOCK_KEY = "payment:reconciliation:lock";
+
+    private final PaymentReconciliationService paymentReconciliationService;
+    private final RedisLease lock;
+    private final boolean enabled;
+
+    public PaymentReconciliationJob(PaymentReconciliationService paymentReconciliationService,
+                                    StringRedisTemplate stringRedisTemplate,
+                                    @Value("${payment.reconciliation.enabled:true}") boolean enabled,
+                                    @Value("${payment.reconciliation.lock-ttl-ms:600000}") long lockTtlMillis) {
+        this.paymentReconciliationService = paymentReconciliationService;
+        this.lock = new RedisLease(stringRedisTemplate, LOCK_KEY, UUID.randomUUID().toString(),
+                Duration.ofMillis(lockTtlMillis));
+        this.enabled = enabled;
+    }
+
+    @Scheduled(initialDelayString = "${payment.reconciliation.initial-delay-ms:60000}",
+            fixedDelayString = "${payment.reconciliation.interval-ms:300000}")
+    public void run() {
+        if (!enabled || !lock.acquire()) {
+            return;
+        }
+        try {
+            paymentReconciliationService.reconcile();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Payment reconciliation failed: {}", e.getMessage());
+        } finally {
+            lock.release();
+        }
+    }
+}
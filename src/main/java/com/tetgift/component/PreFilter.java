@@ -1,7 +1,11 @@
 package com.tetgift.component;
 
 import com.tetgift.enums.TokenType;
+import com.tetgift.model.auth.AuthPrincipal;
+import com.tetgift.model.auth.VerifiedToken;
+import com.tetgift.service.AccessTokenDenylistService;
 import com.tetgift.service.JwtService;
+import com.tetgift.service.SecurityVersionService;
 import com.tetgift.service.impl.UserDetailsServiceImpl;
 import io.micrometer.common.util.StringUtils;
 import jakarta.servlet.FilterChain;
@@ -10,9 +14,11 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -24,6 +30,11 @@ import java.io.IOException;
 public class PreFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsServiceImpl userDetailService;
+    private final SecurityVersionService securityVersionService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AccessTokenDenylistService accessTokenDenylistService;
+    @Value("${jwt.stateless:true}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
@@ -33,10 +44,16 @@ public class PreFilter extends OncePerRequestFilter {
             return;
         }
         final String token = authorization.substring(7);
-        final String username = jwtService.extractUsername(token, TokenType.ACCESS);
+        final VerifiedToken verifiedToken = verifiedTokenCache.getOrVerify(token,
+                () -> jwtService.verifyToken(token, TokenType.ACCESS));
+        final String username = verifiedToken.getSubject();
         if (StringUtils.isNotEmpty(username) && SecurityContextHolder.getContext().getAuthentication() == null) {
-            var userDetails = userDetailService.loadUserByUsername(username);
-            if (jwtService.isTokenValid(token, userDetails, TokenType.ACCESS)) {
+            UserDetails userDetails = stateless
+                    ? AuthPrincipal.from(verifiedToken)
+                    : userDetailService.loadUserByUsername(username);
+            if (jwtService.isTokenValid(verifiedToken, userDetails)
+                    && securityVersionService.isCurrent(verifiedToken.getUserId(), verifiedToken.getSecurityVersion())
+                    && !accessTokenDenylistService.isRevoked(verifiedToken)) {
                 SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
@@ -0,0 +1,109 @@
+package com.tetgift.component;
+
+import com.tetgift.annotation.RateLimited;
+import com.tetgift.configuration.RateLimitConfig;
+import com.tetgift.exception.RateLimitExceededException;
+import com.tetgift.model.ratelimit.RateLimitDecision;
+import com.tetgift.service.RateLimiterService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Applies {@link RateLimited} policies before the controller method runs. The request body is
+ * already bound at this point, so the account bucket can be keyed by a field of the payload.
+ * <p>
+ * The IP bucket is keyed by {@code getRemoteAddr()}. Behind a load balancer this is only the client
+ * address because {@code server.forward-headers-strategy=native} lets Tomcat take it from
+ * {@code X-Forwarded-For} when the hop is a trusted internal proxy; without it every client
+ * behind the proxy shares one bucket.
+ * <p>
+ * Every policy named by a handler method is checked once the context is up, so a typo fails
+ * startup rather than the first request to that endpoint.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RateLimitAspect implements SmartInitializingSingleton {
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private final RateLimiterService rateLimiterService;
+    private final RateLimitConfig rateLimitConfig;
+    private final ObjectProvider<RequestMappingHandlerMapping> handlerMappings;
+    private final ExpressionParser expressionParser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final Map<String, Expression> accountExpressions = new ConcurrentHashMap<>();
+
+    @Around("@annotation(rateLimited)")
+    public Object throttle(ProceedingJoinPoint joinPoint, RateLimited rateLimited) throws Throwable {
+        if (!rateLimitConfig.isEnabled()
+                || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return joinPoint.proceed();
+        }
+
+        RateLimitDecision decision = rateLimiterService.tryAcquire(rateLimited.value(),
+                attributes.getRequest().getRemoteAddr(), resolveAccount(joinPoint, rateLimited));
+        if (!decision.isAllowed()) {
+            throw new RateLimitExceededException("Too many requests, please retry later", decision.getRetryAfterSeconds());
+        }
+        HttpServletResponse response = attributes.getResponse();
+        if (response != null && decision.getRemaining() >= 0) {
+            response.setHeader(REMAINING_HEADER, String.valueOf(decision.getRemaining()));
+        }
+        return joinPoint.proceed();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        handlerMappings.orderedStream().forEach(mapping -> validatePolicies(mapping.getHandlerMethods().values()));
+    }
+
+    void validatePolicies(Collection<HandlerMethod> handlerMethods) {
+        if (!rateLimitConfig.isEnabled()) {
+            return;
+        }
+        Collection<String> unknown = new TreeSet<>();
+        for (HandlerMethod handlerMethod : handlerMethods) {
+            RateLimited rateLimited = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), RateLimited.class);
+            if (rateLimited != null && !rateLimitConfig.getPolicies().containsKey(rateLimited.value())) {
+                unknown.add(rateLimited.value() + " (" + handlerMethod.getShortLogMessage() + ")");
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new IllegalStateException("Unknown rate limit policies: " + unknown);
+        }
+    }
+
+    private String resolveAccount(ProceedingJoinPoint joinPoint, RateLimited rateLimited) {
+        if (rateLimited.account().isEmpty()) {
+            return null;
+        }
+        Expression expression = accountExpressions.computeIfAbsent(rateLimited.account(), expressionParser::parseExpression);
+        MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(null,
+                ((MethodSignature) joinPoint.getSignature()).getMethod(), joinPoint.getArgs(), parameterNameDiscoverer);
+        Object account = expression.getValue(context);
+        return account != null ? account.toString() : null;
+    }
+}
@@ -0,0 +1,184 @@
+package com.tetgift.component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tetgift.dto.message.BrokerRelayEnvelope;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cross-node fan-out for the simple broker ({@code websocket.broker.mode=redis}). Frames sent to
+ * this node's broker are delivered locally as usual and also queued for Redis pub/sub; queued
+ * frames are published in batches every flush window, and every other node injects them into its
+ * own broker so subscribers connected anywhere receive them.
+ * <p>
+ * User messages are relayed as sent, to {@code /user/{name}/...}, before they are resolved: every
+ * node then resolves them against its own sessions, so a user connected to several nodes gets the
+ * message on each of them. The per-session frames a node resolves locally stay local. There is no
+ * shared "unresolved user" topic, which any client could otherwise subscribe to.
+ */
+@Component
+@ConditionalOnProperty(prefix = "websocket.broker", name = "mode", havingValue = "redis")
+@Slf4j
+public class RedisBrokerRelay implements ChannelInterceptor, MessageListener {
+    private static final String RELAYED_HEADER = "relayedFrom";
+
+    private final MessageChannel brokerChannel;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final long flushMillis;
+    private final int maxBatch;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentLinkedQueue<BrokerRelayEnvelope.Frame> outbound = new ConcurrentLinkedQueue<>();
+    private final Timer relayLatency;
+    private final DistributionSummary batchSize;
+    private final Counter published;
+    private final Counter received;
+    private ScheduledExecutorService flusher;
+
+    public RedisBrokerRelay(@Lazy @Qualifier("brokerChannel") MessageChannel brokerChannel,
+                            StringRedisTemplate stringRedisTemplate,
+                            RedisMessageListenerContainer listenerContainer,
+                            @Qualifier("redisObjectMapper") ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${websocket.broker.relay.channel:ws:broker}") String channel,
+                            @Value("${websocket.broker.relay.flush-ms:5}") long flushMillis,
+                            @Value("${websocket.broker.relay.max-batch:256}") int maxBatch) {
+        this.brokerChannel = brokerChannel;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+        this.flushMillis = flushMillis;
+        this.maxBatch = maxBatch;
+        this.relayLatency = Timer.builder("websocket.relay.latency").register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("websocket.relay.batch.size").register(meterRegistry);
+        this.published = Counter.builder("websocket.relay.frames").tag("direction", "published").register(meterRegistry);
+        this.received = Counter.builder("websocket.relay.frames").tag("direction", "received").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+        flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("ws-relay-flush").daemon().factory());
+        flusher.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        listenerContainer.removeMessageListener(this);
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        flush();
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel messageChannel) {
+        MessageHeaders headers = message.getHeaders();
+        if (headers.containsKey(RELAYED_HEADER)
+                || SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE
+                || !(message.getPayload() instanceof byte[] payload)) {
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(headers);
+        if (destination == null
+                || SimpMessageHeaderAccessor.getFirstNativeHeader(SimpMessageHeaderAccessor.ORIGINAL_DESTINATION, headers) != null) {
+            return message;
+        }
+        Object contentType = headers.get(MessageHeaders.CONTENT_TYPE);
+        outbound.add(new BrokerRelayEnvelope.Frame(destination, contentType != null ? contentType.toString() : null, payload));
+        return message;
+    }
+
+    /**
+     * Publishes everything queued so far, {@code max-batch} frames per pub/sub message.
+     */
+    public void flush() {
+        List<BrokerRelayEnvelope.Frame> frames = new ArrayList<>(maxBatch);
+        BrokerRelayEnvelope.Frame frame;
+        while ((frame = outbound.poll()) != null) {
+            frames.add(frame);
+            if (frames.size() == maxBatch) {
+                publish(frames);
+                frames = new ArrayList<>(maxBatch);
+            }
+        }
+        if (!frames.isEmpty()) {
+            publish(frames);
+        }
+    }
+
+    private void publish(List<BrokerRelayEnvelope.Frame> frames) {
+        try {
+            BrokerRelayEnvelope envelope = new BrokerRelayEnvelope(nodeId, System.currentTimeMillis(), frames);
+            stringRedisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(envelope));
+            published.increment(frames.size());
+            batchSize.record(frames.size());
+        } catch (Exception e) {
+            log.warn("Dropping {} websocket frames, relay publish failed: {}", frames.size(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(org.springframework.data.redis.connection.Message message, byte[] pattern) {
+        BrokerRelayEnvelope envelope;
+        try {
+            envelope = objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8), BrokerRelayEnvelope.class);
+        } catch (Exception e) {
+            log.warn("Ignoring malformed websocket relay message: {}", e.getMessage());
+            return;
+        }
+        if (nodeId.equals(envelope.getOrigin()) || envelope.getFrames() == null) {
+            return;
+        }
+        relayLatency.record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - envelope.getPublishedAt())));
+        for (BrokerRelayEnvelope.Frame frame : envelope.getFrames()) {
+            brokerChannel.send(toMessage(envelope.getOrigin(), frame));
+            received.increment();
+        }
+    }
+
+    private Message<byte[]> toMessage(String origin, BrokerRelayEnvelope.Frame frame) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(frame.getDestination());
+        if (frame.getContentType() != null) {
+            accessor.setContentType(MimeType.valueOf(frame.getContentType()));
+        }
+        accessor.setHeader(RELAYED_HEADER, origin);
+        return MessageBuilder.createMessage(frame.getPayload(), accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,58 @@
+package com.tetgift.component;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Expiring ownership of a Redis key, used to elect one node for singleton work. The holder must
+ * renew well within the TTL; a node that cannot reach Redis considers itself not the holder.
+ */
+public class RedisLease {
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = script("acquire.lua");
+    private static final RedisScript<Long> RELEASE_SCRIPT = script("release.lua");
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String key;
+    private final String owner;
+    private final Duration ttl;
+
+    public RedisLease(StringRedisTemplate stringRedisTemplate, String key, String owner, Duration ttl) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.key = key;
+        this.owner = owner;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Acquires or renews the lease; returns whether this node holds it.
+     */
+    public boolean acquire() {
+        try {
+            Long held = stringRedisTemplate.execute(ACQUIRE_SCRIPT, List.of(key), owner, String.valueOf(ttl.toMillis()));
+            return held != null && held == 1;
+        } catch (DataAccessException e) {
+            return false;
+        }
+    }
+
+    public void release() {
+        try {
+            stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(key), owner);
+        } catch (DataAccessException e) {
+            // the lease expires on its own
+        }
+    }
+
+    private static RedisScript<Long> script(String name) {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("scripts/lease/" + name));
+        script.setResultType(Long.class);
+        return script;
+    }
+}
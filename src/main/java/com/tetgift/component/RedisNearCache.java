@@ -0,0 +1,166 @@
+package com.tetgift.component;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.lettuce.core.support.caching.CacheAccessor;
+import io.lettuce.core.support.caching.ClientSideCaching;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Opt-in near-cache for hot, rarely-changing string keys using Redis server-assisted client
+ * tracking (RESP3). Keys read through {@link #get} are kept in a bounded local map on a dedicated
+ * connection, and Redis pushes an invalidation as soon as any client writes one of them.
+ * <p>
+ * Invalidations sent while the connection is down are lost, so the local map is cleared on
+ * disconnect and reads go straight to Redis until tracking has been re-enabled. The same
+ * fallback applies when the near-cache is disabled or the server does not support tracking.
+ */
+@Component
+@Slf4j
+public class RedisNearCache {
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Map<String, String> local;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter fallbacks;
+    private final Counter invalidations;
+    private RedisClient client;
+    private StatefulRedisConnection<String, String> connection;
+    private ClientSideCaching<String, String> frontend;
+    private volatile boolean tracking;
+
+    public RedisNearCache(StringRedisTemplate stringRedisTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${redis.near-cache.enabled:false}") boolean enabled,
+                          @Value("${redis.near-cache.max-size:10000}") long maxSize,
+                          @Value("${spring.data.redis.host:localhost}") String host,
+                          @Value("${spring.data.redis.port:6379}") int port,
+                          @Value("${redis.client.command-timeout-ms:2000}") long commandTimeoutMillis) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.local = Caffeine.newBuilder().maximumSize(maxSize).<String, String>build().asMap();
+        this.hits = Counter.builder("redis.near_cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("redis.near_cache.requests").tag("result", "miss").register(meterRegistry);
+        this.fallbacks = Counter.builder("redis.near_cache.requests").tag("result", "fallback").register(meterRegistry);
+        this.invalidations = Counter.builder("redis.near_cache.invalidations").register(meterRegistry);
+        Gauge.builder("redis.near_cache.size", local, Map::size).register(meterRegistry);
+        Gauge.builder("redis.near_cache.tracking", this, cache -> cache.tracking ? 1 : 0).register(meterRegistry);
+        if (enabled) {
+            connect(host, port, Duration.ofMillis(commandTimeoutMillis));
+        }
+    }
+
+    /**
+     * Value of {@code key}, served locally while tracking is active.
+     */
+    public String get(String key) {
+        if (!tracking) {
+            fallbacks.increment();
+            return stringRedisTemplate.opsForValue().get(key);
+        }
+        try {
+            return frontend.get(key);
+        } catch (RuntimeException e) {
+            log.warn("Near-cache read failed, falling back to Redis: {}", e.getMessage());
+            fallbacks.increment();
+            return stringRedisTemplate.opsForValue().get(key);
+        }
+    }
+
+    public boolean isTracking() {
+        return tracking;
+    }
+
+    /**
+     * Re-enables tracking after a reconnect or a failed start. Entries cached before the gap are
+     * dropped first because their invalidations may have been missed.
+     */
+    @Scheduled(fixedDelayString = "${redis.near-cache.recheck-ms:5000}")
+    public void ensureTracking() {
+        if (tracking || connection == null || !connection.isOpen()) {
+            return;
+        }
+        try {
+            local.clear();
+            if (frontend == null) {
+                frontend = (ClientSideCaching<String, String>) ClientSideCaching.enable(new CountingAccessor(), connection,
+                        TrackingArgs.Builder.enabled());
+                frontend.addInvalidationListener(key -> invalidations.increment());
+            } else {
+                connection.sync().clientTracking(TrackingArgs.Builder.enabled());
+            }
+            tracking = true;
+            log.info("Redis client tracking enabled for the near-cache");
+        } catch (RuntimeException e) {
+            log.warn("Redis client tracking unavailable, near-cache reads go to Redis: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        tracking = false;
+        if (frontend != null) {
+            frontend.close();
+        }
+        if (connection != null) {
+            connection.close();
+        }
+        if (client != null) {
+            client.shutdown();
+        }
+    }
+
+    private void connect(String host, int port, Duration commandTimeout) {
+        try {
+            client = RedisClient.create(RedisURI.builder().withHost(host).withPort(port).withTimeout(commandTimeout).build());
+            client.setOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP3).build());
+            client.addListener(new RedisConnectionStateListener() {
+                @Override
+                public void onRedisDisconnected(RedisChannelHandler<?, ?> handler) {
+                    tracking = false;
+                    local.clear();
+                }
+            });
+            connection = client.connect();
+            ensureTracking();
+        } catch (RuntimeException e) {
+            log.warn("Could not open near-cache connection to {}:{}: {}", host, port, e.getMessage());
+        }
+    }
+
+    private class CountingAccessor implements CacheAccessor<String, String> {
+        @Override
+        public String get(String key) {
+            String value = local.get(key);
+            (value != null ? hits : misses).increment();
+            return value;
+        }
+
+        @Override
+        public void put(String key, String value) {
+            local.put(key, value);
+        }
+
+        @Override
+        public void evict(String key) {
+            local.remove(key);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.tetgift.component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reclaims index entries whose session has already expired: members of the per-user session
+ * sorted sets, and the secondary index sets left behind by the former {@code @RedisHash RefreshToken}
+ * (Spring Data never cleans those up without keyspace events).
+ */
+@Component
+@Slf4j
+public class SessionIndexJanitor {
+    private static final String LEGACY_KEYSPACE = "RefreshToken";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Counter sessionEntriesReclaimed;
+    private final Counter legacyEntriesReclaimed;
+    private final boolean enabled;
+    private final int scanBatchSize;
+
+    public SessionIndexJanitor(StringRedisTemplate stringRedisTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${session.janitor.enabled:true}") boolean enabled,
+                               @Value("${session.janitor.scan-batch-size:500}") int scanBatchSize) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.enabled = enabled;
+        this.scanBatchSize = scanBatchSize;
+        this.sessionEntriesReclaimed = Counter.builder("auth.session.janitor.reclaimed").tag("index", "session").register(meterRegistry);
+        this.legacyEntriesReclaimed = Counter.builder("auth.session.janitor.reclaimed").tag("index", "legacy").register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${session.janitor.cron:0 15 * * * *}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        long sessionOrphans = sweepSessionIndexes();
+        long legacyOrphans = sweepLegacyIndexes();
+        sessionEntriesReclaimed.increment(sessionOrphans);
+        legacyEntriesReclaimed.increment(legacyOrphans);
+        log.info("Session janitor reclaimed {} session index entries and {} legacy RefreshToken index entries",
+                sessionOrphans, legacyOrphans);
+    }
+
+    long sweepSessionIndexes() {
+        long reclaimed = 0;
+        double now = System.currentTimeMillis();
+        for (String indexKey : scanKeys("session:{*}:index")) {
+            Long expired = stringRedisTemplate.opsForZSet().removeRangeByScore(indexKey, Double.NEGATIVE_INFINITY, now);
+            reclaimed += expired != null ? expired : 0;
+            String prefix = indexKey.substring(0, indexKey.length() - "index".length()) + "token:";
+            List<String> orphans = missing(stringRedisTemplate.opsForZSet().range(indexKey, 0, -1), prefix);
+            if (!orphans.isEmpty()) {
+                stringRedisTemplate.opsForZSet().remove(indexKey, orphans.toArray());
+                reclaimed += orphans.size();
+            }
+        }
+        return reclaimed;
+    }
+
+    long sweepLegacyIndexes() {
+        long reclaimed = 0;
+        String prefix = LEGACY_KEYSPACE + ":";
+        List<String> ids = missing(stringRedisTemplate.opsForSet().members(LEGACY_KEYSPACE), prefix);
+        if (!ids.isEmpty()) {
+            stringRedisTemplate.opsForSet().remove(LEGACY_KEYSPACE, ids.toArray());
+            stringRedisTemplate.delete(ids.stream().map(id -> prefix + id + ":idx").toList());
+            reclaimed += ids.size();
+        }
+        for (String indexKey : scanKeys(LEGACY_KEYSPACE + ":usersId:*")) {
+            List<String> orphans = missing(stringRedisTemplate.opsForSet().members(indexKey), prefix);
+            if (!orphans.isEmpty()) {
+                stringRedisTemplate.opsForSet().remove(indexKey, orphans.toArray());
+                reclaimed += orphans.size();
+            }
+        }
+        return reclaimed;
+    }
+
+    /**
+     * Members whose {@code prefix + member} key no longer exists, checked in one pipeline.
+     */
+    private List<String> missing(Set<String> members, String prefix) {
+        if (members == null || members.isEmpty()) {
+            return List.of();
+        }
+        List<String> candidates = new ArrayList<>(members);
+        List<Object> exists = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String member : candidates) {
+                connection.keyCommands().exists((prefix + member).getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (!Boolean.TRUE.equals(exists.get(i))) {
+                missing.add(candidates.get(i));
+            }
+        }
+        return missing;
+    }
+
+    private List<String> scanKeys(String pattern) {
+        List<String> keys = new ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(scanBatchSize).build();
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            cursor.forEachRemaining(keys::add);
+        }
+        return keys;
+    }
+}
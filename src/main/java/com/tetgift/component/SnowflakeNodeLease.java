@@ -0,0 +1,123 @@
+package com.tetgift.component;
+
+import com.tetgift.model.id.SnowflakeIdentifierGenerator;
+import com.tetgift.util.SnowflakeIdGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Leases a Snowflake node id ({@code idgen:node:<n>}) from Redis and feeds entity ids to Hibernate.
+ * Ids are only handed out while the lease is known to be held: once a renewal has been missing for
+ * a full lease period the node may already belong to another instance, so generation fails until a
+ * new slot is leased. Setting {@code id.snowflake.node-id} pins the node id and skips Redis entirely.
+ * The lease is not released on shutdown; it expires so a successor cannot reuse the slot right away.
+ */
+@Component
+@Slf4j
+public class SnowflakeNodeLease implements LongSupplier {
+    private static final String KEY_PREFIX = "idgen:node:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String owner;
+    private final long leaseMillis;
+    private final int leaseAttempts;
+    private final boolean pinned;
+    private final Counter renewFailures;
+    private volatile SnowflakeIdGenerator generator;
+    private volatile RedisLease lease;
+    private volatile long validUntil;
+
+    public SnowflakeNodeLease(StringRedisTemplate stringRedisTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${id.snowflake.node-id:-1}") int nodeId,
+                              @Value("${id.snowflake.lease-ms:30000}") long leaseMillis,
+                              @Value("${id.snowflake.lease-attempts:32}") int leaseAttempts) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.owner = ownerId();
+        this.leaseMillis = leaseMillis;
+        this.leaseAttempts = Math.min(leaseAttempts, SnowflakeIdGenerator.MAX_NODE_ID + 1);
+        this.pinned = nodeId >= 0;
+        this.renewFailures = Counter.builder("id.snowflake.lease.renew.failures").register(meterRegistry);
+        if (pinned) {
+            generator = new SnowflakeIdGenerator(nodeId);
+            validUntil = Long.MAX_VALUE;
+        } else if (!leaseAnySlot()) {
+            throw new IllegalStateException("Could not lease a Snowflake node id from Redis");
+        }
+        Gauge.builder("id.snowflake.node", this, node -> node.generator.getNodeId()).register(meterRegistry);
+        SnowflakeIdentifierGenerator.use(this);
+        log.info("Snowflake ids use node {}{}", generator.getNodeId(), pinned ? " (pinned)" : "");
+    }
+
+    @Override
+    public long getAsLong() {
+        if (System.currentTimeMillis() >= validUntil) {
+            throw new IllegalStateException("Snowflake node lease expired, refusing to generate ids");
+        }
+        return generator.nextId();
+    }
+
+    public int nodeId() {
+        return generator.getNodeId();
+    }
+
+    @Scheduled(fixedDelayString = "${id.snowflake.renew-ms:10000}")
+    public void renew() {
+        if (pinned) {
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        if (lease.acquire()) {
+            validUntil = startedAt + leaseMillis;
+            return;
+        }
+        renewFailures.increment();
+        if (startedAt >= validUntil && leaseAnySlot()) {
+            log.warn("Snowflake node lease was lost, now using node {}", generator.getNodeId());
+        }
+    }
+
+    /**
+     * Tries consecutive slots from a random start, so a Redis outage fails after a bounded number of
+     * calls. The expiry is counted from before the request, so it never outlives the key in Redis.
+     */
+    private boolean leaseAnySlot() {
+        int start = ThreadLocalRandom.current().nextInt(SnowflakeIdGenerator.MAX_NODE_ID + 1);
+        for (int i = 0; i < leaseAttempts; i++) {
+            int slot = (start + i) & SnowflakeIdGenerator.MAX_NODE_ID;
+            RedisLease candidate = new RedisLease(stringRedisTemplate, KEY_PREFIX + slot, owner,
+                    Duration.ofMillis(leaseMillis));
+            long startedAt = System.currentTimeMillis();
+            if (candidate.acquire()) {
+                lease = candidate;
+                generator = new SnowflakeIdGenerator(slot);
+                validUntil = startedAt + leaseMillis;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String ownerId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + ":" + UUID.randomUUID();
+    }
+}
@@ -0,0 +1,78 @@
+package com.tetgift.component;
+
+import com.tetgift.enums.TokenType;
+import com.tetgift.model.auth.VerifiedToken;
+import com.tetgift.model.auth.WebSocketPrincipal;
+import com.tetgift.service.AccessTokenDenylistService;
+import com.tetgift.service.JwtService;
+import com.tetgift.service.SecurityVersionService;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authenticates STOMP sessions from the {@code Authorization: Bearer} header of the CONNECT frame,
+ * with the same checks as {@link PreFilter}, and rejects subscriptions to user destinations from
+ * sessions that did not authenticate. Clients may only SEND to application destinations; a frame
+ * sent straight to a broker or user destination would reach other users as if the server sent it.
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+    private static final String AUTHORIZATION = "Authorization";
+    private static final String BEARER = "Bearer ";
+    private static final String USER_DESTINATION_PREFIX = "/user/";
+    private static final String APPLICATION_DESTINATION_PREFIX = "/app/";
+
+    private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final SecurityVersionService securityVersionService;
+    private final AccessTokenDenylistService accessTokenDenylistService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+        if (accessor.getCommand() == StompCommand.CONNECT) {
+            accessor.setUser(authenticate(accessor.getFirstNativeHeader(AUTHORIZATION), message));
+        } else if (accessor.getCommand() == StompCommand.SUBSCRIBE
+                && accessor.getDestination() != null
+                && accessor.getDestination().startsWith(USER_DESTINATION_PREFIX)
+                && accessor.getUser() == null) {
+            throw new MessageDeliveryException(message, "Authentication required");
+        } else if (accessor.getCommand() == StompCommand.SEND
+                && (accessor.getDestination() == null || !accessor.getDestination().startsWith(APPLICATION_DESTINATION_PREFIX))) {
+            throw new MessageDeliveryException(message, "Destination not allowed");
+        }
+        return message;
+    }
+
+    private WebSocketPrincipal authenticate(String authorization, Message<?> message) {
+        if (authorization == null || !authorization.startsWith(BEARER)) {
+            return null;
+        }
+        String token = authorization.substring(BEARER.length());
+        VerifiedToken verifiedToken;
+        try {
+            verifiedToken = verifiedTokenCache.getOrVerify(token, () -> jwtService.verifyToken(token, TokenType.ACCESS));
+        } catch (JwtException e) {
+            throw new MessageDeliveryException(message, "Invalid access token");
+        }
+        if (verifiedToken.getUserId() == null
+                || verifiedToken.isExpired()
+                || !securityVersionService.isCurrent(verifiedToken.getUserId(), verifiedToken.getSecurityVersion())
+                || accessTokenDenylistService.isRevoked(verifiedToken)) {
+            throw new MessageDeliveryException(message, "Invalid access token");
+        }
+        return new WebSocketPrincipal(verifiedToken.getUserId(), verifiedToken.getSubject());
+    }
+}
@@ -0,0 +1,183 @@
+package com.tetgift.component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * On-heap L1 in front of a {@link RedisCache} L2. Writes go to both tiers and publish an
+ * invalidation so other nodes drop their L1 copy; a node that raced the invalidation serves the
+ * stale copy for at most the L1 TTL. Concurrent misses for the same key share one load.
+ */
+public class TwoTierCache extends AbstractValueAdaptingCache {
+    private final String name;
+    private final Cache<String, Object> l1;
+    private final RedisCache l2;
+    private final BiConsumer<String, String> invalidationPublisher;
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter loads;
+    private final Counter coalescedLoads;
+
+    /**
+     * @param l1 on-heap tier, or {@code null} to run this cache on Redis only
+     * @param invalidationPublisher receives (cacheName, key) on evict and (cacheName, null) on clear
+     */
+    public TwoTierCache(String name, Cache<String, Object> l1, RedisCache l2,
+                        BiConsumer<String, String> invalidationPublisher, MeterRegistry meterRegistry) {
+        super(false);
+        this.name = name;
+        this.l1 = l1;
+        this.l2 = l2;
+        this.invalidationPublisher = invalidationPublisher;
+        this.l1Hits = requests(meterRegistry, "l1", "hit");
+        this.l1Misses = requests(meterRegistry, "l1", "miss");
+        this.l2Hits = requests(meterRegistry, "l2", "hit");
+        this.l2Misses = requests(meterRegistry, "l2", "miss");
+        this.loads = Counter.builder("cache.loads").tag("cache", name).tag("result", "loaded").register(meterRegistry);
+        this.coalescedLoads = Counter.builder("cache.loads").tag("cache", name).tag("result", "coalesced").register(meterRegistry);
+        Gauge.builder("cache.hit.ratio", this, cache -> ratio(cache.l1Hits, cache.l1Misses))
+                .tag("cache", name).tag("tier", "l1").register(meterRegistry);
+        Gauge.builder("cache.hit.ratio", this, cache -> ratio(cache.l2Hits, cache.l2Misses))
+                .tag("cache", name).tag("tier", "l2").register(meterRegistry);
+        if (l1 != null) {
+            Gauge.builder("cache.l1.size", l1, Cache::estimatedSize).tag("cache", name).register(meterRegistry);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l2.getNativeCache();
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String cacheKey = cacheKey(key);
+        if (l1 != null) {
+            Object value = l1.getIfPresent(cacheKey);
+            if (value != null) {
+                l1Hits.increment();
+                return value;
+            }
+            l1Misses.increment();
+        }
+        ValueWrapper wrapper = l2.get(key);
+        if (wrapper == null || wrapper.get() == null) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        if (l1 != null) {
+            l1.put(cacheKey, wrapper.get());
+        }
+        return wrapper.get();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object cached = lookup(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+        String cacheKey = cacheKey(key);
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(cacheKey, load);
+        if (existing != null) {
+            coalescedLoads.increment();
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+        try {
+            T value = valueLoader.call();
+            if (value != null) {
+                put(key, value);
+            }
+            loads.increment();
+            load.complete(value);
+            return value;
+        } catch (Exception e) {
+            load.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            inFlight.remove(cacheKey, load);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        l2.put(key, value);
+        String cacheKey = cacheKey(key);
+        if (l1 != null) {
+            l1.put(cacheKey, toStoreValue(value));
+        }
+        invalidationPublisher.accept(name, cacheKey);
+    }
+
+    @Override
+    public void evict(Object key) {
+        l2.evict(key);
+        String cacheKey = cacheKey(key);
+        invalidateLocal(cacheKey);
+        invalidationPublisher.accept(name, cacheKey);
+    }
+
+    @Override
+    public void clear() {
+        l2.clear();
+        invalidateLocal(null);
+        invalidationPublisher.accept(name, null);
+    }
+
+    /**
+     * Drops L1 entries only; {@code null} drops the whole tier. Called for invalidations from other nodes.
+     */
+    public void invalidateLocal(String cacheKey) {
+        if (l1 == null) {
+            return;
+        }
+        if (cacheKey == null) {
+            l1.invalidateAll();
+        } else {
+            l1.invalidate(cacheKey);
+        }
+    }
+
+    /**
+     * Same string form the Redis tier uses for its keys, so both tiers and the invalidation
+     * messages agree on key identity.
+     */
+    private static String cacheKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private Counter requests(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("cache.requests").tag("cache", name).tag("tier", tier).tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static double ratio(Counter hits, Counter misses) {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+}
@@ -0,0 +1,115 @@
+package com.tetgift.component;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tetgift.configuration.CacheConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds a {@link TwoTierCache} per cache name from {@link CacheConfig}: the Redis tier gets the
+ * cache's TTL, the on-heap tier its own size and TTL. Invalidations travel over one pub/sub
+ * channel as {@code origin|cache|key} (an empty key clears the cache); a node ignores its own.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+    private static final char SEPARATOR = '|';
+
+    private final RedisCacheManager redisCacheManager;
+    private final CacheConfig cacheConfig;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String origin = UUID.randomUUID().toString();
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+    private final Counter published;
+    private final Counter received;
+
+    public TwoTierCacheManager(RedisConnectionFactory connectionFactory,
+                               RedisCacheConfiguration redisDefaults,
+                               CacheConfig cacheConfig,
+                               StringRedisTemplate stringRedisTemplate,
+                               MeterRegistry meterRegistry) {
+        this.cacheConfig = cacheConfig;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.meterRegistry = meterRegistry;
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(redisDefaults.entryTtl(cacheConfig.getDefaults().getTtl()));
+        cacheConfig.getSpecs().forEach((name, spec) -> builder.withCacheConfiguration(name, redisDefaults.entryTtl(spec.getTtl())));
+        this.redisCacheManager = builder.build();
+        this.redisCacheManager.afterPropertiesSet();
+        this.published = Counter.builder("cache.invalidations").tag("direction", "published").register(meterRegistry);
+        this.received = Counter.builder("cache.invalidations").tag("direction", "received").register(meterRegistry);
+    }
+
+    public void subscribe(RedisMessageListenerContainer listenerContainer) {
+        listenerContainer.addMessageListener(this, new ChannelTopic(cacheConfig.getInvalidationChannel()));
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int first = body.indexOf(SEPARATOR);
+        int second = first < 0 ? -1 : body.indexOf(SEPARATOR, first + 1);
+        if (second < 0) {
+            log.warn("Ignoring malformed cache invalidation: {}", body);
+            return;
+        }
+        if (origin.equals(body.substring(0, first))) {
+            return;
+        }
+        TwoTierCache cache = caches.get(body.substring(first + 1, second));
+        if (cache == null) {
+            return;
+        }
+        received.increment();
+        String key = body.substring(second + 1);
+        cache.invalidateLocal(key.isEmpty() ? null : key);
+    }
+
+    private TwoTierCache createCache(String name) {
+        CacheConfig.Spec spec = cacheConfig.specFor(name);
+        com.github.benmanes.caffeine.cache.Cache<String, Object> l1 = spec.getL1MaxSize() > 0
+                ? Caffeine.newBuilder().maximumSize(spec.getL1MaxSize()).expireAfterWrite(spec.getL1Ttl()).build()
+                : null;
+        RedisCache l2 = (RedisCache) redisCacheManager.getCache(name);
+        return new TwoTierCache(name, l1, l2, this::publishInvalidation, meterRegistry);
+    }
+
+    private void publishInvalidation(String cacheName, String key) {
+        try {
+            stringRedisTemplate.convertAndSend(cacheConfig.getInvalidationChannel(),
+                    origin + SEPARATOR + cacheName + SEPARATOR + (key != null ? key : ""));
+            published.increment();
+        } catch (Exception e) {
+            log.warn("Could not publish invalidation for cache {}: {}", cacheName, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.tetgift.component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tetgift.configuration.VNPayConfig;
+import com.tetgift.dto.response.VNPayQueryResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+/**
+ * Signed {@code querydr} calls against the VNPay merchant API. Meant to be called from many
+ * virtual threads at once: the shared HTTP/1.1 client keeps idle connections to the API host
+ * and reuses them, so the number of open connections follows the caller's concurrency cap.
+ */
+@Component
+@Slf4j
+public class VNPayQueryClient {
+    private static final String VERSION = "2.1.0";
+    private static final String COMMAND = "querydr";
+    private static final DateTimeFormatter VNP_DATE = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final ZoneId VNP_ZONE = ZoneId.of("Asia/Ho_Chi_Minh");
+
+    private final VNPaySigner vnPaySigner;
+    private final VNPayConfig config;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final URI apiUri;
+    private final Duration requestTimeout;
+    private final String ipAddr;
+
+    public VNPayQueryClient(VNPaySigner vnPaySigner,
+                            VNPayConfig config,
+                            ObjectMapper objectMapper,
+                            @Value("${payment.reconciliation.connect-timeout-ms:3000}") long connectTimeoutMillis,
+                            @Value("${payment.reconciliation.request-timeout-ms:10000}") long requestTimeoutMillis,
+                            @Value("${payment.reconciliation.ip-addr:127.0.0.1}") String ipAddr) {
+        this.vnPaySigner = vnPaySigner;
+        this.config = config;
+        this.objectMapper = objectMapper;
+        this.apiUri = config.getApiUrl() != null ? URI.create(config.getApiUrl()) : null;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMillis);
+        this.ipAddr = ipAddr;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /**
+     * Queries the transaction of payment {@code txnRef} created at {@code createdAt} (server time).
+     * Returns empty when the call fails or the response signature does not verify.
+     */
+    public Optional<VNPayQueryResponse> query(String txnRef, LocalDateTime createdAt) throws InterruptedException {
+        if (apiUri == null) {
+            return Optional.empty();
+        }
+        String requestId = UUID.randomUUID().toString().replace("-", "");
+        String transactionDate = createdAt.atZone(ZoneId.systemDefault()).withZoneSameInstant(VNP_ZONE).format(VNP_DATE);
+        String createDate = ZonedDateTime.now(VNP_ZONE).format(VNP_DATE);
+        String orderInfo = "Query payment " + txnRef;
+
+        Map<String, String> body = new LinkedHashMap<>();
+        body.put("vnp_RequestId", requestId);
+        body.put("vnp_Version", VERSION);
+        body.put("vnp_Command", COMMAND);
+        body.put("vnp_TmnCode", config.getTmnCode());
+        body.put("vnp_TxnRef", txnRef);
+        body.put("vnp_OrderInfo", orderInfo);
+        body.put("vnp_TransactionDate", transactionDate);
+        body.put("vnp_CreateDate", createDate);
+        body.put("vnp_IpAddr", ipAddr);
+        body.put(VNPaySigner.SECURE_HASH, vnPaySigner.signFields(requestId, VERSION, COMMAND, config.getTmnCode(),
+                txnRef, transactionDate, createDate, ipAddr, orderInfo));
+
+        try {
+            HttpRequest request = HttpRequest.newBuilder(apiUri)
+                    .timeout(requestTimeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                log.warn("VNPay querydr for {} returned HTTP {}", txnRef, response.statusCode());
+                return Optional.empty();
+            }
+            VNPayQueryResponse result = objectMapper.readValue(response.body(), VNPayQueryResponse.class);
+            if (!verify(result)) {
+                log.warn("VNPay querydr response for {} has an invalid signature", txnRef);
+                return Optional.empty();
+            }
+            return Optional.of(result);
+        } catch (IOException e) {
+            log.warn("VNPay querydr for {} failed: {}", txnRef, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private boolean verify(VNPayQueryResponse response) {
+        return vnPaySigner.verifyFields(response.getSecureHash(),
+                nullToEmpty(response.getResponseId()), nullToEmpty(response.getCommand()),
+                nullToEmpty(response.getResponseCode()), nullToEmpty(response.getMessage()),
+                nullToEmpty(response.getTmnCode()), nullToEmpty(response.getTxnRef()),
+                nullToEmpty(response.getAmount()), nullToEmpty(response.getBankCode()),
+                nullToEmpty(response.getPayDate()), nullToEmpty(response.getTransactionNo()),
+                nullToEmpty(response.getTransactionType()), nullToEmpty(response.getTransactionStatus()),
+                nullToEmpty(response.getOrderInfo()), nullToEmpty(response.getPromotionCode()),
+                nullToEmpty(response.getPromotionAmount()));
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
@@ -0,0 +1,227 @@
+package com.tetgift.component;
+
+import com.tetgift.configuration.VNPayConfig;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Builds and verifies VNPay signatures. Each thread keeps its own {@code HmacSHA512} instance,
+ * keyed once with the merchant secret, and the canonical query is written in a single pass in
+ * key order, so signing allocates little beyond the resulting strings.
+ */
+@Component
+public class VNPaySigner {
+    public static final String SECURE_HASH = "vnp_SecureHash";
+    public static final String SECURE_HASH_TYPE = "vnp_SecureHashType";
+
+    private static final String HMAC_SHA512 = "HmacSHA512";
+    private static final int SIGNATURE_BYTES = 64;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final char[] HEX_UPPER = "0123456789ABCDEF".toCharArray();
+    private static final boolean[] UNRESERVED = new boolean[128];
+    private static final DateTimeFormatter VNP_DATE = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final ZoneId VNP_ZONE = ZoneId.of("Asia/Ho_Chi_Minh");
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) UNRESERVED[c] = true;
+        for (char c = 'A'; c <= 'Z'; c++) UNRESERVED[c] = true;
+        for (char c = '0'; c <= '9'; c++) UNRESERVED[c] = true;
+        UNRESERVED['.'] = true;
+        UNRESERVED['-'] = true;
+        UNRESERVED['*'] = true;
+        UNRESERVED['_'] = true;
+    }
+
+    private final VNPayConfig config;
+    private final ThreadLocal<Mac> mac;
+
+    public VNPaySigner(VNPayConfig config) {
+        this.config = config;
+        SecretKeySpec key = new SecretKeySpec(config.getHashSecret().getBytes(StandardCharsets.UTF_8), HMAC_SHA512);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(HMAC_SHA512);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA512 is not available", e);
+            }
+        });
+    }
+
+    public String buildPaymentUrl(Long paymentId, double amount) {
+        return buildPaymentUrl(paymentId, amount, ZonedDateTime.now(VNP_ZONE));
+    }
+
+    public String buildPaymentUrl(Long paymentId, double amount, ZonedDateTime createdAt) {
+        String query = new CanonicalQuery(512)
+                .add("vnp_Amount", String.valueOf((long) (amount * 100)))
+                .add("vnp_Command", "pay")
+                .add("vnp_CreateDate", VNP_DATE.format(createdAt))
+                .add("vnp_CurrCode", "VND")
+                .add("vnp_ExpireDate", VNP_DATE.format(createdAt.plusMinutes(15)))
+                .add("vnp_IpAddr", "127.0.0.1")
+                .add("vnp_Locale", "vn")
+                .add("vnp_OrderInfo", "Thanh toan don hang:" + paymentId)
+                .add("vnp_OrderType", "other")
+                .add("vnp_ReturnUrl", config.getReturnUrl())
+                .add("vnp_TmnCode", config.getTmnCode())
+                .add("vnp_TxnRef", paymentId.toString())
+                .add("vnp_Version", "2.1.0")
+                .toString();
+        return config.getUrl() + "?" + query + "&" + SECURE_HASH + "=" + sign(query);
+    }
+
+    /**
+     * Canonical query of the given parameters: sorted by name, empty values and the hash fields
+     * left out, values form-encoded the way VNPay expects.
+     */
+    public String canonicalQuery(Map<String, String> params) {
+        SortedMap<String, String> sorted = params instanceof SortedMap<String, String> sortedMap && sortedMap.comparator() == null
+                ? sortedMap
+                : new TreeMap<>(params);
+        CanonicalQuery query = new CanonicalQuery(sorted.size() * 32);
+        for (Map.Entry<String, String> entry : sorted.entrySet()) {
+            if (!SECURE_HASH.equals(entry.getKey()) && !SECURE_HASH_TYPE.equals(entry.getKey())) {
+                query.add(entry.getKey(), entry.getValue());
+            }
+        }
+        return query.toString();
+    }
+
+    public String sign(String data) {
+        byte[] signature = mac.get().doFinal(data.getBytes(StandardCharsets.UTF_8));
+        char[] hex = new char[signature.length * 2];
+        for (int i = 0; i < signature.length; i++) {
+            hex[i * 2] = HEX[(signature[i] >> 4) & 0x0F];
+            hex[i * 2 + 1] = HEX[signature[i] & 0x0F];
+        }
+        return new String(hex);
+    }
+
+    /**
+     * Checks the {@code vnp_SecureHash} of a VNPay callback (return URL or IPN). The comparison
+     * runs in constant time over the raw signature bytes and accepts either hex case.
+     */
+    public boolean verify(Map<String, String> params) {
+        byte[] received = decodeHex(params.get(SECURE_HASH));
+        if (received == null) {
+            return false;
+        }
+        byte[] expected = mac.get().doFinal(canonicalQuery(params).getBytes(StandardCharsets.UTF_8));
+        return MessageDigest.isEqual(expected, received);
+    }
+
+    /**
+     * Signature of the API (querydr / refund) format: the given fields joined with {@code |}.
+     */
+    public String signFields(String... fields) {
+        return sign(String.join("|", fields));
+    }
+
+    /**
+     * Constant-time check of an API response signature over the given fields in VNPay's order.
+     */
+    public boolean verifyFields(String signature, String... fields) {
+        byte[] received = decodeHex(signature);
+        if (received == null) {
+            return false;
+        }
+        byte[] expected = mac.get().doFinal(String.join("|", fields).getBytes(StandardCharsets.UTF_8));
+        return MessageDigest.isEqual(expected, received);
+    }
+
+    private static byte[] decodeHex(String hex) {
+        if (hex == null || hex.length() != SIGNATURE_BYTES * 2) {
+            return null;
+        }
+        byte[] bytes = new byte[SIGNATURE_BYTES];
+        for (int i = 0; i < SIGNATURE_BYTES; i++) {
+            int high = Character.digit(hex.charAt(i * 2), 16);
+            int low = Character.digit(hex.charAt(i * 2 + 1), 16);
+            if (high < 0 || low < 0) {
+                return null;
+            }
+            bytes[i] = (byte) ((high << 4) | low);
+        }
+        return bytes;
+    }
+
+    /**
+     * Appends {@code name=value} pairs in one pass; names must arrive in ascending order, which is
+     * what VNPay signs. Values are encoded like {@link java.net.URLEncoder} with UTF-8.
+     */
+    static final class CanonicalQuery {
+        private final StringBuilder builder;
+        private String lastName;
+
+        CanonicalQuery(int capacity) {
+            this.builder = new StringBuilder(capacity);
+        }
+
+        CanonicalQuery add(String name, String value) {
+            if (lastName != null && lastName.compareTo(name) >= 0) {
+                throw new IllegalStateException("VNPay parameters must be added in ascending order: " + name);
+            }
+            lastName = name;
+            if (value == null || value.isEmpty()) {
+                return this;
+            }
+            if (!builder.isEmpty()) {
+                builder.append('&');
+            }
+            builder.append(name).append('=');
+            encode(value);
+            return this;
+        }
+
+        private void encode(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 128 && UNRESERVED[c]) {
+                    builder.append(c);
+                } else if (c == ' ') {
+                    builder.append('+');
+                } else if (c < 0x80) {
+                    appendByte(c);
+                } else if (c < 0x800) {
+                    appendByte(0xC0 | (c >> 6));
+                    appendByte(0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    appendByte(0xF0 | (codePoint >> 18));
+                    appendByte(0x80 | ((codePoint >> 12) & 0x3F));
+                    appendByte(0x80 | ((codePoint >> 6) & 0x3F));
+                    appendByte(0x80 | (codePoint & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    appendByte('?');
+                } else {
+                    appendByte(0xE0 | (c >> 12));
+                    appendByte(0x80 | ((c >> 6) & 0x3F));
+                    appendByte(0x80 | (c & 0x3F));
+                }
+            }
+        }
+
+        private void appendByte(int b) {
+            builder.append('%').append(HEX_UPPER[(b >> 4) & 0x0F]).append(HEX_UPPER[b & 0x0F]);
+        }
+
+        @Override
+        public String toString() {
+            return builder.toString();
+        }
+    }
+}
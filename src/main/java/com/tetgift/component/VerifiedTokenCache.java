@@ -0,0 +1,172 @@
+package com.tetgift.component;
+
+import com.tetgift.model.auth.VerifiedToken;
+import com.tetgift.util.TokenDigestUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, lock-striped cache of verified access tokens keyed by the SHA-256 digest of the
+ * raw token. Entries live until the token's own expiry and each stripe evicts its least
+ * recently used entry once full, so memory stays bounded regardless of traffic.
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache {
+    private static final int STRIPES = 16;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final boolean enabled;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public VerifiedTokenCache(MeterRegistry meterRegistry,
+                              @Value("${jwt.token-cache.enabled:true}") boolean enabled,
+                              @Value("${jwt.token-cache.max-size:10000}") int maxSize) {
+        this.enabled = enabled;
+        int perStripe = Math.max(1, maxSize / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+        this.hits = Counter.builder("auth.token.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("auth.token.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("auth.token.cache.evictions").register(meterRegistry);
+        Gauge.builder("auth.token.cache.size", this, VerifiedTokenCache::size).register(meterRegistry);
+    }
+
+    public VerifiedToken getOrVerify(String token, Supplier<VerifiedToken> verifier) {
+        if (!enabled) {
+            return verifier.get();
+        }
+        TokenDigest digest = digest(token);
+        Stripe stripe = stripeFor(digest);
+        VerifiedToken cached = stripe.get(digest);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        VerifiedToken verifiedToken = verifier.get();
+        if (verifiedToken.getExpiration() != null) {
+            stripe.put(digest, verifiedToken);
+        }
+        return verifiedToken;
+    }
+
+    public void invalidateUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        int removed = 0;
+        for (Stripe stripe : stripes) {
+            removed += stripe.removeIf(token -> userId.equals(token.getUserId()));
+        }
+        if (removed > 0) {
+            log.debug("Purged {} cached tokens for user {}", removed, userId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.token-cache.sweep-interval-ms:30000}")
+    public void evictExpired() {
+        Instant now = Instant.now();
+        for (Stripe stripe : stripes) {
+            evictions.increment(stripe.removeIf(token -> token.getExpiration().isBefore(now)));
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(TokenDigest digest) {
+        return stripes[(int) (digest.high() >>> 60) & (STRIPES - 1)];
+    }
+
+    private static TokenDigest digest(String token) {
+        ByteBuffer hash = ByteBuffer.wrap(TokenDigestUtil.sha256(token));
+        return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+    }
+
+    private record TokenDigest(long high, long midHigh, long midLow, long low) {
+    }
+
+    private final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<TokenDigest, VerifiedToken> entries;
+
+        private Stripe(int capacity) {
+            this.entries = new LinkedHashMap<>(capacity, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<TokenDigest, VerifiedToken> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        private VerifiedToken get(TokenDigest digest) {
+            lock.lock();
+            try {
+                VerifiedToken token = entries.get(digest);
+                if (token != null && token.isExpired()) {
+                    entries.remove(digest);
+                    evictions.increment();
+                    return null;
+                }
+                return token;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void put(TokenDigest digest, VerifiedToken token) {
+            lock.lock();
+            try {
+                entries.put(digest, token);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int removeIf(Predicate<VerifiedToken> predicate) {
+            lock.lock();
+            try {
+                int before = entries.size();
+                entries.values().removeIf(predicate);
+                return before - entries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int size() {
+            lock.lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.tetgift.component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks open WebSocket sessions so slow consumers can be evicted directly on the transport,
+ * bypassing their own backlog. Evicted clients get close code 1013 (try again later) as a hint
+ * to reconnect with backoff.
+ */
+@Component
+@Slf4j
+public class WebSocketSessionRegistry implements WebSocketHandlerDecoratorFactory {
+    public static final CloseStatus SLOW_CONSUMER = CloseStatus.SERVICE_OVERLOAD.withReason("Slow consumer, reconnect later");
+
+    private final ConcurrentHashMap<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public WebSocketSessionRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("websocket.sessions.active", sessions, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                sessions.put(session.getId(), session);
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sessions.remove(session.getId());
+                if (CloseStatus.SESSION_NOT_RELIABLE.equals(closeStatus)) {
+                    meterRegistry.counter("websocket.sessions.evicted", "reason", "send_limit").increment();
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    /**
+     * Closes the session with {@link #SLOW_CONSUMER}. Returns false if it was already gone.
+     */
+    public boolean evict(String sessionId) {
+        WebSocketSession session = sessions.remove(sessionId);
+        if (session == null) {
+            return false;
+        }
+        meterRegistry.counter("websocket.sessions.evicted", "reason", "slow_consumer").increment();
+        try {
+            session.close(SLOW_CONSUMER);
+        } catch (IOException e) {
+            log.debug("Error closing slow websocket session {}: {}", sessionId, e.getMessage());
+        }
+        return true;
+    }
+
+    public int activeSessions() {
+        return sessions.size();
+    }
+}
@@ -0,0 +1,37 @@
+package com.tetgift.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "cache")
+@Getter
+@Setter
+public class CacheConfig {
+    private String invalidationChannel = "cache:invalidate";
+    private Spec defaults = new Spec();
+    private Map<String, Spec> specs = new HashMap<>();
+
+    public Spec specFor(String cacheName) {
+        Spec spec = specs.get(cacheName);
+        return spec != null ? spec : defaults;
+    }
+
+    /**
+     * {@code ttl} applies to the Redis tier. The on-heap tier keeps at most {@code l1MaxSize}
+     * entries for {@code l1Ttl}; a size of 0 disables it for that cache.
+     */
+    @Getter
+    @Setter
+    public static class Spec {
+        private Duration ttl = Duration.ofMinutes(10);
+        private Duration l1Ttl = Duration.ofMinutes(1);
+        private long l1MaxSize = 10_000;
+    }
+}
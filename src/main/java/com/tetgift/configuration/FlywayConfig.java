@@ -0,0 +1,30 @@
+package com.tetgift.configuration;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Runs Flyway after the JPA context is up instead of before it. Migrations only add indexes and
+ * extensions to tables Hibernate owns, so on a fresh {@code ddl-auto: update} database the tables
+ * have to exist before the migration runs. The migration still completes inside the context
+ * refresh, before the web server starts and the instance reports ready, and is skipped when
+ * {@code spring.flyway.enabled=false} leaves no {@link Flyway} bean.
+ */
+@Configuration
+public class FlywayConfig {
+
+    @Bean
+    public FlywayMigrationStrategy deferredFlywayMigration() {
+        return flyway -> {
+        };
+    }
+
+    @Bean
+    public SmartInitializingSingleton flywayMigrationInitializer(ObjectProvider<Flyway> flyway) {
+        return () -> flyway.ifAvailable(Flyway::migrate);
+    }
+}
@@ -0,0 +1,56 @@
+package com.tetgift.configuration;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.tetgift.component.EnvelopeJsonHttpMessageConverter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Separate mappers for HTTP bodies and for values stored in Redis, so tuning one can never change
+ * what the other reads or writes. Both use Blackbird-generated accessors instead of reflection.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    @Primary
+    public ObjectMapper objectMapper() {
+        return baseMapper();
+    }
+
+    /**
+     * Also tolerates unknown properties, so nodes on different versions can share stream and
+     * pub/sub payloads during a rolling deploy.
+     */
+    @Bean
+    @Qualifier("redisObjectMapper")
+    public ObjectMapper redisObjectMapper() {
+        return baseMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new EnvelopeJsonHttpMessageConverter(objectMapper);
+    }
+
+    private static ObjectMapper baseMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        SimpleModule module = new SimpleModule();
+        module.addSerializer(LocalDateTime.class, new LocalDateTimeSerializer(DateTimeFormatter.ISO_DATE_TIME));
+        module.addDeserializer(LocalDateTime.class, new LocalDateTimeDeserializer(DateTimeFormatter.ISO_DATE_TIME));
+        mapper.registerModule(module);
+        mapper.registerModule(new BlackbirdModule());
+        return mapper;
+    }
+}
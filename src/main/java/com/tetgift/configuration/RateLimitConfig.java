@@ -0,0 +1,33 @@
+package com.tetgift.configuration;
+
+import com.tetgift.enums.RateLimitScope;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "rate-limit")
+@Getter
+@Setter
+public class RateLimitConfig {
+    private boolean enabled = true;
+    private int localBlockMaxEntries = 100_000;
+    private Map<String, List<Bucket>> policies = new HashMap<>();
+
+    /**
+     * A bucket holds {@code capacity} tokens and refills completely over {@code period}.
+     */
+    @Getter
+    @Setter
+    public static class Bucket {
+        private RateLimitScope scope;
+        private int capacity;
+        private Duration period;
+    }
+}
@@ -1,29 +1,33 @@
 package com.tetgift.configuration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.module.SimpleModule;
-import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
-import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.tetgift.component.TwoTierCacheManager;
+import com.tetgift.util.CompactRedisSerializer;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
-import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.Duration;
 
 @Configuration
-@EnableRedisRepositories
 @Slf4j
 @EnableCaching
 public class RedisConfig {
@@ -32,10 +36,25 @@ public class RedisConfig {
     private String redisHost;
     @Value("${spring.data.redis.port}")
     private int redisPort;
+    @Value("${redis.client.command-timeout-ms:2000}")
+    private long commandTimeoutMillis;
+    @Value("${redis.client.connect-timeout-ms:2000}")
+    private long connectTimeoutMillis;
+    @Value("${redis.serializer.format:SMILE}")
+    private CompactRedisSerializer.Format serializerFormat;
+    @Value("${redis.serializer.compression-threshold:1024}")
+    private int compressionThreshold;
 
     @Bean
     public RedisConnectionFactory redisConnectionFactory() {
-        return new LettuceConnectionFactory(redisHost, redisPort);
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .commandTimeout(Duration.ofMillis(commandTimeoutMillis))
+                .clientOptions(ClientOptions.builder()
+                        .socketOptions(SocketOptions.builder().connectTimeout(Duration.ofMillis(connectTimeoutMillis)).build())
+                        .timeoutOptions(TimeoutOptions.enabled())
+                        .build())
+                .build();
+        return new LettuceConnectionFactory(new RedisStandaloneConfiguration(redisHost, redisPort), clientConfiguration);
     }
 
     @Bean
@@ -44,8 +63,10 @@ public class RedisConfig {
         template.setConnectionFactory(redisConnectionFactory());
         template.setKeySerializer(new StringRedisSerializer());
         template.setHashKeySerializer(new StringRedisSerializer());
-        template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
-        template.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
+        CompactRedisSerializer valueSerializer =
+                new CompactRedisSerializer(new ObjectMapper(), true, serializerFormat, compressionThreshold);
+        template.setValueSerializer(valueSerializer);
+        template.setHashValueSerializer(valueSerializer);
         template.afterPropertiesSet();
         log.info("Connected to Redis at {}:{}", redisHost, redisPort);
         log.info("Redis is connected successfully.");
@@ -53,23 +74,20 @@ public class RedisConfig {
     }
 
     @Bean
-    public ObjectMapper objectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
-        SimpleModule module = new SimpleModule();
-        module.addSerializer(LocalDateTime.class, new LocalDateTimeSerializer(DateTimeFormatter.ISO_DATE_TIME));
-        module.addDeserializer(LocalDateTime.class, new LocalDateTimeDeserializer(DateTimeFormatter.ISO_DATE_TIME));
-        mapper.registerModule(module);
-        return mapper;
+    public RedisMessageListenerContainer redisMessageListenerContainer() {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory());
+        return container;
     }
 
     @Bean
-    public RedisCacheConfiguration cacheConfiguration() {
+    public RedisCacheConfiguration cacheConfiguration(@Qualifier("redisObjectMapper") ObjectMapper redisObjectMapper) {
 
-        GenericJackson2JsonRedisSerializer serializer =
-                new GenericJackson2JsonRedisSerializer(objectMapper());
+        CompactRedisSerializer serializer =
+                new CompactRedisSerializer(redisObjectMapper, false, serializerFormat, compressionThreshold);
 
         return RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(java.time.Duration.ofMinutes(10))
+                .entryTtl(Duration.ofMinutes(10))
                 .disableCachingNullValues()
                 .serializeKeysWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(
@@ -82,10 +100,16 @@ public class RedisConfig {
                 );
     }
 
+    /**
+     * Caffeine L1 in front of Redis L2 with per-cache TTL and size from {@code cache.*};
+     * see {@link TwoTierCacheManager}.
+     */
     @Bean
-    public RedisCacheManager cacheManager() {
-        return RedisCacheManager.builder(redisConnectionFactory())
-                .cacheDefaults(cacheConfiguration())
-                .build();
+    public CacheManager cacheManager(RedisCacheConfiguration cacheConfiguration, CacheConfig cacheConfig,
+                                     StringRedisTemplate stringRedisTemplate, MeterRegistry meterRegistry) {
+        TwoTierCacheManager cacheManager = new TwoTierCacheManager(redisConnectionFactory(), cacheConfiguration,
+                cacheConfig, stringRedisTemplate, meterRegistry);
+        cacheManager.subscribe(redisMessageListenerContainer());
+        return cacheManager;
     }
 }
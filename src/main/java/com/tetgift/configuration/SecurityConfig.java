@@ -27,6 +27,12 @@ public class SecurityConfig {
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final UserDetailsService userDetailsService;
     private final PasswordConfig passwordConfig;
+    private static final String[] ADMIN_ENDPOINTS = {
+            "/api/v1/admin/**"
+    };
+    private static final String[] AUTHENTICATED_AUTH_ENDPOINTS = {
+            "/api/v1/auth/sessions"
+    };
     private static final String[] AUTH_WHITELIST = {
             "/api/v1/auth/**",
             "/v3/api-docs/**",
@@ -36,7 +42,8 @@ public class SecurityConfig {
             "/api/v1/payments/vnpay-callback",
             "/payment-success",
             "/payment-failed",
-            "/ws/**"
+            "/ws/**",
+            "/ws-native"
     };
 
     @Bean
@@ -61,6 +68,8 @@ public class SecurityConfig {
         http.csrf(AbstractHttpConfigurer::disable)
                 .cors(Customizer.withDefaults())
                 .authorizeHttpRequests(authorizeRequests -> authorizeRequests
+                        .requestMatchers(ADMIN_ENDPOINTS).hasRole("ADMIN")
+                        .requestMatchers(AUTHENTICATED_AUTH_ENDPOINTS).authenticated()
                         .requestMatchers(AUTH_WHITELIST).permitAll()
                         .anyRequest().authenticated())
                 .sessionManagement(manager -> manager.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -0,0 +1,49 @@
+package com.tetgift.configuration;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class UserImportConfig {
+
+    /**
+     * Validates and hashes import rows. Kept apart from {@code passwordHashingExecutor} so a large
+     * import cannot starve logins; the queue holds every in-flight row of every running import.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor userImportExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${user-import.pool-size:2}") int poolSize,
+            @Value("${user-import.max-in-flight:256}") int maxInFlight,
+            @Value("${user-import.max-concurrent:1}") int maxConcurrent) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(maxInFlight * maxConcurrent);
+        executor.setThreadNamePrefix("user-import-");
+        executor.initialize();
+        Gauge.builder("user.import.queue.depth", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .register(meterRegistry);
+        return executor;
+    }
+
+    /**
+     * One thread per concurrently running import, reading the spooled upload and feeding
+     * {@code userImportExecutor}. Running imports are interrupted on shutdown and end up failed.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor userImportCoordinator(@Value("${user-import.max-concurrent:1}") int maxConcurrent) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrent);
+        executor.setMaxPoolSize(maxConcurrent);
+        // the import slot is freed just before the thread is, so the next import may briefly queue
+        executor.setQueueCapacity(maxConcurrent);
+        executor.setThreadNamePrefix("user-import-run-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,16 +1,73 @@
 package com.tetgift.configuration;
 
+import com.tetgift.component.OutboundBackpressureInterceptor;
+import com.tetgift.component.RedisBrokerRelay;
+import com.tetgift.component.StompAuthChannelInterceptor;
+import com.tetgift.component.WebSocketSessionRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
+/**
+ * STOMP over WebSocket with the in-memory simple broker. With {@code websocket.broker.mode=redis}
+ * the broker channel is additionally relayed over Redis pub/sub so messages reach subscribers on
+ * every node; the default {@code simple} mode is single-node only. Sessions authenticate with
+ * the access token on CONNECT and receive their own order updates on {@code /user/queue/orders}.
+ * <p>
+ * Clients can connect natively on {@code /ws-native} or through SockJS on {@code /ws}. Both share
+ * the per-session send limits below; a session exceeding them is closed, and a session whose
+ * outbound backlog grows past {@code websocket.outbound.max-queued-bytes} is evicted with close
+ * code 1013 so the client reconnects with backoff.
+ */
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebsocketConfig implements WebSocketMessageBrokerConfigurer {
+    private final ObjectProvider<RedisBrokerRelay> brokerRelay;
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+    private final OutboundBackpressureInterceptor outboundBackpressureInterceptor;
+    private final WebSocketSessionRegistry sessionRegistry;
+    private final int sendTimeLimitMillis;
+    private final int sendBufferSizeLimit;
+    private final int messageSizeLimit;
+    private final int inboundPoolSize;
+    private final int inboundQueueCapacity;
+    private final int outboundPoolSize;
+    private final int outboundQueueCapacity;
+
+    public WebsocketConfig(ObjectProvider<RedisBrokerRelay> brokerRelay,
+                           StompAuthChannelInterceptor stompAuthChannelInterceptor,
+                           OutboundBackpressureInterceptor outboundBackpressureInterceptor,
+                           WebSocketSessionRegistry sessionRegistry,
+                           @Value("${websocket.transport.send-time-limit-ms:10000}") int sendTimeLimitMillis,
+                           @Value("${websocket.transport.send-buffer-size-limit:524288}") int sendBufferSizeLimit,
+                           @Value("${websocket.transport.message-size-limit:65536}") int messageSizeLimit,
+                           @Value("${websocket.inbound.pool-size:8}") int inboundPoolSize,
+                           @Value("${websocket.inbound.queue-capacity:1000}") int inboundQueueCapacity,
+                           @Value("${websocket.outbound.pool-size:8}") int outboundPoolSize,
+                           @Value("${websocket.outbound.queue-capacity:10000}") int outboundQueueCapacity) {
+        this.brokerRelay = brokerRelay;
+        this.stompAuthChannelInterceptor = stompAuthChannelInterceptor;
+        this.outboundBackpressureInterceptor = outboundBackpressureInterceptor;
+        this.sessionRegistry = sessionRegistry;
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+        this.messageSizeLimit = messageSizeLimit;
+        this.inboundPoolSize = inboundPoolSize;
+        this.inboundQueueCapacity = inboundQueueCapacity;
+        this.outboundPoolSize = outboundPoolSize;
+        this.outboundQueueCapacity = outboundQueueCapacity;
+    }
 
     @Override
-    public void registerStompEndpoints(org.springframework.web.socket.config.annotation.StompEndpointRegistry registry) {
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/ws-native")
+                .setAllowedOriginPatterns("*");
         registry.addEndpoint("/ws")
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
@@ -20,5 +77,36 @@ public class WebsocketConfig implements WebSocketMessageBrokerConfigurer {
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         registry.enableSimpleBroker("/topic", "/queue");
         registry.setApplicationDestinationPrefixes("/app");
+        registry.setUserDestinationPrefix("/user");
+        RedisBrokerRelay relay = brokerRelay.getIfAvailable();
+        if (relay != null) {
+            registry.configureBrokerChannel().interceptors(relay);
+        }
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMillis)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit)
+                .addDecoratorFactory(sessionRegistry);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompAuthChannelInterceptor);
+        registration.taskExecutor()
+                .corePoolSize(inboundPoolSize)
+                .maxPoolSize(inboundPoolSize)
+                .queueCapacity(inboundQueueCapacity);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(outboundBackpressureInterceptor);
+        registration.taskExecutor()
+                .corePoolSize(outboundPoolSize)
+                .maxPoolSize(outboundPoolSize)
+                .queueCapacity(outboundQueueCapacity);
     }
 }
@@ -0,0 +1,89 @@
+package com.tetgift.controller;
+
+import com.tetgift.dto.request.UserSearchRequest;
+import com.tetgift.dto.response.PageResponse;
+import com.tetgift.dto.response.ResponseData;
+import com.tetgift.dto.response.UserImportReport;
+import com.tetgift.dto.response.UserSummaryResponse;
+import com.tetgift.enums.ImportFormat;
+import com.tetgift.service.UserImportService;
+import com.tetgift.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/admin/users")
+@Validated
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Admin users", description = "User administration APIs")
+public class AdminUserController {
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private final UserService userService;
+    private final UserImportService userImportService;
+
+    @Operation(summary = "Search users", description = "Filter by name, email, phone, provider, status and creation date; " +
+            "newest users first, paged with an opaque cursor")
+    @GetMapping
+    public ResponseEntity<ResponseData<PageResponse<List<UserSummaryResponse>>>> searchUsers(
+            @ModelAttribute UserSearchRequest filter,
+            @Parameter(description = "nextCursor of the previous page") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Include an approximate total from table statistics (unfiltered listing only)")
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        return ResponseEntity.ok(new ResponseData<>(
+                HttpStatus.OK.value(),
+                "Users fetched successfully",
+                userService.searchUsers(filter, cursor, size, withTotal)
+        ));
+    }
+
+    @Operation(summary = "Bulk import users", description = "Accepts a CSV (with header row) or NDJSON body, one user " +
+            "per row, and returns 202 with the import id as soon as the upload is stored; follow progress and the " +
+            "final report on /imports/{importId}. An unknown role is rejected with 400")
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ResponseData<UserImportReport>> importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @Parameter(description = "Role linked to every imported user") @RequestParam(defaultValue = "USER") String role,
+            InputStream body) {
+        ImportFormat format = TEXT_CSV.isCompatibleWith(contentType) ? ImportFormat.CSV : ImportFormat.NDJSON;
+        return ResponseEntity.accepted().body(new ResponseData<>(
+                HttpStatus.ACCEPTED.value(),
+                "User import started",
+                userImportService.importUsers(body, format, role)
+        ));
+    }
+
+    @Operation(summary = "List user imports", description = "Running and recently finished imports, newest first")
+    @GetMapping("/imports")
+    public ResponseEntity<ResponseData<List<UserImportReport>>> listImports() {
+        return ResponseEntity.ok(new ResponseData<>(
+                HttpStatus.OK.value(),
+                "User imports fetched successfully",
+                userImportService.listImports()
+        ));
+    }
+
+    @Operation(summary = "Get user import progress")
+    @GetMapping("/imports/{importId}")
+    public ResponseEntity<ResponseData<UserImportReport>> getImport(@PathVariable String importId) {
+        return ResponseEntity.ok(new ResponseData<>(
+                HttpStatus.OK.value(),
+                "User import fetched successfully",
+                userImportService.getImport(importId)
+        ));
+    }
+}
@@ -1,9 +1,11 @@
 package com.tetgift.controller;
 
 
+import com.tetgift.annotation.RateLimited;
 import com.tetgift.dto.request.*;
 import com.tetgift.dto.response.LoginResponse;
 import com.tetgift.dto.response.ResponseData;
+import com.tetgift.dto.response.SessionResponse;
 import com.tetgift.service.AuthenticationService;
 import com.tetgift.service.OtpVerifyService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -20,11 +22,14 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/v1/auth")
@@ -36,6 +41,7 @@ public class AuthenticationController {
     private final OtpVerifyService otpVerifyService;
 
     @Operation(summary = "User login", description = "Authenticate user and return access token and refresh token")
+    @RateLimited(value = "login", account = "#request.usernameOrEmail")
     @PostMapping("/login")
     public ResponseEntity<ResponseData<LoginResponse>> login(@Valid @RequestBody LoginRequest request) {
         return ResponseEntity.ok(new ResponseData<>(
@@ -46,6 +52,7 @@ public class AuthenticationController {
     }
 
     @Operation(summary = "Refresh access token", description = "Generate new access token using refresh token")
+    @RateLimited("refresh-token")
     @PostMapping("/refresh-token")
     public ResponseEntity<ResponseData<LoginResponse>> refreshToken(
             @Parameter(description = "HTTP request containing x-refresh-token header", hidden = true)
@@ -57,7 +64,7 @@ public class AuthenticationController {
         ));
     }
 
-    @Operation(summary = "User logout", description = "Invalidate refresh token and logout user")
+    @Operation(summary = "User logout", description = "Invalidate the current refresh token and access token")
     @SecurityRequirement(name = "bearerAuth")
     @PostMapping("/logout")
     public ResponseEntity<ResponseData<String>> logout(
@@ -70,17 +77,43 @@ public class AuthenticationController {
         ));
     }
 
+    @Operation(summary = "Logout from all devices", description = "Revoke every session and access token of the user")
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/logout-all")
+    public ResponseEntity<ResponseData<String>> logoutAll(
+            @Parameter(description = "HTTP request containing x-refresh-token header", hidden = true)
+            HttpServletRequest request) {
+        return ResponseEntity.ok(new ResponseData<>(
+                HttpStatus.OK.value(),
+                "Logout successful",
+                authenticationService.logoutAll(request)
+        ));
+    }
+
+    @Operation(summary = "List active sessions", description = "List the refresh-token sessions (devices) of the current user")
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/sessions")
+    public ResponseEntity<ResponseData<List<SessionResponse>>> getSessions() {
+        return ResponseEntity.ok(new ResponseData<>(
+                HttpStatus.OK.value(),
+                "Sessions retrieved successfully",
+                authenticationService.getSessions()
+        ));
+    }
+
     @Operation(summary = "Forgot password", description = "Send password reset token to user's email")
+    @RateLimited(value = "forgot-password", account = "#request.email")
     @PostMapping("/forgot-password")
-    public ResponseEntity<ResponseData<String>> forgotPassword(@Valid @RequestBody ForgotPasswordRequest request) {
+    public ResponseEntity<ResponseData<Void>> forgotPassword(@Valid @RequestBody ForgotPasswordRequest request) {
+        authenticationService.forgotPassword(request.getEmail());
         return ResponseEntity.ok(new ResponseData<>(
                 HttpStatus.OK.value(),
-                "If the email is registered, a password reset token has been sent",
-                authenticationService.forgotPassword(request.getEmail())
+                "If the email is registered, a password reset token has been sent"
         ));
     }
 
     @Operation(summary = "Reset password", description = "Reset user password using reset token")
+    @RateLimited("reset-password")
     @PostMapping("/reset-password")
     public ResponseEntity<ResponseData<String>> resetPassword(@Valid @RequestBody ResetPasswordRequest request) {
         return ResponseEntity.ok(new ResponseData<>(
@@ -91,6 +124,7 @@ public class AuthenticationController {
     }
 
     @Operation(summary = "Change password", description = "Change user password using secret key (reset token)")
+    @RateLimited("change-password")
     @PostMapping("/change-password")
     public ResponseEntity<ResponseData<String>> changePassword(@Valid @RequestBody ChangePasswordRequest request) {
         return ResponseEntity.ok(new ResponseData<>(
@@ -102,6 +136,7 @@ public class AuthenticationController {
     }
 
     @Operation(summary = "Verify OTP for email", description = "Verify the OTP sent to user's email for account activation")
+    @RateLimited(value = "verify-otp", account = "#request.email")
     @PostMapping("/verify-otp")
     public ResponseEntity<ResponseData<String>> verifyOtp(@Valid @RequestBody VerifyRequest request) {
         otpVerifyService.verifyOtp(request.getEmail(), request.getOtp());
@@ -114,6 +149,7 @@ public class AuthenticationController {
 
     @Operation(summary = "Resend OTP for email", description = "Resend the OTP to user's email for account activation")
 
+    @RateLimited(value = "resend-otp", account = "#request.email")
     @PostMapping("/resend-otp")
     public ResponseEntity<ResponseData<String>> resendOtp(@Valid @RequestBody ResendOtpRequest request) {
         otpVerifyService.resendOtp(request.getEmail());
@@ -0,0 +1,30 @@
+package com.tetgift.controller;
+
+import com.tetgift.dto.response.VNPayIpnResponse;
+import com.tetgift.service.PaymentCallbackService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/payments")
+@Slf4j
+@Tag(name = "Payment", description = "Payment gateway callbacks")
+public class PaymentController {
+    private final PaymentCallbackService paymentCallbackService;
+
+    @Operation(summary = "VNPay IPN", description = "Verify and queue a VNPay payment notification")
+    @GetMapping("/vnpay-callback")
+    public ResponseEntity<VNPayIpnResponse> vnpayCallback(@RequestParam Map<String, String> params) {
+        return ResponseEntity.ok(paymentCallbackService.ingest(params));
+    }
+}
@@ -0,0 +1,31 @@
+package com.tetgift.dto.message;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One pub/sub message of the Redis broker relay: every frame the origin node sent to its broker
+ * during one flush window.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BrokerRelayEnvelope {
+    private String origin;
+    private long publishedAt;
+    private List<Frame> frames;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Frame {
+        private String destination;
+        private String contentType;
+        private byte[] payload;
+    }
+}
@@ -0,0 +1,22 @@
+package com.tetgift.dto.message;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outbox entry: the fully built MIME message (RFC 822, Base64) plus delivery bookkeeping.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MailEnvelope {
+    private String to;
+    private String subject;
+    private String mime;
+    private int attempt;
+    private long enqueuedAt;
+    private String lastError;
+}
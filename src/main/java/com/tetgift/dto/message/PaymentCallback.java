@@ -0,0 +1,25 @@
+package com.tetgift.dto.message;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A verified VNPay callback as queued for asynchronous processing. {@code amount} is the raw
+ * {@code vnp_Amount} (VND x 100).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentCallback {
+    private String txnRef;
+    private long amount;
+    private String responseCode;
+    private String transactionStatus;
+    private String transactionNo;
+    private String bankCode;
+    private String payDate;
+    private long receivedAt;
+}
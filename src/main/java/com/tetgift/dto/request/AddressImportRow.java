@@ -0,0 +1,31 @@
+package com.tetgift.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AddressImportRow {
+    @NotBlank(message = "Receiver name is required")
+    private String receiverName;
+
+    @NotBlank(message = "Phone number is required")
+    @Pattern(regexp = "^\\+?[0-9]{8,15}$", message = "Phone number must be 8-15 digits")
+    private String phoneNumber;
+
+    @NotBlank(message = "Street address is required")
+    private String streetAddress;
+
+    @NotBlank(message = "Ward is required")
+    private String ward;
+
+    @NotBlank(message = "District is required")
+    private String district;
+
+    @NotBlank(message = "Province is required")
+    private String province;
+}
@@ -17,4 +17,6 @@ public class LoginRequest {
     @Size(min = 6, message = "Password must be at least 6 characters")
     private String password;
 
+    @Size(max = 100, message = "Device name must be at most 100 characters")
+    private String device;
 }
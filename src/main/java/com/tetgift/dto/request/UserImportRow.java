@@ -0,0 +1,44 @@
+package com.tetgift.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One user of a bulk import. NDJSON lines map onto it directly; CSV rows carry at most one address
+ * in flat {@code receiverName,phoneNumber,streetAddress,ward,district,province} columns.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserImportRow {
+    @NotBlank(message = "Username is required")
+    @Size(min = 3, max = 50, message = "Username must be 3-50 characters")
+    @Pattern(regexp = "^[^@]*$", message = "Username must not contain @")
+    private String username;
+
+    @NotBlank(message = "Email is required")
+    @Email(message = "Email is invalid")
+    private String email;
+
+    @NotBlank(message = "Password is required")
+    @Size(min = 8, max = 72, message = "Password must be 8-72 characters")
+    private String password;
+
+    private String fullName;
+
+    @Pattern(regexp = "^\\+?[0-9]{8,15}$", message = "Phone must be 8-15 digits")
+    private String phone;
+
+    @Builder.Default
+    private List<@NotNull(message = "Address must not be null") @Valid AddressImportRow> addresses = new ArrayList<>();
+}
@@ -0,0 +1,28 @@
+package com.tetgift.dto.request;
+
+import com.tetgift.enums.LoginType;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Admin user filters; every field is optional and set fields are combined with AND.
+ * Text filters match anywhere in the value, case-insensitively.
+ */
+@Getter
+@Setter
+public class UserSearchRequest {
+    private String name;
+    private String email;
+    private String phone;
+    private LoginType provider;
+    private Boolean verified;
+    private Boolean active;
+    private Boolean locked;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+}
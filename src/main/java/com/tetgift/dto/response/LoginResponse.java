@@ -1,5 +1,8 @@
 package com.tetgift.dto.response;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 
 import java.util.UUID;
@@ -12,5 +15,7 @@ import java.util.UUID;
 public class LoginResponse {
     private String accessToken;
     private String refreshToken;
+    @JsonSerialize(using = ToStringSerializer.class)
+    @Schema(type = "string", example = "237364051968012305", description = "Snowflake id, sent as a string because it exceeds 2^53")
     private Long userId;
 }
@@ -1,10 +1,27 @@
 package com.tetgift.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
 import java.io.Serializable;
 
+/**
+ * Page of results. Offset pages fill {@code pageNo}/{@code totalPages}; cursor pages fill
+ * {@code nextCursor} (absent on the last page) and, when requested, {@code approximateTotal}
+ * taken from table statistics rather than an exact count.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PageResponse<T> implements Serializable {
-    private int pageNo;
+    private Integer pageNo;
     private int pageSize;
-    private int totalPages;
+    private Integer totalPages;
+    private String nextCursor;
+    private boolean hasNext;
+    private Long approximateTotal;
     private T items;
 }
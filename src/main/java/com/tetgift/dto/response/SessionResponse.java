@@ -0,0 +1,17 @@
+package com.tetgift.dto.response;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SessionResponse {
+    private String sessionId;
+    private String device;
+    private Instant issuedAt;
+    private Instant expiresAt;
+}
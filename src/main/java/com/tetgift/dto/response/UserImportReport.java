@@ -0,0 +1,40 @@
+package com.tetgift.dto.response;
+
+import com.tetgift.enums.ImportFormat;
+import com.tetgift.enums.ImportStatus;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Progress of a bulk user import; the final report once {@code status} is no longer RUNNING.
+ * Only the first errors are listed, {@code unreportedErrors} counts the rest.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserImportReport {
+    private String importId;
+    private ImportFormat format;
+    private ImportStatus status;
+    private long rowsRead;
+    private long imported;
+    private long addresses;
+    private long duplicates;
+    private long invalid;
+    private List<RowError> errors;
+    private long unreportedErrors;
+    private String message;
+    private Instant startedAt;
+    private Instant finishedAt;
+
+    @Getter
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
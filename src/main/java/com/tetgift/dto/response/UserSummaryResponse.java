@@ -0,0 +1,29 @@
+package com.tetgift.dto.response;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import io.swagger.v3.oas.annotations.media.Schema;
+import com.tetgift.enums.LoginType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserSummaryResponse {
+    @JsonSerialize(using = ToStringSerializer.class)
+    @Schema(type = "string", example = "237364051968012305", description = "Snowflake id, sent as a string because it exceeds 2^53")
+    private Long id;
+    private String username;
+    private String email;
+    private String fullName;
+    private String phone;
+    private LoginType provider;
+    private boolean verified;
+    private boolean active;
+    private boolean locked;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,33 @@
+package com.tetgift.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Acknowledgement body VNPay expects from the IPN endpoint; it stops retrying on {@code 00} or {@code 02}.
+ */
+@Getter
+@AllArgsConstructor
+public class VNPayIpnResponse {
+    @JsonProperty("RspCode")
+    private final String rspCode;
+    @JsonProperty("Message")
+    private final String message;
+
+    public static VNPayIpnResponse confirmed() {
+        return new VNPayIpnResponse("00", "Confirm Success");
+    }
+
+    public static VNPayIpnResponse alreadyConfirmed() {
+        return new VNPayIpnResponse("02", "Order already confirmed");
+    }
+
+    public static VNPayIpnResponse invalidSignature() {
+        return new VNPayIpnResponse("97", "Invalid Checksum");
+    }
+
+    public static VNPayIpnResponse unknownError() {
+        return new VNPayIpnResponse("99", "Unknown error");
+    }
+}
@@ -0,0 +1,6 @@
+package com.tetgift.enums;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON
+}
@@ -0,0 +1,9 @@
+package com.tetgift.enums;
+
+public enum PaymentTransitionResult {
+    PAID,
+    FAILED,
+    ALREADY_APPLIED,
+    NOT_FOUND,
+    AMOUNT_MISMATCH
+}
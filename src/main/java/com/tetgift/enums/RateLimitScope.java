@@ -0,0 +1,7 @@
+package com.tetgift.enums;
+
+public enum RateLimitScope {
+    IP,
+    ACCOUNT,
+    GLOBAL
+}
@@ -0,0 +1,7 @@
+package com.tetgift.enums;
+
+public enum SessionRotationResult {
+    ROTATED,
+    NOT_FOUND,
+    REUSE_DETECTED
+}
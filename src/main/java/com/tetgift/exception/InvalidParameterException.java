@@ -0,0 +1,7 @@
+package com.tetgift.exception;
+
+public class InvalidParameterException extends RuntimeException {
+    public InvalidParameterException(String message) {
+        super(message);
+    }
+}
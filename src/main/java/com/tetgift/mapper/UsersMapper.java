@@ -1,6 +1,7 @@
 package com.tetgift.mapper;
 
 
+import com.tetgift.dto.response.UserSummaryResponse;
 import com.tetgift.model.Users;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -8,4 +9,6 @@ import org.mapstruct.Mapping;
 @Mapper(componentModel = "spring")
 public interface UsersMapper {
 
+    @Mapping(target = "verified", source = "verify")
+    UserSummaryResponse toSummary(Users user);
 }
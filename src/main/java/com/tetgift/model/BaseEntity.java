@@ -1,7 +1,6 @@
 package com.tetgift.model;
 
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import com.tetgift.model.id.SnowflakeId;
 import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
 import lombok.Getter;
@@ -17,7 +16,7 @@ import java.time.LocalDateTime;
 @Setter
 public abstract class BaseEntity<T> implements Serializable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private T id;
     @CreationTimestamp
     private LocalDateTime createdAt;
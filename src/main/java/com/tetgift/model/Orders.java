@@ -0,0 +1,26 @@
+package com.tetgift.model;
+
+import com.tetgift.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@Entity
+@Table(name = "orders")
+@NoArgsConstructor
+@AllArgsConstructor
+public class Orders extends BaseEntity<Long> {
+
+    @Column(name = "total_amount", nullable = false)
+    private Long totalAmount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private OrderStatus status;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private Users user;
+}
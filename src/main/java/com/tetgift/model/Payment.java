@@ -0,0 +1,45 @@
+package com.tetgift.model;
+
+import com.tetgift.enums.PaymentMethod;
+import com.tetgift.enums.PaymentStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@Entity
+@Table(name = "payment", indexes = @Index(name = "idx_payment_status_id", columnList = "status, id"))
+@NoArgsConstructor
+@AllArgsConstructor
+public class Payment extends BaseEntity<Long> {
+
+    /**
+     * Amount in VND; VNPay receives it multiplied by 100.
+     */
+    @Column(name = "amount", nullable = false)
+    private Long amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "method", nullable = false)
+    private PaymentMethod method;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private PaymentStatus status;
+
+    @Column(name = "transaction_no")
+    private String transactionNo;
+
+    @Column(name = "bank_code")
+    private String bankCode;
+
+    @Column(name = "paid_at")
+    private LocalDateTime paidAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
+    private Orders order;
+}
@@ -12,6 +12,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Table(indexes = @Index(name = "idx_users_created_at_id", columnList = "createdAt, id"))
 @Getter
 @Setter
 @NoArgsConstructor
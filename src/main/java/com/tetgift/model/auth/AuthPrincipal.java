@@ -0,0 +1,31 @@
+package com.tetgift.model.auth;
+
+import lombok.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+/**
+ * Lightweight principal rebuilt from a verified access token, used instead of the
+ * {@link com.tetgift.model.Users} entity so that authenticating a request needs no database query.
+ */
+@Value
+public class AuthPrincipal implements UserDetails {
+    Long userId;
+    String username;
+    List<GrantedAuthority> authorities;
+
+    public static AuthPrincipal from(VerifiedToken verifiedToken) {
+        List<GrantedAuthority> authorities = verifiedToken.getRoles().stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        return new AuthPrincipal(verifiedToken.getUserId(), verifiedToken.getSubject(), authorities);
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+}
@@ -0,0 +1,29 @@
+package com.tetgift.model.auth;
+
+import com.tetgift.enums.TokenType;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable view of a JWT whose signature and expiry have already been verified.
+ * Built once per token so callers never have to re-parse it to read another claim.
+ */
+@Value
+@Builder
+public class VerifiedToken {
+    TokenType tokenType;
+    String tokenId;
+    String subject;
+    Long userId;
+    List<String> roles;
+    Long securityVersion;
+    Instant issuedAt;
+    Instant expiration;
+
+    public boolean isExpired() {
+        return expiration != null && expiration.isBefore(Instant.now());
+    }
+}
@@ -0,0 +1,20 @@
+package com.tetgift.model.auth;
+
+import lombok.Value;
+
+import java.security.Principal;
+
+/**
+ * STOMP session user resolved from the access token on CONNECT. Named by user id, so
+ * {@code /user/{userId}/queue/...} can be addressed straight from an order's foreign key.
+ */
+@Value
+public class WebSocketPrincipal implements Principal {
+    Long userId;
+    String username;
+
+    @Override
+    public String getName() {
+        return String.valueOf(userId);
+    }
+}
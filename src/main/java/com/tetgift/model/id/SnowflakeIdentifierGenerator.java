@@ -0,0 +1,37 @@
+package com.tetgift.model.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+import java.util.function.LongSupplier;
+
+/**
+ * Hibernate side of {@link SnowflakeId}. Hibernate instantiates generators itself, so the id source
+ * is installed statically by whichever component owns the node id
+ * ({@link com.tetgift.component.SnowflakeNodeLease} in the application).
+ */
+public class SnowflakeIdentifierGenerator implements BeforeExecutionGenerator {
+    private static volatile LongSupplier ids;
+
+    public static void use(LongSupplier source) {
+        ids = source;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        LongSupplier source = ids;
+        if (source == null) {
+            throw new IllegalStateException("No Snowflake id source installed");
+        }
+        return source.getAsLong();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
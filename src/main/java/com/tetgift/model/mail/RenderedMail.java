@@ -0,0 +1,9 @@
+package com.tetgift.model.mail;
+
+import lombok.Value;
+
+@Value
+public class RenderedMail {
+    String subject;
+    String html;
+}
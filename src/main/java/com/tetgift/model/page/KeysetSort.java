@@ -0,0 +1,40 @@
+package com.tetgift.model.page;
+
+import com.tetgift.model.BaseEntity;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Seek ordering on one entity attribute with the id as tie-breaker. Needs an index on
+ * {@code (attribute, id)} for deep pages to cost the same as the first.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class KeysetSort<T, K extends Comparable<? super K>> {
+    private final String attribute;
+    private final Sort.Direction direction;
+    private final Function<T, K> extractor;
+    private final Function<String, K> parser;
+
+    public static <T extends BaseEntity<Long>> KeysetSort<T, LocalDateTime> newestFirst() {
+        return new KeysetSort<>("createdAt", Sort.Direction.DESC, BaseEntity::getCreatedAt, LocalDateTime::parse);
+    }
+
+    public static <T extends BaseEntity<Long>> KeysetSort<T, Long> byId(Sort.Direction direction) {
+        return new KeysetSort<>("id", direction, BaseEntity::getId, Long::valueOf);
+    }
+
+    public String name() {
+        return attribute + ":" + direction.name().toLowerCase();
+    }
+
+    public Sort toSort() {
+        Sort sort = Sort.by(direction, attribute);
+        return "id".equals(attribute) ? sort : sort.and(Sort.by(direction, "id"));
+    }
+}
@@ -0,0 +1,14 @@
+package com.tetgift.model.page;
+
+import lombok.Value;
+
+/**
+ * Position after the last row of a page: its sort key (as text) and id, bound to the sort it was
+ * produced for so a cursor cannot be replayed against a different ordering.
+ */
+@Value
+public class PageCursor {
+    String sort;
+    String sortValue;
+    long id;
+}
@@ -0,0 +1,18 @@
+package com.tetgift.model.payment;
+
+import com.tetgift.enums.PaymentStatus;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Target status of a {@code PENDING} payment as settled by reconciliation or expiry.
+ */
+@Value
+public class PaymentStatusUpdate {
+    Long paymentId;
+    PaymentStatus status;
+    String transactionNo;
+    String bankCode;
+    LocalDateTime paidAt;
+}
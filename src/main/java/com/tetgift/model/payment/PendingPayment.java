@@ -0,0 +1,12 @@
+package com.tetgift.model.payment;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class PendingPayment {
+    Long id;
+    Long amount;
+    LocalDateTime createdAt;
+}
@@ -0,0 +1,11 @@
+package com.tetgift.model.payment;
+
+import lombok.Value;
+
+@Value
+public class ReconciliationReport {
+    int scanned;
+    int updated;
+    int errors;
+    long elapsedMillis;
+}
@@ -0,0 +1,18 @@
+package com.tetgift.model.ratelimit;
+
+import lombok.Value;
+
+@Value
+public class RateLimitDecision {
+    boolean allowed;
+    long remaining;
+    long retryAfterSeconds;
+
+    public static RateLimitDecision allowed(long remaining) {
+        return new RateLimitDecision(true, remaining, 0);
+    }
+
+    public static RateLimitDecision rejected(long retryAfterSeconds) {
+        return new RateLimitDecision(false, 0, retryAfterSeconds);
+    }
+}
@@ -0,0 +1,16 @@
+package com.tetgift.model.userimport;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Outcome of writing one chunk: rows skipped because the username or email already exists
+ * (case-insensitively, in the table or earlier in the same chunk) are listed by line.
+ */
+@Value
+public class ImportChunkResult {
+    int users;
+    int addresses;
+    List<Long> duplicateLines;
+}
@@ -0,0 +1,14 @@
+package com.tetgift.model.userimport;
+
+import lombok.Value;
+
+@Value
+public class ImportedAddress {
+    long id;
+    String receiverName;
+    String phoneNumber;
+    String streetAddress;
+    String ward;
+    String district;
+    String province;
+}
@@ -0,0 +1,20 @@
+package com.tetgift.model.userimport;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * A validated import row with its id assigned and password hashed, ready to be copied.
+ */
+@Value
+public class ImportedUser {
+    long id;
+    long line;
+    String username;
+    String email;
+    String passwordHash;
+    String fullName;
+    String phone;
+    List<ImportedAddress> addresses;
+}
@@ -0,0 +1,107 @@
+package com.tetgift.model.userimport;
+
+import com.tetgift.dto.response.UserImportReport;
+import com.tetgift.enums.ImportFormat;
+import com.tetgift.enums.ImportStatus;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live counters of one import, written by the importing request thread and read by progress
+ * requests. Row errors beyond {@code maxReportedErrors} are only counted.
+ */
+public class UserImportJob {
+    @Getter
+    private final String id;
+    private final ImportFormat format;
+    private final int maxReportedErrors;
+    private final Instant startedAt = Instant.now();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong addresses = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong invalid = new AtomicLong();
+    private final AtomicLong unreportedErrors = new AtomicLong();
+    private final List<UserImportReport.RowError> errors = new ArrayList<>();
+    private volatile ImportStatus status = ImportStatus.RUNNING;
+    private volatile String message;
+    private volatile Instant finishedAt;
+
+    public UserImportJob(String id, ImportFormat format, int maxReportedErrors) {
+        this.id = id;
+        this.format = format;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    public void invalid(long line, String reason) {
+        invalid.incrementAndGet();
+        error(line, reason);
+    }
+
+    public void written(ImportChunkResult result) {
+        imported.addAndGet(result.getUsers());
+        addresses.addAndGet(result.getAddresses());
+        for (long line : result.getDuplicateLines()) {
+            duplicates.incrementAndGet();
+            error(line, "Username or email already exists");
+        }
+    }
+
+    public void complete() {
+        finish(ImportStatus.COMPLETED, null);
+    }
+
+    public void fail(String reason) {
+        finish(ImportStatus.FAILED, reason);
+    }
+
+    public boolean isRunning() {
+        return status == ImportStatus.RUNNING;
+    }
+
+    public UserImportReport toReport() {
+        List<UserImportReport.RowError> reported;
+        synchronized (errors) {
+            reported = List.copyOf(errors);
+        }
+        return UserImportReport.builder()
+                .importId(id)
+                .format(format)
+                .status(status)
+                .rowsRead(rowsRead.get())
+                .imported(imported.get())
+                .addresses(addresses.get())
+                .duplicates(duplicates.get())
+                .invalid(invalid.get())
+                .errors(reported)
+                .unreportedErrors(unreportedErrors.get())
+                .message(message)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+
+    private void error(long line, String reason) {
+        synchronized (errors) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new UserImportReport.RowError(line, reason));
+                return;
+            }
+        }
+        unreportedErrors.incrementAndGet();
+    }
+
+    private void finish(ImportStatus finalStatus, String reason) {
+        message = reason;
+        finishedAt = Instant.now();
+        status = finalStatus;
+    }
+}
@@ -0,0 +1,70 @@
+package com.tetgift.repository.jdbc;
+
+import com.tetgift.enums.PaymentStatus;
+import com.tetgift.model.payment.PaymentStatusUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Applies settled payment statuses as JDBC batches: one round trip per statement per batch
+ * instead of a load-and-save per payment. Updates are conditional on {@code PENDING}, so a payment
+ * settled meanwhile by its IPN callback is left untouched. Paid payments mark their order
+ * {@code PAID}, expired ones cancel it.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PaymentStatusBatchRepository {
+    private static final String UPDATE_PAYMENT = "update payment set status = ?, transaction_no = ?, bank_code = ?, " +
+            "paid_at = ?, updated_at = now() where id = ? and status = 'PENDING'";
+    private static final String MARK_ORDER_PAID = "update orders o set status = 'PAID', updated_at = now() from payment p " +
+            "where p.id = ? and p.status = 'SUCCESS' and o.id = p.order_id and o.status = 'WAITING_PAYMENT'";
+    private static final String CANCEL_ORDER = "update orders o set status = 'CANCELLED', updated_at = now() from payment p " +
+            "where p.id = ? and p.status = 'EXPIRED' and o.id = p.order_id and o.status = 'WAITING_PAYMENT'";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Returns the number of payments whose status changed.
+     */
+    @Transactional
+    public int applyAll(List<PaymentStatusUpdate> updates) {
+        if (updates.isEmpty()) {
+            return 0;
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_PAYMENT, updates, updates.size(), (ps, update) -> {
+            ps.setString(1, update.getStatus().name());
+            ps.setString(2, update.getTransactionNo());
+            ps.setString(3, update.getBankCode());
+            if (update.getPaidAt() != null) {
+                ps.setTimestamp(4, Timestamp.valueOf(update.getPaidAt()));
+            } else {
+                ps.setNull(4, Types.TIMESTAMP);
+            }
+            ps.setLong(5, update.getPaymentId());
+        });
+        updateOrders(MARK_ORDER_PAID, updates, PaymentStatus.SUCCESS);
+        updateOrders(CANCEL_ORDER, updates, PaymentStatus.EXPIRED);
+        int changed = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                changed += Math.max(count, 0);
+            }
+        }
+        return changed;
+    }
+
+    private void updateOrders(String sql, List<PaymentStatusUpdate> updates, PaymentStatus paymentStatus) {
+        List<PaymentStatusUpdate> matching = updates.stream()
+                .filter(update -> update.getStatus() == paymentStatus)
+                .toList();
+        if (!matching.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, matching, matching.size(), (ps, update) -> ps.setLong(1, update.getPaymentId()));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.tetgift.repository.jdbc;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.OptionalLong;
+
+/**
+ * Row-count estimates from the planner statistics in {@code pg_class}: constant cost regardless
+ * of table size, accurate to the last ANALYZE / autovacuum.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TableStatisticsRepository {
+    private static final String ESTIMATE = "select reltuples::bigint from pg_class where oid = to_regclass(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Empty when the table is unknown or has never been analyzed.
+     */
+    public OptionalLong estimateRowCount(String table) {
+        try {
+            Long estimate = jdbcTemplate.query(ESTIMATE, rs -> rs.next() ? rs.getLong(1) : null, table);
+            return estimate != null && estimate >= 0 ? OptionalLong.of(estimate) : OptionalLong.empty();
+        } catch (DataAccessException e) {
+            return OptionalLong.empty();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.tetgift.repository.jdbc;
+
+import com.tetgift.model.userimport.ImportChunkResult;
+import com.tetgift.model.userimport.ImportedAddress;
+import com.tetgift.model.userimport.ImportedUser;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes import chunks with {@code COPY} into transaction-scoped staging tables, then moves them
+ * into {@code users} / {@code address} with one statement each. {@code on conflict do nothing} lets
+ * the case-insensitive unique indexes drop duplicate usernames and emails without failing the chunk;
+ * their addresses are dropped with them.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserImportRepository {
+    private static final String STAGE_USERS = "create temp table import_users (id bigint, line_no bigint, " +
+            "username text, email text, password text, full_name text, phone text) on commit drop";
+    private static final String STAGE_ADDRESSES = "create temp table import_addresses (id bigint, user_id bigint, " +
+            "receiver_name text, phone_number text, street_address text, ward text, district text, province text) " +
+            "on commit drop";
+    private static final String COPY_USERS = "copy import_users from stdin (format csv)";
+    private static final String COPY_ADDRESSES = "copy import_addresses from stdin (format csv)";
+    private static final String INSERT_USERS = "with inserted as (" +
+            "insert into users (id, username, email, password, full_name, phone, is_verify, is_active, is_locked, " +
+            "provider, created_at, updated_at) " +
+            "select id, username, email, password, full_name, phone, false, true, false, 'LOCAL', now(), now() " +
+            "from import_users on conflict do nothing returning id), " +
+            "linked as (insert into user_roles (user_id, role_id) " +
+            "select i.id, r.id from inserted i join role r on r.name = ?) " +
+            "select s.line_no from import_users s where not exists (select 1 from inserted i where i.id = s.id) " +
+            "order by s.line_no";
+    private static final String INSERT_ADDRESSES = "insert into address (id, user_id, receiver_name, phone_number, " +
+            "street_address, ward, district, province, created_at, updated_at) " +
+            "select a.id, a.user_id, a.receiver_name, a.phone_number, a.street_address, a.ward, a.district, " +
+            "a.province, now(), now() from import_addresses a join users u on u.id = a.user_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean roleExists(String role) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select exists (select 1 from role where name = ?)", Boolean.class, role));
+    }
+
+    /**
+     * Inserts one chunk in its own transaction and links every inserted user to {@code role}, which
+     * the caller has checked with {@link #roleExists}.
+     */
+    @Transactional
+    public ImportChunkResult write(List<ImportedUser> users, String role) {
+        return jdbcTemplate.execute((ConnectionCallback<ImportChunkResult>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(STAGE_USERS);
+                statement.execute(STAGE_ADDRESSES);
+            }
+            copyUsers(connection, users);
+            copyAddresses(connection, users);
+            List<Long> duplicateLines = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_USERS)) {
+                statement.setString(1, role);
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        duplicateLines.add(rows.getLong(1));
+                    }
+                }
+            }
+            int addresses;
+            try (Statement statement = connection.createStatement()) {
+                addresses = statement.executeUpdate(INSERT_ADDRESSES);
+            }
+            return new ImportChunkResult(users.size() - duplicateLines.size(), addresses, duplicateLines);
+        });
+    }
+
+    private static void copyUsers(Connection connection, List<ImportedUser> users) throws SQLException {
+        CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_USERS);
+        StringBuilder line = new StringBuilder(256);
+        try {
+            for (ImportedUser user : users) {
+                line.setLength(0);
+                line.append(user.getId()).append(',').append(user.getLine());
+                appendField(line, user.getUsername());
+                appendField(line, user.getEmail());
+                appendField(line, user.getPasswordHash());
+                appendField(line, user.getFullName());
+                appendField(line, user.getPhone());
+                writeLine(copy, line);
+            }
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    private static void copyAddresses(Connection connection, List<ImportedUser> users) throws SQLException {
+        CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_ADDRESSES);
+        StringBuilder line = new StringBuilder(256);
+        try {
+            for (ImportedUser user : users) {
+                for (ImportedAddress address : user.getAddresses()) {
+                    line.setLength(0);
+                    line.append(address.getId()).append(',').append(user.getId());
+                    appendField(line, address.getReceiverName());
+                    appendField(line, address.getPhoneNumber());
+                    appendField(line, address.getStreetAddress());
+                    appendField(line, address.getWard());
+                    appendField(line, address.getDistrict());
+                    appendField(line, address.getProvince());
+                    writeLine(copy, line);
+                }
+            }
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    /**
+     * CSV field for COPY: unquoted empty is NULL, anything else is quoted with doubled quotes.
+     */
+    private static void appendField(StringBuilder line, String value) {
+        line.append(',');
+        if (value != null) {
+            line.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+    }
+
+    private static void writeLine(CopyIn copy, StringBuilder line) throws SQLException {
+        byte[] bytes = line.append('\n').toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+    }
+}
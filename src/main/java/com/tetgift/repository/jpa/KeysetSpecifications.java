@@ -0,0 +1,29 @@
+package com.tetgift.repository.jpa;
+
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Seek predicates for keyset pagination: rows strictly after {@code (value, id)} in the given
+ * direction, written as {@code key < v or (key = v and id < lastId)} so PostgreSQL can walk an
+ * index on {@code (key, id)} from the cursor position.
+ */
+public final class KeysetSpecifications {
+    private KeysetSpecifications() {
+    }
+
+    public static <T, K extends Comparable<? super K>> Specification<T> after(String attribute, K value, Long id,
+                                                                              Sort.Direction direction) {
+        return (root, query, cb) -> {
+            Path<K> key = root.get(attribute);
+            Path<Long> rowId = root.get("id");
+            if ("id".equals(attribute)) {
+                return direction.isAscending() ? cb.greaterThan(rowId, id) : cb.lessThan(rowId, id);
+            }
+            return direction.isAscending()
+                    ? cb.or(cb.greaterThan(key, value), cb.and(cb.equal(key, value), cb.greaterThan(rowId, id)))
+                    : cb.or(cb.lessThan(key, value), cb.and(cb.equal(key, value), cb.lessThan(rowId, id)));
+        };
+    }
+}
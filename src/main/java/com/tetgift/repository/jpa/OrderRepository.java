@@ -0,0 +1,17 @@
+package com.tetgift.repository.jpa;
+
+import com.tetgift.enums.OrderStatus;
+import com.tetgift.model.Orders;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OrderRepository extends JpaRepository<Orders, Long> {
+
+    @Modifying
+    @Query("update Orders o set o.status = :to where o.id = :id and o.status = :from")
+    int transition(@Param("id") Long id, @Param("from") OrderStatus from, @Param("to") OrderStatus to);
+}
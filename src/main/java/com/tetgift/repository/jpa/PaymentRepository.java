@@ -0,0 +1,43 @@
+package com.tetgift.repository.jpa;
+
+import com.tetgift.enums.PaymentStatus;
+import com.tetgift.model.Payment;
+import com.tetgift.model.payment.PendingPayment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PaymentRepository extends JpaRepository<Payment, Long> {
+
+    @Query("select p from Payment p join fetch p.order where p.id = :id")
+    Optional<Payment> findWithOrderById(@Param("id") Long id);
+
+    /**
+     * Keyset page of payments in {@code status} created before {@code createdBefore}, ordered by id
+     * after {@code afterId}; served by the {@code (status, id)} index without an offset scan.
+     */
+    @Query("select new com.tetgift.model.payment.PendingPayment(p.id, p.amount, p.createdAt) from Payment p " +
+            "where p.status = :status and p.createdAt < :createdBefore and p.id > :afterId order by p.id")
+    List<PendingPayment> findPageAfter(@Param("status") PaymentStatus status,
+                                       @Param("createdBefore") LocalDateTime createdBefore,
+                                       @Param("afterId") Long afterId,
+                                       Pageable page);
+
+    @Modifying
+    @Query("update Payment p set p.status = :to, p.transactionNo = :transactionNo, p.bankCode = :bankCode, p.paidAt = :paidAt " +
+            "where p.id = :id and p.status = :from")
+    int transition(@Param("id") Long id,
+                   @Param("from") PaymentStatus from,
+                   @Param("to") PaymentStatus to,
+                   @Param("transactionNo") String transactionNo,
+                   @Param("bankCode") String bankCode,
+                   @Param("paidAt") LocalDateTime paidAt);
+}
@@ -3,12 +3,57 @@ package com.tetgift.repository.jpa;
 import com.tetgift.model.Users;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
+/**
+ * Username and email lookups compare {@code lower(...)} so they are served by the unique
+ * case-insensitive indexes from {@code V1__user_lookup_and_search_indexes.sql}.
+ */
 @Repository
 public interface UserRepository extends JpaRepository<Users, Long>, JpaSpecificationExecutor<Users> {
-    Optional<Users> findByUsername(String username);
-    Optional<Users> findByEmail(String email);
+    @Query("select u from Users u where lower(u.username) = lower(:username)")
+    Optional<Users> findByUsername(@Param("username") String username);
+
+    @Query("select u from Users u where lower(u.email) = lower(:email)")
+    Optional<Users> findByEmail(@Param("email") String email);
+
+    @Query("select count(u) > 0 from Users u where lower(u.email) = lower(:email) and u.isVerify = false")
+    boolean existsByEmailAndIsVerifyFalse(@Param("email") String email);
+
+    @Query("select distinct u from Users u left join fetch u.roles where lower(u.username) = lower(:username)")
+    Optional<Users> findWithRolesByUsername(@Param("username") String username);
+
+    @Query("select distinct u from Users u left join fetch u.roles where lower(u.email) = lower(:email)")
+    Optional<Users> findWithRolesByEmail(@Param("email") String email);
+
+    /**
+     * Resolves a login name against exactly one unique index: emails always contain {@code @} and
+     * usernames never do, so a username equal to someone else's email cannot yield two rows.
+     */
+    default Optional<Users> findByUsernameOrEmail(String usernameOrEmail) {
+        return usernameOrEmail.indexOf('@') >= 0
+                ? findWithRolesByEmail(usernameOrEmail)
+                : findWithRolesByUsername(usernameOrEmail);
+    }
+
+    /**
+     * Replaces the hash only while it still equals {@code oldHash}, so a background rehash cannot
+     * overwrite a password changed or reset after the login that triggered it.
+     */
+    @Modifying
+    @Transactional
+    @Query("update Users u set u.password = :newHash where u.id = :id and u.password = :oldHash")
+    int updatePasswordIfUnchanged(@Param("id") Long id, @Param("oldHash") String oldHash,
+                                  @Param("newHash") String newHash);
+
+    @Modifying
+    @Transactional
+    @Query("update Users u set u.isVerify = true where lower(u.email) = lower(:email) and u.isVerify = false")
+    int markVerified(@Param("email") String email);
 }
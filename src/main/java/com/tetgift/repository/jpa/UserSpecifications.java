@@ -0,0 +1,114 @@
+package com.tetgift.repository.jpa;
+
+import com.tetgift.dto.request.UserSearchRequest;
+import com.tetgift.enums.LoginType;
+import com.tetgift.model.Users;
+import jakarta.persistence.criteria.Expression;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Composable filters for the admin user search. Text filters are written as
+ * {@code lower(column) like '%term%'} (phone as-is) to match the trigram indexes; terms shorter
+ * than three characters still work but cannot use them.
+ */
+public final class UserSpecifications {
+    private static final char ESCAPE = '\\';
+
+    private UserSpecifications() {
+    }
+
+    /**
+     * All filters set on {@code request}, or {@code null} when none is.
+     */
+    public static Specification<Users> matching(UserSearchRequest request) {
+        List<Specification<Users>> filters = new ArrayList<>();
+        if (hasText(request.getName())) {
+            filters.add(nameContains(request.getName()));
+        }
+        if (hasText(request.getEmail())) {
+            filters.add(emailContains(request.getEmail()));
+        }
+        if (hasText(request.getPhone())) {
+            filters.add(phoneContains(request.getPhone()));
+        }
+        if (request.getProvider() != null) {
+            filters.add(hasProvider(request.getProvider()));
+        }
+        if (request.getVerified() != null) {
+            filters.add(isVerified(request.getVerified()));
+        }
+        if (request.getActive() != null) {
+            filters.add(isActive(request.getActive()));
+        }
+        if (request.getLocked() != null) {
+            filters.add(isLocked(request.getLocked()));
+        }
+        if (request.getCreatedFrom() != null || request.getCreatedTo() != null) {
+            filters.add(createdBetween(request.getCreatedFrom(), request.getCreatedTo()));
+        }
+        return filters.isEmpty() ? null : Specification.allOf(filters);
+    }
+
+    /**
+     * Full name or username contains {@code term}.
+     */
+    public static Specification<Users> nameContains(String term) {
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("fullName")), containsPattern(term), ESCAPE),
+                cb.like(cb.lower(root.get("username")), containsPattern(term), ESCAPE));
+    }
+
+    public static Specification<Users> emailContains(String term) {
+        return (root, query, cb) -> cb.like(cb.lower(root.get("email")), containsPattern(term), ESCAPE);
+    }
+
+    public static Specification<Users> phoneContains(String term) {
+        return (root, query, cb) -> cb.like(root.get("phone"), containsPattern(term), ESCAPE);
+    }
+
+    public static Specification<Users> hasProvider(LoginType provider) {
+        return (root, query, cb) -> cb.equal(root.get("provider"), provider);
+    }
+
+    public static Specification<Users> isVerified(boolean verified) {
+        return (root, query, cb) -> cb.equal(root.get("isVerify"), verified);
+    }
+
+    public static Specification<Users> isActive(boolean active) {
+        return (root, query, cb) -> cb.equal(root.get("isActive"), active);
+    }
+
+    public static Specification<Users> isLocked(boolean locked) {
+        return (root, query, cb) -> cb.equal(root.get("isLocked"), locked);
+    }
+
+    /**
+     * Created at or after {@code from} and before {@code to}; either bound may be {@code null}.
+     */
+    public static Specification<Users> createdBetween(LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> {
+            Expression<LocalDateTime> createdAt = root.get("createdAt");
+            if (from == null) {
+                return cb.lessThan(createdAt, to);
+            }
+            return to == null ? cb.greaterThanOrEqualTo(createdAt, from) : cb.and(
+                    cb.greaterThanOrEqualTo(createdAt, from), cb.lessThan(createdAt, to));
+        };
+    }
+
+    private static String containsPattern(String term) {
+        String escaped = term.trim().toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,8 @@
+package com.tetgift.service;
+
+import com.tetgift.model.auth.VerifiedToken;
+
+public interface AccessTokenDenylistService {
+    void revoke(VerifiedToken accessToken);
+    boolean isRevoked(VerifiedToken accessToken);
+}
@@ -5,13 +5,18 @@ import com.tetgift.dto.request.ChangePasswordRequest;
 import com.tetgift.dto.request.LoginRequest;
 import com.tetgift.dto.request.ResetPasswordRequest;
 import com.tetgift.dto.response.LoginResponse;
+import com.tetgift.dto.response.SessionResponse;
 import jakarta.servlet.http.HttpServletRequest;
 
+import java.util.List;
+
 public interface AuthenticationService {
     LoginResponse login(LoginRequest request);
     LoginResponse refreshToken(HttpServletRequest request);
     String logout(HttpServletRequest request);
-    String forgotPassword(String email);
+    String logoutAll(HttpServletRequest request);
+    void forgotPassword(String email);
     String resetPassword(ResetPasswordRequest request);
     String changePassword(ChangePasswordRequest request);
+    List<SessionResponse> getSessions();
 }
@@ -0,0 +1,12 @@
+package com.tetgift.service;
+
+import java.util.List;
+
+/**
+ * Processes due jobs of one delayed-job queue. Jobs are delivered at least once: a batch that
+ * throws is delivered again after the claim's visibility timeout, so handlers must be idempotent.
+ */
+public interface DelayedJobHandler {
+    String queue();
+    void handle(List<String> jobIds);
+}
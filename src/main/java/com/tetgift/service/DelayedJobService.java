@@ -0,0 +1,16 @@
+package com.tetgift.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface DelayedJobService {
+    void schedule(String queue, String jobId, long dueAtMillis);
+    void scheduleAll(String queue, Map<String, Long> dueAtByJobId);
+    void cancel(String queue, String jobId);
+    Map<String, Long> peek(String queue, long dueBeforeMillis, int limit);
+    List<String> claim(String queue, Collection<String> jobIds, long nowMillis, long visibleUntilMillis);
+    void complete(String queue, Collection<String> jobIds);
+    long recover(String queue, long nowMillis, int limit);
+    long pending(String queue);
+}
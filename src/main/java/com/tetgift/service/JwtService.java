@@ -1,6 +1,7 @@
 package com.tetgift.service;
 
 import com.tetgift.enums.TokenType;
+import com.tetgift.model.auth.VerifiedToken;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Date;
@@ -15,4 +16,12 @@ public interface JwtService {
     Date extractExpiration(String token, TokenType tokenType);
     List<String> extractRole(String token, TokenType tokenType);
     Long extractUserId(String token, TokenType tokenType);
+
+    /**
+     * Verifies the signature and expiry of the token exactly once and returns its claims.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, expired or badly signed
+     */
+    VerifiedToken verifyToken(String token, TokenType tokenType);
+    boolean isTokenValid(VerifiedToken verifiedToken, UserDetails userDetails);
 }
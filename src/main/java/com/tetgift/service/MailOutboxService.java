@@ -0,0 +1,17 @@
+package com.tetgift.service;
+
+import com.tetgift.dto.message.MailEnvelope;
+
+import java.time.Duration;
+import java.util.Map;
+
+public interface MailOutboxService {
+    void enqueue(MailEnvelope envelope);
+    void ensureConsumerGroup();
+    Map<String, MailEnvelope> poll(String consumer, int count, Duration block);
+    void acknowledge(String recordId);
+    void scheduleRetry(String recordId, MailEnvelope envelope, long dueAtMillis);
+    void deadLetter(String recordId, MailEnvelope envelope, String error);
+    long promoteDueRetries(int limit);
+    long requeueStale(Duration minIdle, int limit);
+}
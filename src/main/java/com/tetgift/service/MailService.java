@@ -5,4 +5,5 @@ import org.springframework.web.multipart.MultipartFile;
 public interface MailService {
     String sendMail(String toWho, String subject, String body, MultipartFile[] files);
     String sendOtpMail(String email, String otp);
+    String sendPasswordResetMail(String email, String resetToken);
 }
@@ -0,0 +1,10 @@
+package com.tetgift.service;
+
+import com.tetgift.model.mail.RenderedMail;
+
+import java.util.Locale;
+import java.util.Map;
+
+public interface MailTemplateService {
+    RenderedMail render(String template, Locale locale, Map<String, Object> variables);
+}
@@ -0,0 +1,7 @@
+package com.tetgift.service;
+
+import com.tetgift.enums.OrderStatus;
+
+public interface OrderStatusNotifier {
+    void notify(Long userId, Long orderId, OrderStatus status, String message);
+}
@@ -0,0 +1,11 @@
+package com.tetgift.service;
+
+import java.util.function.Consumer;
+
+public interface PasswordHashingService {
+    boolean matches(String rawPassword, String encodedPassword);
+    void simulateMatch(String rawPassword);
+    String encode(String rawPassword);
+    boolean needsRehash(String encodedPassword);
+    void rehashAsync(String rawPassword, Consumer<String> onRehashed);
+}
@@ -0,0 +1,16 @@
+package com.tetgift.service;
+
+import com.tetgift.dto.message.PaymentCallback;
+import com.tetgift.dto.response.VNPayIpnResponse;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+public interface PaymentCallbackService {
+    VNPayIpnResponse ingest(Map<String, String> params);
+    void ensureConsumerGroup();
+    Map<String, PaymentCallback> poll(String consumer, int count, Duration block);
+    void acknowledge(Collection<String> recordIds);
+    long requeueStale(Duration minIdle, int limit);
+}
@@ -0,0 +1,12 @@
+package com.tetgift.service;
+
+import com.tetgift.model.payment.PendingPayment;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface PaymentExpiryService {
+    void scheduleExpiry(Long paymentId, LocalDateTime createdAt);
+    void scheduleExpiry(Collection<PendingPayment> payments);
+    void cancelExpiry(Long paymentId);
+}
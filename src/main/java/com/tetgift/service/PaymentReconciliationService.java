@@ -0,0 +1,7 @@
+package com.tetgift.service;
+
+import com.tetgift.model.payment.ReconciliationReport;
+
+public interface PaymentReconciliationService {
+    ReconciliationReport reconcile() throws InterruptedException;
+}
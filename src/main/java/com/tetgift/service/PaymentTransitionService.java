@@ -0,0 +1,10 @@
+package com.tetgift.service;
+
+import com.tetgift.dto.message.PaymentCallback;
+import com.tetgift.enums.PaymentTransitionResult;
+
+import java.util.List;
+
+public interface PaymentTransitionService {
+    PaymentTransitionResult apply(String txnRef, List<PaymentCallback> callbacks);
+}
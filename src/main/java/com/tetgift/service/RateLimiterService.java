@@ -0,0 +1,7 @@
+package com.tetgift.service;
+
+import com.tetgift.model.ratelimit.RateLimitDecision;
+
+public interface RateLimiterService {
+    RateLimitDecision tryAcquire(String policy, String clientIp, String account);
+}
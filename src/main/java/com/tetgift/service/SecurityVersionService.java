@@ -0,0 +1,7 @@
+package com.tetgift.service;
+
+public interface SecurityVersionService {
+    long getVersion(Long userId);
+    long bumpVersion(Long userId);
+    boolean isCurrent(Long userId, Long tokenVersion);
+}
@@ -0,0 +1,16 @@
+package com.tetgift.service;
+
+import com.tetgift.dto.response.SessionResponse;
+import com.tetgift.enums.SessionRotationResult;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface SessionStoreService {
+    void createSession(Long userId, String refreshToken, String device, Instant issuedAt, Instant expiresAt);
+    SessionRotationResult rotateSession(Long userId, String oldRefreshToken, String newRefreshToken, Instant issuedAt, Instant expiresAt);
+    boolean isSessionActive(Long userId, String refreshToken);
+    void revokeSession(Long userId, String refreshToken);
+    long revokeAllSessions(Long userId);
+    List<SessionResponse> listSessions(Long userId);
+}
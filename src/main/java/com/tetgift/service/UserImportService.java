@@ -0,0 +1,23 @@
+package com.tetgift.service;
+
+import com.tetgift.dto.response.UserImportReport;
+import com.tetgift.enums.ImportFormat;
+
+import java.io.InputStream;
+import java.util.List;
+
+public interface UserImportService {
+
+    /**
+     * Stores {@code body} and imports its users (and their addresses) in the background, returning
+     * the report of the started import; {@link #getImport} follows it to completion.
+     */
+    UserImportReport importUsers(InputStream body, ImportFormat format, String role);
+
+    UserImportReport getImport(String importId);
+
+    /**
+     * Running and recently finished imports, newest first.
+     */
+    List<UserImportReport> listImports();
+}
@@ -1,9 +1,21 @@
 package com.tetgift.service;
 
+import com.tetgift.dto.request.UserSearchRequest;
+import com.tetgift.dto.response.PageResponse;
+import com.tetgift.dto.response.UserSummaryResponse;
 import com.tetgift.model.Users;
 
+import java.util.List;
+
 public interface UserService {
 
     Users findByUsername(String username);
 
+    /**
+     * Users matching {@code filter}, newest first, one cursor page at a time. The approximate total
+     * comes from table statistics, so it is only returned when no filter is set.
+     */
+    PageResponse<List<UserSummaryResponse>> searchUsers(UserSearchRequest filter, String cursor, int size,
+                                                        boolean withApproximateTotal);
+
 }
@@ -0,0 +1,141 @@
+package com.tetgift.service.impl;
+
+import com.tetgift.model.auth.VerifiedToken;
+import com.tetgift.service.AccessTokenDenylistService;
+import com.tetgift.util.TimePartitionedBloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Denylist of revoked access-token ids. Redis is the source of truth (one key per jti with
+ * TTL = remaining token lifetime); every node mirrors it in a time-partitioned Bloom filter kept
+ * in sync through pub/sub, so only Bloom-positive lookups cost a Redis round trip.
+ */
+@Service
+@Slf4j
+public class AccessTokenDenylistServiceImpl implements AccessTokenDenylistService, MessageListener {
+    private static final String KEY_PREFIX = "token_denylist:";
+    private static final String CHANNEL = "token_denylist_added";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final Counter localNegatives;
+    private final Counter bloomPositives;
+    private final Counter confirmedRevocations;
+    private final TimePartitionedBloomFilter bloomFilter;
+
+    public AccessTokenDenylistServiceImpl(StringRedisTemplate stringRedisTemplate,
+                                          RedisMessageListenerContainer listenerContainer,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${jwt.denylist.partition-minutes:5}") long partitionMinutes,
+                                          @Value("${jwt.denylist.expected-revocations-per-partition:10000}") int expectedRevocationsPerPartition,
+                                          @Value("${jwt.denylist.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.bloomFilter = new TimePartitionedBloomFilter(Duration.ofMinutes(partitionMinutes).toMillis(),
+                expectedRevocationsPerPartition, falsePositiveRate);
+        this.localNegatives = Counter.builder("auth.denylist.lookups").tag("result", "bloom_negative").register(meterRegistry);
+        this.bloomPositives = Counter.builder("auth.denylist.lookups").tag("result", "bloom_positive").register(meterRegistry);
+        this.confirmedRevocations = Counter.builder("auth.denylist.lookups").tag("result", "revoked").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @Override
+    public void revoke(VerifiedToken accessToken) {
+        if (accessToken.getTokenId() == null || accessToken.getExpiration() == null) {
+            return;
+        }
+        long expiresAt = accessToken.getExpiration().toEpochMilli();
+        long ttlMillis = expiresAt - System.currentTimeMillis();
+        if (ttlMillis <= 0) {
+            return;
+        }
+        stringRedisTemplate.opsForValue().set(KEY_PREFIX + accessToken.getTokenId(), String.valueOf(expiresAt), Duration.ofMillis(ttlMillis));
+        bloomFilter.add(accessToken.getTokenId(), expiresAt);
+        stringRedisTemplate.convertAndSend(CHANNEL, accessToken.getTokenId() + ":" + expiresAt);
+    }
+
+    @Override
+    public boolean isRevoked(VerifiedToken accessToken) {
+        if (accessToken.getTokenId() == null || accessToken.getExpiration() == null) {
+            return false;
+        }
+        if (!bloomFilter.mightContain(accessToken.getTokenId(), accessToken.getExpiration().toEpochMilli())) {
+            localNegatives.increment();
+            return false;
+        }
+        bloomPositives.increment();
+        boolean revoked = Boolean.TRUE.equals(stringRedisTemplate.hasKey(KEY_PREFIX + accessToken.getTokenId()));
+        if (revoked) {
+            confirmedRevocations.increment();
+        }
+        return revoked;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(':');
+        if (separator < 0) {
+            return;
+        }
+        try {
+            bloomFilter.add(body.substring(0, separator), Long.parseLong(body.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed denylist message: {}", body);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.denylist.evict-interval-ms:60000}")
+    public void evictExpiredPartitions() {
+        bloomFilter.evictExpired(System.currentTimeMillis());
+    }
+
+    /**
+     * Replays the Redis denylist into the local filter, at startup and periodically, to recover any
+     * pub/sub message this node missed while disconnected. Stale bits age out with their partition.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${jwt.denylist.resync-interval-ms:600000}")
+    public void resync() {
+        List<String> keys = new ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build();
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            cursor.forEachRemaining(keys::add);
+        } catch (Exception e) {
+            log.warn("Could not resync access token denylist: {}", e.getMessage());
+            return;
+        }
+        for (int from = 0; from < keys.size(); from += 1000) {
+            List<String> batch = keys.subList(from, Math.min(keys.size(), from + 1000));
+            List<String> expiries = stringRedisTemplate.opsForValue().multiGet(batch);
+            for (int i = 0; i < batch.size(); i++) {
+                String expiresAt = expiries != null ? expiries.get(i) : null;
+                if (expiresAt != null) {
+                    bloomFilter.add(batch.get(i).substring(KEY_PREFIX.length()), Long.parseLong(expiresAt));
+                }
+            }
+        }
+        log.debug("Access token denylist resynced with {} entries", keys.size());
+    }
+}
@@ -5,55 +5,75 @@ import com.tetgift.dto.request.ChangePasswordRequest;
 import com.tetgift.dto.request.LoginRequest;
 import com.tetgift.dto.request.ResetPasswordRequest;
 import com.tetgift.dto.response.LoginResponse;
+import com.tetgift.dto.response.SessionResponse;
+import com.tetgift.enums.SessionRotationResult;
 import com.tetgift.enums.TokenType;
 import com.tetgift.exception.InvalidDataException;
 import com.tetgift.exception.UserNotFoundException;
 import com.tetgift.model.Users;
-import com.tetgift.model.redisModel.RefreshToken;
+import com.tetgift.model.auth.VerifiedToken;
 import com.tetgift.repository.jpa.UserRepository;
+import com.tetgift.service.AccessTokenDenylistService;
 import com.tetgift.service.AuthenticationService;
 import com.tetgift.service.JwtService;
-import com.tetgift.service.RefreshTokenService;
+import com.tetgift.service.MailService;
+import com.tetgift.service.PasswordHashingService;
+import com.tetgift.service.SecurityVersionService;
+import com.tetgift.service.SessionStoreService;
 import com.tetgift.util.AuthenticationUtils;
 import io.micrometer.common.util.StringUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class AuthenticationServiceImpl implements AuthenticationService {
     private final UserRepository userRepository;
-    private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
-    private final RefreshTokenService tokenService;
-    private final PasswordEncoder passwordEncoder;
+    private final SessionStoreService sessionStoreService;
+    private final PasswordHashingService passwordHashingService;
     private final AuthenticationUtils utils;
+    private final SecurityVersionService securityVersionService;
+    private final AccessTokenDenylistService accessTokenDenylistService;
+    private final MailService mailService;
 
 
     @Override
     public LoginResponse login(LoginRequest request) {
+        Users user = userRepository.findByUsernameOrEmail(request.getUsernameOrEmail()).orElse(null);
+        if (user == null) {
+            passwordHashingService.simulateMatch(request.getPassword());
+            throw new BadCredentialsException("Bad credentials");
+        }
+        if (!user.isAccountNonLocked()) {
+            throw new LockedException("User account is locked");
+        }
+        if (!user.isEnabled()) {
+            throw new DisabledException("User is disabled");
+        }
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            Long userId = user.getId();
+            String checkedHash = user.getPassword();
+            passwordHashingService.rehashAsync(request.getPassword(),
+                    hash -> userRepository.updatePasswordIfUnchanged(userId, checkedHash, hash));
+        }
 
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getUsernameOrEmail(),
-                        request.getPassword()
-                )
-        );
-
-        var user = userRepository.findByUsername(request.getUsernameOrEmail()).orElseThrow(() -> new UserNotFoundException("user.not.found"));
         String accessToken = jwtService.generateAccessToken(user);
         String refreshToken = jwtService.generateRefreshToken(user);
-        tokenService.saveRefreshToken(RefreshToken.builder()
-                .token(refreshToken)
-                .usersId(user.getId())
-                .build());
-
+        VerifiedToken issued = jwtService.verifyToken(refreshToken, TokenType.REFRESH);
+        sessionStoreService.createSession(user.getId(), refreshToken, request.getDevice(),
+                issued.getIssuedAt(), issued.getExpiration());
 
         return LoginResponse.builder()
                 .accessToken(accessToken)
@@ -65,12 +85,24 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     @Override
     public LoginResponse refreshToken(HttpServletRequest request) {
         String token = getRefreshToken(request);
-        var user = getUserFromRefreshToken(token);
-        validateRefreshToken(token, user);
+        VerifiedToken verifiedToken = jwtService.verifyToken(token, TokenType.REFRESH);
+        var user = getUserFromRefreshToken(verifiedToken);
+        validateRefreshToken(verifiedToken, user);
         String accessToken = jwtService.generateAccessToken(user);
+        String rotatedToken = jwtService.generateRefreshToken(user);
+        VerifiedToken issued = jwtService.verifyToken(rotatedToken, TokenType.REFRESH);
+        SessionRotationResult rotation = sessionStoreService.rotateSession(user.getId(), token, rotatedToken,
+                issued.getIssuedAt(), issued.getExpiration());
+        if (rotation == SessionRotationResult.REUSE_DETECTED) {
+            securityVersionService.bumpVersion(user.getId());
+            throw new InvalidDataException("Refresh token reuse detected, all sessions have been revoked");
+        }
+        if (rotation == SessionRotationResult.NOT_FOUND) {
+            throw new InvalidDataException("Invalid refresh token");
+        }
         return LoginResponse.builder()
                 .accessToken(accessToken)
-                .refreshToken(token)
+                .refreshToken(rotatedToken)
                 .userId(user.getId())
                 .build();
     }
@@ -78,25 +110,42 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     @Override
     public String logout(HttpServletRequest request) {
         String refresh = getRefreshToken(request);
-        var user = getUserFromRefreshToken(refresh);
-        validateRefreshToken(refresh, user);
-        tokenService.deleteByUserId(user.getId());
+        VerifiedToken verifiedToken = jwtService.verifyToken(refresh, TokenType.REFRESH);
+        var user = getUserFromRefreshToken(verifiedToken);
+        validateRefreshToken(verifiedToken, user);
+        if (!sessionStoreService.isSessionActive(user.getId(), refresh)) {
+            throw new InvalidDataException("Invalid refresh token");
+        }
+        sessionStoreService.revokeSession(user.getId(), refresh);
+        revokeAccessToken(request);
         return "Logout successful";
     }
 
     @Override
-    public String forgotPassword(String email) {
+    public String logoutAll(HttpServletRequest request) {
+        String refresh = getRefreshToken(request);
+        VerifiedToken verifiedToken = jwtService.verifyToken(refresh, TokenType.REFRESH);
+        var user = getUserFromRefreshToken(verifiedToken);
+        validateRefreshToken(verifiedToken, user);
+        if (!sessionStoreService.isSessionActive(user.getId(), refresh)) {
+            throw new InvalidDataException("Invalid refresh token");
+        }
+        long revoked = sessionStoreService.revokeAllSessions(user.getId());
+        securityVersionService.bumpVersion(user.getId());
+        log.info("Revoked {} sessions for user {}", revoked, user.getId());
+        return "Logout from all devices successful";
+    }
+
+    @Override
+    public void forgotPassword(String email) {
         Users user = userRepository.findByEmail(email).orElseThrow(() -> new UserNotFoundException("user.not.found"));
         if(!user.isEnabled()) {
             throw new InvalidDataException("user.account.not.activated");
         }
 
         String resetToken = jwtService.generateResetPasswordToken(user);
-        
-        log.info("Password reset token generated for user: {}", email);
-        log.info("Reset token: {}", resetToken);
-
-        return resetToken;
+        mailService.sendPasswordResetMail(email, resetToken);
+        log.debug("Password reset mail queued for user {}", user.getId());
     }
 
     @Override
@@ -105,19 +154,22 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             throw new InvalidDataException("new.password.confirm.password.not.match");
         }
         
-        final String username = jwtService.extractUsername(request.getToken(), TokenType.RESET_PASSWORD);
+        final VerifiedToken verifiedToken = jwtService.verifyToken(request.getToken(), TokenType.RESET_PASSWORD);
+        final String username = verifiedToken.getSubject();
         Users user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UserNotFoundException("user.not.found"));
         
-        if (!jwtService.isTokenValid(request.getToken(), user, TokenType.RESET_PASSWORD)) {
+        if (!jwtService.isTokenValid(verifiedToken, user)
+                || !securityVersionService.isCurrent(user.getId(), verifiedToken.getSecurityVersion())) {
             throw new InvalidDataException("invalid.or.expired.reset.password.token");
         }
         if(!request.getNewPassword().equals(request.getConfirmPassword())) {
             throw new InvalidDataException("new.password.confirm.password.not.match");
         }
         
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        user.setPassword(passwordHashingService.encode(request.getNewPassword()));
         userRepository.save(user);
+        securityVersionService.bumpVersion(user.getId());
         
         log.info("Password reset successful for user: {}", username);
         return "password.reset.success";
@@ -126,17 +178,27 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     @Override
     public String changePassword(ChangePasswordRequest request) {
         Users user = utils.getCurrentUser();
-        if(!passwordEncoder.matches(request.getOldPassword(), user.getPassword())) {
+        if(!passwordHashingService.matches(request.getOldPassword(), user.getPassword())) {
             throw new InvalidDataException("Old password is incorrect");
         }
         if(!request.getNewPassword().equals(request.getConfirmPassword())) {
             throw new InvalidDataException("New password and confirm password do not match");
         }
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        user.setPassword(passwordHashingService.encode(request.getNewPassword()));
         userRepository.save(user);
+        securityVersionService.bumpVersion(user.getId());
         return "Change password successful";
     }
 
+    @Override
+    public List<SessionResponse> getSessions() {
+        Long userId = utils.getCurrentUserId();
+        if (userId == null) {
+            throw new InvalidDataException("user.not.authenticated");
+        }
+        return sessionStoreService.listSessions(userId);
+    }
+
     private String getRefreshToken(HttpServletRequest request) {
         String token = request.getHeader("x-refresh-token");
         if (StringUtils.isBlank(token)) {
@@ -145,14 +207,22 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         return token;
     }
 
-    private Users getUserFromRefreshToken(String refreshToken) {
-        String username = jwtService.extractUsername(refreshToken, TokenType.REFRESH);
-        return userRepository.findByUsername(username)
+    private void revokeAccessToken(HttpServletRequest request) {
+        String authorization = request.getHeader("Authorization");
+        if (StringUtils.isBlank(authorization) || !authorization.startsWith("Bearer ")) {
+            return;
+        }
+        accessTokenDenylistService.revoke(jwtService.verifyToken(authorization.substring(7), TokenType.ACCESS));
+    }
+
+    private Users getUserFromRefreshToken(VerifiedToken refreshToken) {
+        return userRepository.findByUsername(refreshToken.getSubject())
                 .orElseThrow(() -> new UserNotFoundException("user.not.found"));
     }
 
-    private void validateRefreshToken(String refreshToken, Users user) {
-        if (!jwtService.isTokenValid(refreshToken, user, TokenType.REFRESH)) {
+    private void validateRefreshToken(VerifiedToken refreshToken, Users user) {
+        if (!jwtService.isTokenValid(refreshToken, user)
+                || !securityVersionService.isCurrent(user.getId(), refreshToken.getSecurityVersion())) {
             throw new InvalidDataException("Invalid refresh token");
         }
     }
@@ -0,0 +1,112 @@
+package com.tetgift.service.impl;
+
+import com.tetgift.service.DelayedJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Delayed jobs as Redis sorted sets: {@code delayed:{queue}} scored by due time and
+ * {@code delayed:{queue}:claimed} scored by visibility deadline. Scheduling is a single ZADD,
+ * so the number of waiting jobs only costs Redis memory, never database polling.
+ */
+@Service
+@RequiredArgsConstructor
+public class DelayedJobServiceImpl implements DelayedJobService {
+    private static final String KEY_PREFIX = "delayed:";
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM_SCRIPT = script("claim.lua", List.class);
+    private static final RedisScript<Long> RECOVER_SCRIPT = script("recover.lua", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Override
+    public void schedule(String queue, String jobId, long dueAtMillis) {
+        stringRedisTemplate.opsForZSet().add(pendingKey(queue), jobId, dueAtMillis);
+    }
+
+    @Override
+    public void scheduleAll(String queue, Map<String, Long> dueAtByJobId) {
+        if (dueAtByJobId.isEmpty()) {
+            return;
+        }
+        Set<ZSetOperations.TypedTuple<String>> jobs = new HashSet<>(dueAtByJobId.size());
+        dueAtByJobId.forEach((jobId, dueAt) -> jobs.add(ZSetOperations.TypedTuple.of(jobId, dueAt.doubleValue())));
+        stringRedisTemplate.opsForZSet().add(pendingKey(queue), jobs);
+    }
+
+    @Override
+    public void cancel(String queue, String jobId) {
+        stringRedisTemplate.opsForZSet().remove(pendingKey(queue), jobId);
+    }
+
+    @Override
+    public Map<String, Long> peek(String queue, long dueBeforeMillis, int limit) {
+        Set<ZSetOperations.TypedTuple<String>> due = stringRedisTemplate.opsForZSet()
+                .rangeByScoreWithScores(pendingKey(queue), Double.NEGATIVE_INFINITY, dueBeforeMillis, 0, limit);
+        Map<String, Long> jobs = new LinkedHashMap<>();
+        if (due != null) {
+            for (ZSetOperations.TypedTuple<String> job : due) {
+                if (job.getValue() != null && job.getScore() != null) {
+                    jobs.put(job.getValue(), job.getScore().longValue());
+                }
+            }
+        }
+        return jobs;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> claim(String queue, Collection<String> jobIds, long nowMillis, long visibleUntilMillis) {
+        if (jobIds.isEmpty()) {
+            return List.of();
+        }
+        List<String> args = new ArrayList<>(jobIds.size() + 2);
+        args.add(String.valueOf(nowMillis));
+        args.add(String.valueOf(visibleUntilMillis));
+        args.addAll(jobIds);
+        List<String> claimed = stringRedisTemplate.execute(CLAIM_SCRIPT, List.of(pendingKey(queue), claimedKey(queue)), args.toArray());
+        return claimed != null ? claimed : List.of();
+    }
+
+    @Override
+    public void complete(String queue, Collection<String> jobIds) {
+        if (!jobIds.isEmpty()) {
+            stringRedisTemplate.opsForZSet().remove(claimedKey(queue), jobIds.toArray());
+        }
+    }
+
+    @Override
+    public long recover(String queue, long nowMillis, int limit) {
+        Long recovered = stringRedisTemplate.execute(RECOVER_SCRIPT, List.of(pendingKey(queue), claimedKey(queue)),
+                String.valueOf(nowMillis), String.valueOf(limit));
+        return recovered != null ? recovered : 0;
+    }
+
+    @Override
+    public long pending(String queue) {
+        Long size = stringRedisTemplate.opsForZSet().zCard(pendingKey(queue));
+        return size != null ? size : 0;
+    }
+
+    private static String pendingKey(String queue) {
+        return KEY_PREFIX + "{" + queue + "}";
+    }
+
+    private static String claimedKey(String queue) {
+        return KEY_PREFIX + "{" + queue + "}:claimed";
+    }
+
+    private static <T> RedisScript<T> script(String name, Class<T> resultType) {
+        DefaultRedisScript<T> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("scripts/delayed/" + name));
+        script.setResultType(resultType);
+        return script;
+    }
+}
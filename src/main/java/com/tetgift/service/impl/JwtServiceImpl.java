@@ -2,12 +2,17 @@ package com.tetgift.service.impl;
 
 import com.tetgift.enums.TokenType;
 import com.tetgift.model.Users;
+import com.tetgift.model.auth.VerifiedToken;
 import com.tetgift.service.JwtService;
+import com.tetgift.service.SecurityVersionService;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,10 +20,11 @@ import org.springframework.stereotype.Service;
 
 import java.security.Key;
 import java.util.*;
-import java.util.function.Function;
 
 @Service
+@RequiredArgsConstructor
 public class JwtServiceImpl implements JwtService {
+    private final SecurityVersionService securityVersionService;
     @Value("${jwt.secretKey}")
     private String secretKey;
     @Value("${jwt.refreshKey}")
@@ -30,6 +36,21 @@ public class JwtServiceImpl implements JwtService {
     @Value("${jwt.expiryDay}")
     private long expirationDays;
 
+    private final Map<TokenType, Key> signingKeys = new EnumMap<>(TokenType.class);
+    private final Map<TokenType, JwtParser> parsers = new EnumMap<>(TokenType.class);
+
+    @PostConstruct
+    public void init() {
+        registerKey(TokenType.ACCESS, secretKey);
+        registerKey(TokenType.REFRESH, refreshKey);
+        registerKey(TokenType.RESET_PASSWORD, resetPasswordKey);
+    }
+
+    private void registerKey(TokenType tokenType, String base64Secret) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
+        signingKeys.put(tokenType, key);
+        parsers.put(tokenType, Jwts.parserBuilder().setSigningKey(key).build());
+    }
 
     @Override
     public String generateAccessToken(UserDetails userDetails) {
@@ -39,23 +60,24 @@ public class JwtServiceImpl implements JwtService {
 
 
     private Key getJwtSecretKey(TokenType tokenType) {
-        switch (tokenType) {
-            case ACCESS -> {
-                return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
-            }
-            case REFRESH -> {
-                return Keys.hmacShaKeyFor(Decoders.BASE64.decode(refreshKey));
-            }
-            case RESET_PASSWORD -> {
-                return Keys.hmacShaKeyFor(Decoders.BASE64.decode(resetPasswordKey));
-            }
-            default -> throw new IllegalArgumentException("Invalid token type");
+        Key key = signingKeys.get(tokenType);
+        if (key == null) {
+            throw new IllegalArgumentException("Invalid token type");
         }
+        return key;
+    }
+
+    private JwtParser getParser(TokenType tokenType) {
+        JwtParser parser = parsers.get(tokenType);
+        if (parser == null) {
+            throw new IllegalArgumentException("Invalid token type");
+        }
+        return parser;
     }
 
     @Override
     public String extractUsername(String token, TokenType tokenType) {
-        return extractClaim(token, tokenType, Claims::getSubject);
+        return verifyToken(token, tokenType).getSubject();
     }
 
     @Override
@@ -66,16 +88,19 @@ public class JwtServiceImpl implements JwtService {
 
     @Override
     public boolean isTokenValid(String token, UserDetails userDetails, TokenType tokenType) {
-        final String username = extractUsername(token, tokenType);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token, tokenType);
+        return isTokenValid(verifyToken(token, tokenType), userDetails);
     }
 
-    private boolean isTokenExpired(String token, TokenType tokenType) {
-        return extractExpiration(token, tokenType).before(new Date());
+    @Override
+    public boolean isTokenValid(VerifiedToken verifiedToken, UserDetails userDetails) {
+        return verifiedToken.getSubject() != null
+                && verifiedToken.getSubject().equals(userDetails.getUsername())
+                && !verifiedToken.isExpired();
     }
 
+    @Override
     public Date extractExpiration(String token, TokenType tokenType) {
-        return extractClaim(token, tokenType, Claims::getExpiration);
+        return Date.from(verifyToken(token, tokenType).getExpiration());
     }
 
     @Override
@@ -85,17 +110,41 @@ public class JwtServiceImpl implements JwtService {
         return buildToken(claims, userDetails, TokenType.RESET_PASSWORD, expirationTimeReset);
     }
 
+    @Override
+    public VerifiedToken verifyToken(String token, TokenType tokenType) {
+        Claims claims = extractAllClaims(token, tokenType);
+        String userIdStr = claims.get("userId", String.class);
+        return VerifiedToken.builder()
+                .tokenType(tokenType)
+                .tokenId(claims.getId())
+                .subject(claims.getSubject())
+                .userId(userIdStr != null ? Long.parseLong(userIdStr) : null)
+                .roles(extractRoles(claims))
+                .securityVersion(extractSecurityVersion(claims))
+                .issuedAt(claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null)
+                .expiration(claims.getExpiration() != null ? claims.getExpiration().toInstant() : null)
+                .build();
+    }
+
     private Claims extractAllClaims(String token, TokenType tokenType) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getJwtSecretKey(tokenType))
-                .build()
+        return getParser(tokenType)
                 .parseClaimsJws(token)
                 .getBody();
     }
 
-    private <T> T extractClaim(String token, TokenType tokenType, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token, tokenType);
-        return claimsResolver.apply(claims);
+    private List<String> extractRoles(Claims claims) {
+        Object rolesObject = claims.get("roles");
+        if (rolesObject instanceof List<?> rolesList && !rolesList.isEmpty()) {
+            return rolesList.stream()
+                    .map(Object::toString)
+                    .toList();
+        }
+        return List.of();
+    }
+
+    private Long extractSecurityVersion(Claims claims) {
+        Object version = claims.get("sv");
+        return version instanceof Number number ? number.longValue() : null;
     }
 
     private Map<String, Object> buildClaims(UserDetails userDetails) {
@@ -108,6 +157,7 @@ public class JwtServiceImpl implements JwtService {
         claims.put("username", userDetails.getUsername());
         if(userDetails instanceof Users user){
             claims.put("userId", user.getId().toString());
+            claims.put("sv", securityVersionService.getVersion(user.getId()));
         }
         return claims;
     }
@@ -116,6 +166,7 @@ public class JwtServiceImpl implements JwtService {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(userDetails.getUsername())
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expirationMillis))
                 .signWith(getJwtSecretKey(type), SignatureAlgorithm.HS256)
@@ -124,22 +175,12 @@ public class JwtServiceImpl implements JwtService {
 
     @Override
     public List<String> extractRole(String token, TokenType tokenType) {
-        Claims claims = extractAllClaims(token, tokenType);
-        Object rolesObject = claims.get("roles");
-        if (rolesObject instanceof List<?> rolesList && !rolesList.isEmpty()) {
-            return rolesList.stream()
-                    .map(Object::toString)
-                    .toList();
-        } else {
-            return List.of();
-        }
+        return verifyToken(token, tokenType).getRoles();
     }
 
     @Override
     public Long extractUserId(String token, TokenType tokenType) {
-        Claims claims = extractAllClaims(token, tokenType);
-        String userIdStr = claims.get("userId", String.class);
-        return userIdStr != null ? Long.parseLong(userIdStr) : null;
+        return verifyToken(token, tokenType).getUserId();
     }
 
 
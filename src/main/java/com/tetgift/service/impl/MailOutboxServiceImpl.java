@@ -0,0 +1,168 @@
+package com.tetgift.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tetgift.dto.message.MailEnvelope;
+import com.tetgift.service.MailOutboxService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mail outbox on a Redis Stream consumed through a consumer group. Failed deliveries wait in a
+ * sorted set scored by their next attempt time and are moved back onto the stream when due;
+ * exhausted ones go to a capped dead-letter stream. Every hand-over is a single Lua call.
+ */
+@Service
+@Slf4j
+public class MailOutboxServiceImpl implements MailOutboxService {
+    private static final String STREAM_KEY = "mail:outbox";
+    private static final String RETRY_KEY = "mail:outbox:retry";
+    private static final String DEAD_LETTER_KEY = "mail:outbox:dlq";
+    private static final String GROUP = "mail-workers";
+    private static final String PAYLOAD_FIELD = "payload";
+    private static final RedisScript<Long> ACK_SCRIPT = streamScript("ack.lua");
+    private static final RedisScript<Long> RETRY_SCRIPT = script("retry.lua");
+    private static final RedisScript<Long> DEAD_LETTER_SCRIPT = script("dead-letter.lua");
+    private static final RedisScript<Long> PROMOTE_SCRIPT = script("promote.lua");
+    private static final RedisScript<Long> REQUEUE_SCRIPT = streamScript("requeue.lua");
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final long deadLetterMaxLength;
+
+    public MailOutboxServiceImpl(StringRedisTemplate stringRedisTemplate,
+                                 @Qualifier("redisObjectMapper") ObjectMapper objectMapper,
+                                 @Value("${mail.outbox.dead-letter-max-length:10000}") long deadLetterMaxLength) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.deadLetterMaxLength = deadLetterMaxLength;
+    }
+
+    @Override
+    public void enqueue(MailEnvelope envelope) {
+        stringRedisTemplate.opsForStream().add(STREAM_KEY, Map.of(PAYLOAD_FIELD, serialize(envelope)));
+    }
+
+    @Override
+    public void ensureConsumerGroup() {
+        try {
+            stringRedisTemplate.execute(connection -> connection.streamCommands().xGroupCreate(
+                    STREAM_KEY.getBytes(), GROUP, ReadOffset.from("0"), true), true);
+        } catch (RedisSystemException e) {
+            String message = e.getMostSpecificCause().getMessage();
+            if (message == null || !message.contains("BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public Map<String, MailEnvelope> poll(String consumer, int count, Duration block) {
+        StreamReadOptions options = StreamReadOptions.empty().count(count);
+        if (!block.isZero()) {
+            options = options.block(block);
+        }
+        List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream().read(
+                Consumer.from(GROUP, consumer), options, StreamOffset.create(STREAM_KEY, ReadOffset.lastConsumed()));
+        Map<String, MailEnvelope> envelopes = new LinkedHashMap<>();
+        if (records == null) {
+            return envelopes;
+        }
+        for (MapRecord<String, Object, Object> record : records) {
+            Object payload = record.getValue().get(PAYLOAD_FIELD);
+            MailEnvelope envelope = payload != null ? deserialize(payload.toString()) : null;
+            if (envelope == null) {
+                log.warn("Dropping malformed mail outbox entry {}", record.getId());
+                acknowledge(record.getId().getValue());
+                continue;
+            }
+            envelopes.put(record.getId().getValue(), envelope);
+        }
+        return envelopes;
+    }
+
+    @Override
+    public void acknowledge(String recordId) {
+        stringRedisTemplate.execute(ACK_SCRIPT, List.of(STREAM_KEY), GROUP, recordId);
+    }
+
+    @Override
+    public void scheduleRetry(String recordId, MailEnvelope envelope, long dueAtMillis) {
+        stringRedisTemplate.execute(RETRY_SCRIPT, List.of(STREAM_KEY, RETRY_KEY),
+                GROUP, recordId, String.valueOf(dueAtMillis), serialize(envelope));
+    }
+
+    @Override
+    public void deadLetter(String recordId, MailEnvelope envelope, String error) {
+        stringRedisTemplate.execute(DEAD_LETTER_SCRIPT, List.of(STREAM_KEY, DEAD_LETTER_KEY),
+                GROUP, recordId, serialize(envelope), error != null ? error : "unknown",
+                String.valueOf(System.currentTimeMillis()), String.valueOf(deadLetterMaxLength));
+    }
+
+    @Override
+    public long promoteDueRetries(int limit) {
+        Long moved = stringRedisTemplate.execute(PROMOTE_SCRIPT, List.of(RETRY_KEY, STREAM_KEY),
+                String.valueOf(System.currentTimeMillis()), String.valueOf(limit));
+        return moved != null ? moved : 0;
+    }
+
+    @Override
+    public long requeueStale(Duration minIdle, int limit) {
+        PendingMessages pending = stringRedisTemplate.opsForStream().pending(STREAM_KEY, GROUP, Range.unbounded(), limit);
+        long requeued = 0;
+        if (pending == null) {
+            return requeued;
+        }
+        for (PendingMessage message : pending) {
+            if (message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) >= 0) {
+                Long result = stringRedisTemplate.execute(REQUEUE_SCRIPT, List.of(STREAM_KEY), GROUP, message.getIdAsString());
+                requeued += result != null ? result : 0;
+            }
+        }
+        return requeued;
+    }
+
+    private String serialize(MailEnvelope envelope) {
+        try {
+            return objectMapper.writeValueAsString(envelope);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize mail envelope", e);
+        }
+    }
+
+    private MailEnvelope deserialize(String payload) {
+        try {
+            return objectMapper.readValue(payload, MailEnvelope.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static RedisScript<Long> script(String name) {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("scripts/mail/" + name));
+        script.setResultType(Long.class);
+        return script;
+    }
+
+    private static RedisScript<Long> streamScript(String name) {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("scripts/stream/" + name));
+        script.setResultType(Long.class);
+        return script;
+    }
+}
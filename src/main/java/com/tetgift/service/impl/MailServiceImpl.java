@@ -1,28 +1,57 @@
 package com.tetgift.service.impl;
 
+import com.tetgift.dto.message.MailEnvelope;
+import com.tetgift.model.mail.RenderedMail;
+import com.tetgift.service.MailOutboxService;
 import com.tetgift.service.MailService;
+import com.tetgift.service.MailTemplateService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayOutputStream;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Builds the MIME message on the caller's thread (no network I/O) and hands it to the outbox;
+ * delivery happens later on the {@code MailOutboxWorker} pool.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class MailServiceImpl implements MailService {
     private final JavaMailSender mailSender;
-    @Value("${spring.mail.from}")
-    private String emailFrom;
+    private final MailOutboxService mailOutboxService;
+    private final MailTemplateService mailTemplateService;
+    private final String emailFrom;
+    private final long otpTtlMinutes;
+    private final Counter enqueued;
+
+    public MailServiceImpl(JavaMailSender mailSender,
+                           MailOutboxService mailOutboxService,
+                           MailTemplateService mailTemplateService,
+                           MeterRegistry meterRegistry,
+                           @Value("${spring.mail.from}") String emailFrom,
+                           @Value("${otp.ttl-seconds:300}") long otpTtlSeconds) {
+        this.mailSender = mailSender;
+        this.mailOutboxService = mailOutboxService;
+        this.mailTemplateService = mailTemplateService;
+        this.emailFrom = emailFrom;
+        this.otpTtlMinutes = Math.max(1, otpTtlSeconds / 60);
+        this.enqueued = Counter.builder("mail.outbox.messages").tag("result", "enqueued").register(meterRegistry);
+    }
 
     @Override
     public String sendMail(String toWho, String subject, String body, MultipartFile[] files) {
         try {
-            log.info("Sending email to: {}...", toWho);
             MimeMessage message = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
             helper.setFrom(emailFrom, "FPT University");
@@ -38,19 +67,37 @@ public class MailServiceImpl implements MailService {
             }
             helper.setSubject(subject);
             helper.setText(body, true);
-            mailSender.send(message);
-            log.info("Email sent to: {}", toWho);
-            return "sent";
+            message.saveChanges();
+
+            ByteArrayOutputStream mime = new ByteArrayOutputStream();
+            message.writeTo(mime);
+            mailOutboxService.enqueue(MailEnvelope.builder()
+                    .to(toWho)
+                    .subject(subject)
+                    .mime(Base64.getEncoder().encodeToString(mime.toByteArray()))
+                    .attempt(0)
+                    .enqueuedAt(System.currentTimeMillis())
+                    .build());
+            enqueued.increment();
+            log.info("Email to {} queued", toWho);
+            return "queued";
         } catch (Exception e) {
-            log.error("Failed to send email to {}: {}", toWho, e.getMessage(), e);
+            log.error("Failed to queue email to {}: {}", toWho, e.getMessage(), e);
             return "failed";
         }
     }
 
     @Override
     public String sendOtpMail(String email, String otp) {
-        String subject = "Your OTP Code";
-        String body = String.format("Your OTP is: %s (valid for 5 minutes)", otp);
-        return sendMail(email, subject, body, null);
+        RenderedMail mail = mailTemplateService.render("otp", LocaleContextHolder.getLocale(),
+                Map.of("otp", otp, "ttlMinutes", otpTtlMinutes));
+        return sendMail(email, mail.getSubject(), mail.getHtml(), null);
+    }
+
+    @Override
+    public String sendPasswordResetMail(String email, String resetToken) {
+        RenderedMail mail = mailTemplateService.render("password-reset", LocaleContextHolder.getLocale(),
+                Map.of("token", resetToken));
+        return sendMail(email, mail.getSubject(), mail.getHtml(), null);
     }
 }
@@ -0,0 +1,106 @@
+package com.tetgift.service.impl;
+
+import com.tetgift.model.mail.RenderedMail;
+import com.tetgift.service.MailTemplateService;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders mail bodies from {@code templates/mail}. The engine is private to mail (the web view
+ * engine is left to auto-configuration), keeps every parsed template cached for the life of the
+ * process, and is warmed at startup. Header and footer are static per locale, so they are rendered
+ * once per locale and inserted as ready-made HTML instead of being evaluated on every mail.
+ */
+@Service
+@Slf4j
+public class MailTemplateServiceImpl implements MailTemplateService {
+    private static final String LAYOUT_TEMPLATE = "fragments/layout";
+    private static final List<String> STATIC_FRAGMENTS = List.of("header", "footer");
+
+    private final SpringTemplateEngine templateEngine;
+    private final ResourceBundleMessageSource messageSource;
+    private final List<String> templates;
+    private final List<Locale> supportedLocales;
+    private final Locale defaultLocale;
+    private final Map<Locale, Map<String, Object>> renderedFragments = new ConcurrentHashMap<>();
+
+    public MailTemplateServiceImpl(@Value("${mail.template.names:otp,password-reset}") List<String> templates,
+                                   @Value("${mail.template.locales:vi,en}") List<String> locales,
+                                   @Value("${mail.template.default-locale:vi}") String defaultLocale) {
+        this.templates = templates;
+        this.supportedLocales = locales.stream().map(Locale::forLanguageTag).toList();
+        this.defaultLocale = Locale.forLanguageTag(defaultLocale);
+
+        this.messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("i18n/mail");
+        messageSource.setDefaultEncoding(StandardCharsets.UTF_8.name());
+        messageSource.setFallbackToSystemLocale(false);
+
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/mail/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        resolver.setCacheable(true);
+        resolver.setCacheTTLMs(null);
+
+        this.templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+        templateEngine.setEnableSpringELCompiler(true);
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        for (Locale locale : supportedLocales) {
+            Context context = new Context(locale, fragmentsFor(locale));
+            for (String template : templates) {
+                templateEngine.process(template, context);
+            }
+        }
+        log.info("Mail templates {} parsed and cached for locales {}", templates, supportedLocales);
+    }
+
+    @Override
+    public RenderedMail render(String template, Locale locale, Map<String, Object> variables) {
+        Locale resolved = resolveLocale(locale);
+        Context context = new Context(resolved, variables);
+        context.setVariables(fragmentsFor(resolved));
+        String html = templateEngine.process(template, context);
+        String subject = messageSource.getMessage("mail." + template + ".subject", null, resolved);
+        return new RenderedMail(subject, html);
+    }
+
+    private Map<String, Object> fragmentsFor(Locale locale) {
+        return renderedFragments.computeIfAbsent(locale, key -> {
+            Map<String, Object> fragments = new HashMap<>();
+            Context context = new Context(key);
+            for (String fragment : STATIC_FRAGMENTS) {
+                fragments.put(fragment, templateEngine.process(LAYOUT_TEMPLATE, Set.of(fragment), context));
+            }
+            return Map.copyOf(fragments);
+        });
+    }
+
+    private Locale resolveLocale(Locale requested) {
+        if (requested != null) {
+            for (Locale supported : supportedLocales) {
+                if (supported.getLanguage().equals(requested.getLanguage())) {
+                    return supported;
+                }
+            }
+        }
+        return defaultLocale;
+    }
+}
@@ -0,0 +1,89 @@
+package com.tetgift.service.impl;
+
+import com.tetgift.dto.message.OrderStatusMessage;
+import com.tetgift.enums.OrderStatus;
+import com.tetgift.service.OrderStatusNotifier;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends order status changes to their owner on {@code /user/queue/orders}. Updates are buffered
+ * per user and flushed every {@code websocket.orders.coalesce-ms}; an order that changes several
+ * times within one window is sent once, with its latest status. Updates raised inside a
+ * transaction are buffered only after it commits.
+ */
+@Service
+@Slf4j
+public class OrderStatusNotifierImpl implements OrderStatusNotifier {
+    public static final String DESTINATION = "/queue/orders";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ConcurrentHashMap<Long, Map<Long, OrderStatusMessage>> pending = new ConcurrentHashMap<>();
+    private final Counter queued;
+    private final Counter coalesced;
+    private final Counter sent;
+
+    public OrderStatusNotifierImpl(SimpMessagingTemplate messagingTemplate, MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.queued = Counter.builder("websocket.orders.updates").tag("result", "queued").register(meterRegistry);
+        this.coalesced = Counter.builder("websocket.orders.updates").tag("result", "coalesced").register(meterRegistry);
+        this.sent = Counter.builder("websocket.orders.updates").tag("result", "sent").register(meterRegistry);
+    }
+
+    @Override
+    public void notify(Long userId, Long orderId, OrderStatus status, String message) {
+        OrderStatusMessage update = new OrderStatusMessage(String.valueOf(orderId), status.name(), message);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(userId, orderId, update);
+                }
+            });
+        } else {
+            enqueue(userId, orderId, update);
+        }
+    }
+
+    private void enqueue(Long userId, Long orderId, OrderStatusMessage update) {
+        pending.compute(userId, (id, orders) -> {
+            Map<Long, OrderStatusMessage> latest = orders != null ? orders : new LinkedHashMap<>();
+            if (latest.put(orderId, update) != null) {
+                coalesced.increment();
+            } else {
+                queued.increment();
+            }
+            return latest;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${websocket.orders.coalesce-ms:250}")
+    public void flush() {
+        for (Long userId : pending.keySet()) {
+            Map<Long, OrderStatusMessage> orders = pending.remove(userId);
+            if (orders == null) {
+                continue;
+            }
+            for (OrderStatusMessage update : orders.values()) {
+                try {
+                    messagingTemplate.convertAndSendToUser(String.valueOf(userId), DESTINATION, update);
+                    sent.increment();
+                } catch (MessagingException e) {
+                    log.warn("Could not send order {} status to user {}: {}", update.getOrderId(), userId, e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -1,29 +1,84 @@
 package com.tetgift.service.impl;
 
-import com.tetgift.model.Users;
-import com.tetgift.model.redisModel.OtpVerify;
+import com.tetgift.exception.InvalidDataException;
+import com.tetgift.exception.RateLimitExceededException;
 import com.tetgift.repository.jpa.UserRepository;
-import com.tetgift.repository.redis.OtpVerifyRepository;
+import com.tetgift.service.MailService;
 import com.tetgift.service.OtpVerifyService;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * OTPs live in one small Redis hash per address ({@code code}, {@code attempts}, {@code locked}).
+ * Checking, counting the attempt, consuming the code and locking out are one Lua call, so two
+ * concurrent guesses can never both be counted against the same attempt.
+ */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class OtpVerifyServiceImpl implements OtpVerifyService {
-    private final OtpVerifyRepository otpVerifyRepository;
+    private static final String KEY_PREFIX = "otp:";
+    private static final int OTP_LENGTH = 6;
+    private static final int OTP_BOUND = 1_000_000;
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> SAVE_SCRIPT = script("save.lua");
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> VERIFY_SCRIPT = script("verify.lua");
+
+    private final StringRedisTemplate stringRedisTemplate;
     private final UserRepository userRepository;
+    private final MailService mailService;
+    private final SecureRandom secureRandom;
+    private final long ttlMillis;
+    private final int maxAttempts;
+    private final long lockoutMillis;
+
+    public OtpVerifyServiceImpl(StringRedisTemplate stringRedisTemplate,
+                                UserRepository userRepository,
+                                MailService mailService,
+                                @Value("${otp.ttl-seconds:300}") long ttlSeconds,
+                                @Value("${otp.max-attempts:5}") int maxAttempts,
+                                @Value("${otp.lockout-minutes:15}") long lockoutMinutes) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.userRepository = userRepository;
+        this.mailService = mailService;
+        this.secureRandom = nonBlockingSecureRandom();
+        this.ttlMillis = Duration.ofSeconds(ttlSeconds).toMillis();
+        this.maxAttempts = maxAttempts;
+        this.lockoutMillis = Duration.ofMinutes(lockoutMinutes).toMillis();
+    }
 
     @Override
     public boolean verifyOtp(String email, String otp) {
-        String storedOtp = otpVerifyRepository.findById(email).get().getOtp();
-        if(!storedOtp.equals(otp)) {
-            throw new IllegalArgumentException("Invalid OTP");
-        }
-        otpVerifyRepository.deleteById(email);
-        Users user = userRepository.findByEmail(email).orElseThrow(() -> new IllegalArgumentException("User not found"));
-        user.setVerify(true);
-        userRepository.save(user);
+        if (email == null || email.isBlank() || otp == null || otp.isBlank()) {
+            throw new InvalidDataException("Email and OTP are required");
+        }
+        List<?> result = stringRedisTemplate.execute(VERIFY_SCRIPT, List.of(key(email)),
+                otp.trim(), String.valueOf(maxAttempts), String.valueOf(lockoutMillis));
+        long status = ((Number) result.get(0)).longValue();
+        long value = ((Number) result.get(1)).longValue();
+        if (status == -2) {
+            throw new RateLimitExceededException("Too many invalid OTP attempts, please try again later", toSeconds(value));
+        }
+        if (status == -1) {
+            throw new InvalidDataException("OTP has expired or was not requested");
+        }
+        if (status == 0) {
+            throw new InvalidDataException("Invalid OTP, " + value + " attempt(s) left");
+        }
+        if (userRepository.markVerified(email.trim()) == 0) {
+            log.info("OTP verified for {} but no unverified account was updated", email);
+        }
         return true;
     }
 
@@ -35,25 +90,59 @@ public class OtpVerifyServiceImpl implements OtpVerifyService {
         if(otp == null || otp.trim().isEmpty()) {
             throw new IllegalArgumentException("OTP cannot be null or empty");
         }
-        OtpVerify otpVerify = OtpVerify.builder()
-                .email(email)
-                .otp(otp)
-                .build();
-        otpVerifyRepository.save(otpVerify);
+        List<?> result = stringRedisTemplate.execute(SAVE_SCRIPT, List.of(key(email)), otp, String.valueOf(ttlMillis));
+        if (((Number) result.get(0)).longValue() == -2) {
+            throw new RateLimitExceededException("Too many invalid OTP attempts, please try again later",
+                    toSeconds(((Number) result.get(1)).longValue()));
+        }
     }
 
-
-
     @Override
     public String generateOtp() {
-        return String.valueOf((int)(Math.random() * 900000) + 100000);
+        int value = secureRandom.nextInt(OTP_BOUND);
+        char[] digits = new char[OTP_LENGTH];
+        for (int i = OTP_LENGTH - 1; i >= 0; i--) {
+            digits[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return new String(digits);
     }
 
     @Override
     public void resendOtp(String email) {
-        otpVerifyRepository.findById(email).ifPresent(otpVerifyRepository::delete);
-        String newOtp = generateOtp();
-        saveOtp(email, newOtp);
+        if (email == null || !userRepository.existsByEmailAndIsVerifyFalse(email.trim())) {
+            return;
+        }
+        String otp = generateOtp();
+        saveOtp(email, otp);
+        mailService.sendOtpMail(email.trim(), otp);
     }
 
+    private static String key(String email) {
+        return KEY_PREFIX + email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long toSeconds(long millis) {
+        return Math.max(1, (millis + 999) / 1000);
+    }
+
+    /**
+     * Prefers the non-blocking native PRNG (reads /dev/urandom) so OTP generation never stalls
+     * waiting for entropy; falls back to the platform default elsewhere.
+     */
+    private static SecureRandom nonBlockingSecureRandom() {
+        try {
+            return SecureRandom.getInstance("NativePRNGNonBlocking");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static RedisScript<List> script(String name) {
+        DefaultRedisScript<List> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("scripts/otp/" + name));
+        script.setResultType(List.class);
+        return script;
+    }
 }
@@ -0,0 +1,199 @@
+package com.tetgift.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tetgift.component.VNPaySigner;
+import com.tetgift.dto.message.PaymentCallback;
+import com.tetgift.dto.response.VNPayIpnResponse;
+import com.tetgift.service.PaymentCallbackService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Ingestion stage of VNPay callbacks: verify the signature, then fence the transaction reference
+ * with SET NX and append the callback to a Redis Stream in the same Lua call, so a reference is
+ * queued exactly once however often VNPay retries. VNPay gets its answer as soon as that returns;
+ * {@code PaymentCallbackWorker} applies the status transitions.
+ * <p>
+ * Callbacks left unacknowledged are re-queued with an {@code attempts} field counting their failed
+ * deliveries; after {@code payment.callback.max-attempts} they move to a capped dead-letter stream.
+ */
+@Service
+@Slf4j
+public class PaymentCallbackServiceImpl implements PaymentCallbackService {
+    private static final String STREAM_KEY = "payment:callbacks";
+    private static final String DEAD_LETTER_KEY = "payment:callbacks:dlq";
+    private static final String FENCE_PREFIX = "payment:callback:fence:";
+    private static final String GROUP = "payment-workers";
+    private static final String PAYLOAD_FIELD = "payload";
+    private static final RedisScript<Long> INGEST_SCRIPT = script("payment/ingest.lua");
+    private static final RedisScript<Long> ACK_SCRIPT = script("stream/ack.lua");
+    private static final RedisScript<Long> REQUEUE_SCRIPT = script("payment/requeue.lua");
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final VNPaySigner vnPaySigner;
+    private final ObjectMapper objectMapper;
+    private final long fenceTtlMillis;
+    private final int maxAttempts;
+    private final long deadLetterMaxLength;
+    private final Counter accepted;
+    private final Counter duplicates;
+    private final Counter invalidSignatures;
+    private final Counter rejected;
+    private final Counter deadLettered;
+
+    public PaymentCallbackServiceImpl(StringRedisTemplate stringRedisTemplate,
+                                      VNPaySigner vnPaySigner,
+                                      @Qualifier("redisObjectMapper") ObjectMapper objectMapper,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${payment.callback.fence-ttl-hours:48}") long fenceTtlHours,
+                                      @Value("${payment.callback.max-attempts:5}") int maxAttempts,
+                                      @Value("${payment.callback.dead-letter-max-length:10000}") long deadLetterMaxLength) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.vnPaySigner = vnPaySigner;
+        this.objectMapper = objectMapper;
+        this.fenceTtlMillis = Duration.ofHours(fenceTtlHours).toMillis();
+        this.maxAttempts = maxAttempts;
+        this.deadLetterMaxLength = deadLetterMaxLength;
+        this.accepted = Counter.builder("payment.callback.received").tag("result", "accepted").register(meterRegistry);
+        this.duplicates = Counter.builder("payment.callback.received").tag("result", "duplicate").register(meterRegistry);
+        this.invalidSignatures = Counter.builder("payment.callback.received").tag("result", "invalid_signature").register(meterRegistry);
+        this.rejected = Counter.builder("payment.callback.received").tag("result", "rejected").register(meterRegistry);
+        this.deadLettered = Counter.builder("payment.callback.dead_lettered").register(meterRegistry);
+    }
+
+    @Override
+    public VNPayIpnResponse ingest(Map<String, String> params) {
+        if (!vnPaySigner.verify(params)) {
+            invalidSignatures.increment();
+            return VNPayIpnResponse.invalidSignature();
+        }
+        String txnRef = params.get("vnp_TxnRef");
+        String amount = params.get("vnp_Amount");
+        if (!StringUtils.hasText(txnRef) || !StringUtils.hasText(amount)) {
+            rejected.increment();
+            return VNPayIpnResponse.unknownError();
+        }
+        try {
+            PaymentCallback callback = PaymentCallback.builder()
+                    .txnRef(txnRef)
+                    .amount(Long.parseLong(amount))
+                    .responseCode(params.get("vnp_ResponseCode"))
+                    .transactionStatus(params.get("vnp_TransactionStatus"))
+                    .transactionNo(params.get("vnp_TransactionNo"))
+                    .bankCode(params.get("vnp_BankCode"))
+                    .payDate(params.get("vnp_PayDate"))
+                    .receivedAt(System.currentTimeMillis())
+                    .build();
+            Long queued = stringRedisTemplate.execute(INGEST_SCRIPT, List.of(FENCE_PREFIX + txnRef, STREAM_KEY),
+                    String.valueOf(fenceTtlMillis), objectMapper.writeValueAsString(callback));
+            if (queued != null && queued == 1) {
+                accepted.increment();
+                return VNPayIpnResponse.confirmed();
+            }
+            duplicates.increment();
+            return VNPayIpnResponse.alreadyConfirmed();
+        } catch (NumberFormatException | JsonProcessingException e) {
+            rejected.increment();
+            return VNPayIpnResponse.unknownError();
+        } catch (DataAccessException e) {
+            log.error("Could not queue VNPay callback for {}: {}", txnRef, e.getMessage());
+            rejected.increment();
+            return VNPayIpnResponse.unknownError();
+        }
+    }
+
+    @Override
+    public void ensureConsumerGroup() {
+        try {
+            stringRedisTemplate.execute(connection -> connection.streamCommands().xGroupCreate(
+                    STREAM_KEY.getBytes(), GROUP, ReadOffset.from("0"), true), true);
+        } catch (RedisSystemException e) {
+            String message = e.getMostSpecificCause().getMessage();
+            if (message == null || !message.contains("BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public Map<String, PaymentCallback> poll(String consumer, int count, Duration block) {
+        StreamReadOptions options = StreamReadOptions.empty().count(count);
+        if (!block.isZero()) {
+            options = options.block(block);
+        }
+        List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream().read(
+                Consumer.from(GROUP, consumer), options, StreamOffset.create(STREAM_KEY, ReadOffset.lastConsumed()));
+        Map<String, PaymentCallback> callbacks = new LinkedHashMap<>();
+        if (records == null) {
+            return callbacks;
+        }
+        for (MapRecord<String, Object, Object> record : records) {
+            Object payload = record.getValue().get(PAYLOAD_FIELD);
+            try {
+                callbacks.put(record.getId().getValue(), objectMapper.readValue(String.valueOf(payload), PaymentCallback.class));
+            } catch (JsonProcessingException e) {
+                log.warn("Dropping malformed payment callback entry {}", record.getId());
+                acknowledge(List.of(record.getId().getValue()));
+            }
+        }
+        return callbacks;
+    }
+
+    @Override
+    public void acknowledge(Collection<String> recordIds) {
+        if (recordIds.isEmpty()) {
+            return;
+        }
+        List<String> args = new ArrayList<>(recordIds.size() + 1);
+        args.add(GROUP);
+        args.addAll(recordIds);
+        stringRedisTemplate.execute(ACK_SCRIPT, List.of(STREAM_KEY), args.toArray());
+    }
+
+    @Override
+    public long requeueStale(Duration minIdle, int limit) {
+        PendingMessages pending = stringRedisTemplate.opsForStream().pending(STREAM_KEY, GROUP, Range.unbounded(), limit);
+        long requeued = 0;
+        if (pending == null) {
+            return requeued;
+        }
+        for (PendingMessage message : pending) {
+            if (message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) >= 0) {
+                Long result = stringRedisTemplate.execute(REQUEUE_SCRIPT, List.of(STREAM_KEY, DEAD_LETTER_KEY),
+                        GROUP, message.getIdAsString(), String.valueOf(maxAttempts),
+                        String.valueOf(System.currentTimeMillis()), String.valueOf(deadLetterMaxLength));
+                if (result != null && result < 0) {
+                    deadLettered.increment();
+                    log.error("Dead-lettered payment callback {} after {} failed attempts", message.getIdAsString(), maxAttempts);
+                } else if (result != null) {
+                    requeued += result;
+                }
+            }
+        }
+        return requeued;
+    }
+
+    private static RedisScript<Long> script(String path) {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("scripts/" + path));
+        script.setResultType(Long.class);
+        return script;
+    }
+}
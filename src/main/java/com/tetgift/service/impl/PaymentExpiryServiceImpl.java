@@ -0,0 +1,90 @@
+package com.tetgift.service.impl;
+
+import com.tetgift.enums.PaymentStatus;
+import com.tetgift.model.payment.PaymentStatusUpdate;
+import com.tetgift.model.payment.PendingPayment;
+import com.tetgift.repository.jdbc.PaymentStatusBatchRepository;
+import com.tetgift.service.DelayedJobHandler;
+import com.tetgift.service.DelayedJobService;
+import com.tetgift.service.PaymentExpiryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expires unpaid payments and cancels their orders once the VNPay payment window (15 minutes
+ * plus a grace period for late IPNs) has passed. The deadline lives in the delayed-job queue;
+ * settling a payment cancels it, and the conditional update makes a late firing harmless.
+ */
+@Service
+@Slf4j
+public class PaymentExpiryServiceImpl implements PaymentExpiryService, DelayedJobHandler {
+    static final String QUEUE = "payment-expiry";
+
+    private final DelayedJobService delayedJobService;
+    private final PaymentStatusBatchRepository paymentStatusBatchRepository;
+    private final Duration ttl;
+
+    public PaymentExpiryServiceImpl(DelayedJobService delayedJobService,
+                                    PaymentStatusBatchRepository paymentStatusBatchRepository,
+                                    @Value("${payment.expiry.ttl-minutes:20}") long ttlMinutes) {
+        this.delayedJobService = delayedJobService;
+        this.paymentStatusBatchRepository = paymentStatusBatchRepository;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+    }
+
+    @Override
+    public void scheduleExpiry(Long paymentId, LocalDateTime createdAt) {
+        delayedJobService.schedule(QUEUE, String.valueOf(paymentId), dueAt(createdAt));
+    }
+
+    /**
+     * Schedules a batch in one ZADD. Rescheduling an already known payment keeps its due time,
+     * since it is derived from the creation time.
+     */
+    @Override
+    public void scheduleExpiry(Collection<PendingPayment> payments) {
+        Map<String, Long> dueAtByJobId = new HashMap<>(payments.size());
+        for (PendingPayment payment : payments) {
+            dueAtByJobId.put(String.valueOf(payment.getId()), dueAt(payment.getCreatedAt()));
+        }
+        delayedJobService.scheduleAll(QUEUE, dueAtByJobId);
+    }
+
+    @Override
+    public void cancelExpiry(Long paymentId) {
+        delayedJobService.cancel(QUEUE, String.valueOf(paymentId));
+    }
+
+    @Override
+    public String queue() {
+        return QUEUE;
+    }
+
+    @Override
+    public void handle(List<String> jobIds) {
+        List<PaymentStatusUpdate> updates = new ArrayList<>(jobIds.size());
+        for (String jobId : jobIds) {
+            try {
+                updates.add(new PaymentStatusUpdate(Long.parseLong(jobId), PaymentStatus.EXPIRED, null, null, null));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed payment expiry job {}", jobId);
+            }
+        }
+        int expired = paymentStatusBatchRepository.applyAll(updates);
+        log.info("Expired {} of {} due payments", expired, updates.size());
+    }
+
+    private long dueAt(LocalDateTime createdAt) {
+        return createdAt.atZone(ZoneId.systemDefault()).plus(ttl).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,179 @@
+package com.tetgift.service.impl;
+
+import com.tetgift.component.VNPayQueryClient;
+import com.tetgift.dto.response.VNPayQueryResponse;
+import com.tetgift.enums.PaymentStatus;
+import com.tetgift.model.payment.PaymentStatusUpdate;
+import com.tetgift.model.payment.PendingPayment;
+import com.tetgift.model.payment.ReconciliationReport;
+import com.tetgift.repository.jdbc.PaymentStatusBatchRepository;
+import com.tetgift.repository.jpa.PaymentRepository;
+import com.tetgift.service.PaymentExpiryService;
+import com.tetgift.service.PaymentReconciliationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * Settles payments left in {@code PENDING} (IPN never arrived or was rejected) by asking VNPay.
+ * Pending payments are read in keyset pages, each page is queried with one virtual thread per
+ * payment under a concurrency cap, and the resulting statuses are written back as one JDBC batch.
+ * Payments still pending afterwards are handed to {@link PaymentExpiryService}, so rows created by
+ * any producer get an expiry deadline.
+ */
+@Service
+@Slf4j
+public class PaymentReconciliationServiceImpl implements PaymentReconciliationService {
+    private static final DateTimeFormatter VNP_DATE = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final String SUCCESS_CODE = "00";
+    private static final String NOT_FOUND_CODE = "91";
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentStatusBatchRepository paymentStatusBatchRepository;
+    private final VNPayQueryClient vnPayQueryClient;
+    private final PaymentExpiryService paymentExpiryService;
+    private final MeterRegistry meterRegistry;
+    private final int pageSize;
+    private final Semaphore permits;
+    private final Duration minAge;
+    private final Duration expireAfter;
+    private final Timer queryLatency;
+
+    public PaymentReconciliationServiceImpl(PaymentRepository paymentRepository,
+                                            PaymentStatusBatchRepository paymentStatusBatchRepository,
+                                            VNPayQueryClient vnPayQueryClient,
+                                            PaymentExpiryService paymentExpiryService,
+                                            MeterRegistry meterRegistry,
+                                            @Value("${payment.reconciliation.page-size:500}") int pageSize,
+                                            @Value("${payment.reconciliation.concurrency:32}") int concurrency,
+                                            @Value("${payment.reconciliation.min-age-minutes:15}") long minAgeMinutes,
+                                            @Value("${payment.reconciliation.expire-after-minutes:60}") long expireAfterMinutes) {
+        this.paymentRepository = paymentRepository;
+        this.paymentStatusBatchRepository = paymentStatusBatchRepository;
+        this.vnPayQueryClient = vnPayQueryClient;
+        this.paymentExpiryService = paymentExpiryService;
+        this.meterRegistry = meterRegistry;
+        this.pageSize = pageSize;
+        this.permits = new Semaphore(concurrency);
+        this.minAge = Duration.ofMinutes(minAgeMinutes);
+        this.expireAfter = Duration.ofMinutes(expireAfterMinutes);
+        this.queryLatency = Timer.builder("payment.reconciliation.query.latency").register(meterRegistry);
+    }
+
+    @Override
+    public ReconciliationReport reconcile() throws InterruptedException {
+        long started = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime createdBefore = now.minus(minAge);
+        LocalDateTime expiredBefore = now.minus(expireAfter);
+        int scanned = 0;
+        int updated = 0;
+        int errors = 0;
+        long afterId = 0;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<PendingPayment> page;
+            do {
+                page = paymentRepository.findPageAfter(PaymentStatus.PENDING, createdBefore, afterId, PageRequest.ofSize(pageSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+                List<Future<Optional<PaymentStatusUpdate>>> futures = new ArrayList<>(page.size());
+                for (PendingPayment payment : page) {
+                    permits.acquire();
+                    futures.add(executor.submit(() -> {
+                        try {
+                            return settle(payment, expiredBefore);
+                        } finally {
+                            permits.release();
+                        }
+                    }));
+                }
+                List<PaymentStatusUpdate> updates = new ArrayList<>();
+                for (Future<Optional<PaymentStatusUpdate>> future : futures) {
+                    try {
+                        future.get().ifPresent(updates::add);
+                    } catch (ExecutionException e) {
+                        errors++;
+                        log.warn("Reconciling a payment failed: {}", e.getCause().getMessage());
+                    }
+                }
+                updated += paymentStatusBatchRepository.applyAll(updates);
+                Set<Long> settled = new HashSet<>(updates.size());
+                updates.forEach(update -> settled.add(update.getPaymentId()));
+                paymentExpiryService.scheduleExpiry(page.stream().filter(payment -> !settled.contains(payment.getId())).toList());
+                for (PaymentStatusUpdate update : updates) {
+                    meterRegistry.counter("payment.reconciliation.settled", "status", update.getStatus().name().toLowerCase()).increment();
+                }
+                scanned += page.size();
+                afterId = page.get(page.size() - 1).getId();
+            } while (page.size() == pageSize);
+        }
+
+        ReconciliationReport report = new ReconciliationReport(scanned, updated, errors, System.currentTimeMillis() - started);
+        if (scanned > 0) {
+            log.info("Reconciled {} pending payments: {} updated, {} errors in {} ms", scanned, updated, errors, report.getElapsedMillis());
+        }
+        return report;
+    }
+
+    private Optional<PaymentStatusUpdate> settle(PendingPayment payment, LocalDateTime expiredBefore) throws InterruptedException {
+        long start = System.nanoTime();
+        Optional<VNPayQueryResponse> found = vnPayQueryClient.query(String.valueOf(payment.getId()), payment.getCreatedAt());
+        queryLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        VNPayQueryResponse response = found.get();
+        boolean expired = payment.getCreatedAt().isBefore(expiredBefore);
+        if (NOT_FOUND_CODE.equals(response.getResponseCode())) {
+            return expired ? Optional.of(update(payment, PaymentStatus.EXPIRED, response)) : Optional.empty();
+        }
+        if (!SUCCESS_CODE.equals(response.getResponseCode())) {
+            return Optional.empty();
+        }
+        return switch (String.valueOf(response.getTransactionStatus())) {
+            case "00" -> {
+                if (!String.valueOf(payment.getAmount() * 100).equals(response.getAmount())) {
+                    log.error("VNPay amount mismatch for payment {}: expected {}, got {}",
+                            payment.getId(), payment.getAmount() * 100, response.getAmount());
+                    yield Optional.of(update(payment, PaymentStatus.FAILED, response));
+                }
+                yield Optional.of(new PaymentStatusUpdate(payment.getId(), PaymentStatus.SUCCESS,
+                        response.getTransactionNo(), response.getBankCode(), parsePayDate(response.getPayDate())));
+            }
+            case "02", "07" -> Optional.of(update(payment, PaymentStatus.FAILED, response));
+            case "01", "05" -> expired ? Optional.of(update(payment, PaymentStatus.EXPIRED, response)) : Optional.empty();
+            default -> Optional.empty();
+        };
+    }
+
+    private static PaymentStatusUpdate update(PendingPayment payment, PaymentStatus status, VNPayQueryResponse response) {
+        return new PaymentStatusUpdate(payment.getId(), status, response.getTransactionNo(), response.getBankCode(), null);
+    }
+
+    private static LocalDateTime parsePayDate(String payDate) {
+        if (payDate == null) {
+            return LocalDateTime.now();
+        }
+        try {
+            return LocalDateTime.parse(payDate, VNP_DATE);
+        } catch (DateTimeParseException e) {
+            return LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.tetgift.service.impl;
+
+import com.tetgift.dto.message.PaymentCallback;
+import com.tetgift.enums.OrderStatus;
+import com.tetgift.enums.PaymentStatus;
+import com.tetgift.enums.PaymentTransitionResult;
+import com.tetgift.model.Orders;
+import com.tetgift.model.Payment;
+import com.tetgift.repository.jpa.OrderRepository;
+import com.tetgift.repository.jpa.PaymentRepository;
+import com.tetgift.service.OrderStatusNotifier;
+import com.tetgift.service.PaymentExpiryService;
+import com.tetgift.service.PaymentTransitionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Applies the outcome of a batch of callbacks for one transaction reference. Transitions are
+ * conditional updates from {@code PENDING} / {@code WAITING_PAYMENT}, so replays are no-ops.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PaymentTransitionServiceImpl implements PaymentTransitionService {
+    private static final DateTimeFormatter VNP_DATE = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final String SUCCESS_CODE = "00";
+
+    private final PaymentRepository paymentRepository;
+    private final OrderRepository orderRepository;
+    private final PaymentExpiryService paymentExpiryService;
+    private final OrderStatusNotifier orderStatusNotifier;
+
+    @Override
+    @Transactional
+    public PaymentTransitionResult apply(String txnRef, List<PaymentCallback> callbacks) {
+        Optional<Payment> found = parseId(txnRef).flatMap(paymentRepository::findWithOrderById);
+        if (found.isEmpty()) {
+            log.warn("VNPay callback for unknown payment {}", txnRef);
+            return PaymentTransitionResult.NOT_FOUND;
+        }
+        Payment payment = found.get();
+        if (payment.getStatus() != PaymentStatus.PENDING) {
+            return PaymentTransitionResult.ALREADY_APPLIED;
+        }
+
+        PaymentCallback callback = callbacks.get(callbacks.size() - 1);
+        if (callback.getAmount() != payment.getAmount() * 100) {
+            log.error("VNPay amount mismatch for payment {}: expected {}, got {}", txnRef, payment.getAmount() * 100, callback.getAmount());
+            paymentRepository.transition(payment.getId(), PaymentStatus.PENDING, PaymentStatus.FAILED,
+                    callback.getTransactionNo(), callback.getBankCode(), null);
+            paymentExpiryService.cancelExpiry(payment.getId());
+            return PaymentTransitionResult.AMOUNT_MISMATCH;
+        }
+
+        boolean paid = SUCCESS_CODE.equals(callback.getResponseCode())
+                && (callback.getTransactionStatus() == null || SUCCESS_CODE.equals(callback.getTransactionStatus()));
+        if (!paid) {
+            paymentRepository.transition(payment.getId(), PaymentStatus.PENDING, PaymentStatus.FAILED,
+                    callback.getTransactionNo(), callback.getBankCode(), null);
+            paymentExpiryService.cancelExpiry(payment.getId());
+            return PaymentTransitionResult.FAILED;
+        }
+        if (paymentRepository.transition(payment.getId(), PaymentStatus.PENDING, PaymentStatus.SUCCESS,
+                callback.getTransactionNo(), callback.getBankCode(), parsePayDate(callback.getPayDate())) == 0) {
+            return PaymentTransitionResult.ALREADY_APPLIED;
+        }
+        Orders order = payment.getOrder();
+        if (orderRepository.transition(order.getId(), OrderStatus.WAITING_PAYMENT, OrderStatus.PAID) == 1) {
+            orderStatusNotifier.notify(order.getUser().getId(), order.getId(), OrderStatus.PAID, "Payment received");
+        }
+        paymentExpiryService.cancelExpiry(payment.getId());
+        return PaymentTransitionResult.PAID;
+    }
+
+    private static Optional<Long> parseId(String txnRef) {
+        try {
+            return Optional.of(Long.parseLong(txnRef));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static LocalDateTime parsePayDate(String payDate) {
+        if (payDate == null) {
+            return LocalDateTime.now();
+        }
+        try {
+            return LocalDateTime.parse(payDate, VNP_DATE);
+        } catch (DateTimeParseException e) {
+            return LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.tetgift.service.impl;
+
+import com.tetgift.configuration.RateLimitConfig;
+import com.tetgift.model.ratelimit.RateLimitDecision;
+import com.tetgift.service.RateLimiterService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token buckets kept in Redis and checked with a single Lua call per request, so either every bucket
+ * of the policy gives up a token or none does. Keys share the {@code {policy}} hash tag.
+ * A bucket Redis reports as empty is remembered locally until it refills, which lets this node
+ * turn away a client that keeps hammering an exhausted bucket without another round trip.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RateLimiterServiceImpl implements RateLimiterService {
+    private static final String KEY_PREFIX = "rate_limit:";
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TOKEN_BUCKET_SCRIPT = tokenBucketScript();
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RateLimitConfig rateLimitConfig;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, Long> blockedUntil = new ConcurrentHashMap<>();
+
+    @Override
+    public RateLimitDecision tryAcquire(String policy, String clientIp, String account) {
+        List<RateLimitConfig.Bucket> buckets = rateLimitConfig.getPolicies().get(policy);
+        if (buckets == null || buckets.isEmpty()) {
+            throw new IllegalStateException("Unknown rate limit policy: " + policy);
+        }
+        long now = System.currentTimeMillis();
+        List<String> keys = new ArrayList<>(buckets.size());
+        List<String> args = new ArrayList<>(buckets.size() * 2 + 1);
+        args.add(String.valueOf(now));
+        for (RateLimitConfig.Bucket bucket : buckets) {
+            String identifier = switch (bucket.getScope()) {
+                case IP -> clientIp;
+                case ACCOUNT -> StringUtils.hasText(account) ? account.trim().toLowerCase(Locale.ROOT) : null;
+                case GLOBAL -> "all";
+            };
+            if (identifier == null) {
+                continue;
+            }
+            keys.add(KEY_PREFIX + "{" + policy + "}:" + bucket.getScope().name().toLowerCase(Locale.ROOT) + ":" + identifier);
+            args.add(String.valueOf(bucket.getCapacity()));
+            args.add(String.valueOf(bucket.getPeriod().toMillis()));
+        }
+
+        long localRetryAfter = localRetryAfterMillis(keys, now);
+        if (localRetryAfter > 0) {
+            count(policy, "blocked_locally");
+            return RateLimitDecision.rejected(toSeconds(localRetryAfter));
+        }
+
+        List<?> result;
+        try {
+            result = stringRedisTemplate.execute(TOKEN_BUCKET_SCRIPT, keys, args.toArray());
+        } catch (DataAccessException e) {
+            log.warn("Rate limiter unavailable, allowing request for policy {}: {}", policy, e.getMessage());
+            count(policy, "fail_open");
+            return RateLimitDecision.allowed(-1);
+        }
+        if (result == null || result.size() < 2) {
+            count(policy, "fail_open");
+            return RateLimitDecision.allowed(-1);
+        }
+
+        if (((Number) result.get(0)).longValue() == 1) {
+            count(policy, "allowed");
+            return RateLimitDecision.allowed(((Number) result.get(1)).longValue());
+        }
+        long retryAfterMillis = ((Number) result.get(1)).longValue();
+        int emptyBucket = ((Number) result.get(2)).intValue() - 1;
+        if (emptyBucket >= 0 && emptyBucket < keys.size() && blockedUntil.size() < rateLimitConfig.getLocalBlockMaxEntries()) {
+            blockedUntil.merge(keys.get(emptyBucket), now + retryAfterMillis, Math::max);
+        }
+        count(policy, "rejected");
+        return RateLimitDecision.rejected(toSeconds(retryAfterMillis));
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.local-block-purge-interval-ms:60000}")
+    public void purgeExpiredBlocks() {
+        long now = System.currentTimeMillis();
+        blockedUntil.values().removeIf(until -> until <= now);
+    }
+
+    private long localRetryAfterMillis(List<String> keys, long now) {
+        long retryAfter = 0;
+        for (String key : keys) {
+            Long until = blockedUntil.get(key);
+            if (until != null) {
+                if (until > now) {
+                    retryAfter = Math.max(retryAfter, until - now);
+                } else {
+                    blockedUntil.remove(key, until);
+                }
+            }
+        }
+        return retryAfter;
+    }
+
+    private void count(String policy, String result) {
+        meterRegistry.counter("rate_limit.requests", "policy", policy, "result", result).increment();
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static RedisScript<List> tokenBucketScript() {
+        DefaultRedisScript<List> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("scripts/ratelimit/token-bucket.lua"));
+        script.setResultType(List.class);
+        return script;
+    }
+
+    private static long toSeconds(long millis) {
+        return Math.max(1, (millis + 999) / 1000);
+    }
+}
@@ -0,0 +1,114 @@
+package com.tetgift.service.impl;
+
+import com.tetgift.component.RedisNearCache;
+import com.tetgift.component.VerifiedTokenCache;
+import com.tetgift.service.SecurityVersionService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user security version kept in Redis. Bumping it (lock, password change, logout-all)
+ * invalidates every token issued before the bump. Each node keeps an in-process copy that is
+ * refreshed through pub/sub and expires after a short TTL as a safety net. While the
+ * {@link RedisNearCache} is tracking, reads go through it instead and are invalidated exactly.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SecurityVersionServiceImpl implements SecurityVersionService, MessageListener {
+    private static final String KEY_PREFIX = "security_version:";
+    private static final String CHANNEL = "security_version_changed";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final RedisNearCache nearCache;
+    private final Map<Long, CachedVersion> localVersions = new ConcurrentHashMap<>();
+
+    @Value("${jwt.security-version-cache-seconds:30}")
+    private long cacheSeconds;
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @Override
+    public long getVersion(Long userId) {
+        if (userId == null) {
+            return 0L;
+        }
+        if (nearCache.isTracking()) {
+            String stored = nearCache.get(KEY_PREFIX + userId);
+            return stored != null ? Long.parseLong(stored) : 0L;
+        }
+        CachedVersion cached = localVersions.get(userId);
+        long now = System.nanoTime();
+        if (cached != null && cached.expiresAtNanos() > now) {
+            return cached.version();
+        }
+        String stored = stringRedisTemplate.opsForValue().get(KEY_PREFIX + userId);
+        long version = stored != null ? Long.parseLong(stored) : 0L;
+        localVersions.put(userId, new CachedVersion(version, now + cacheSeconds * 1_000_000_000L));
+        return version;
+    }
+
+    @Override
+    public long bumpVersion(Long userId) {
+        Long version = stringRedisTemplate.opsForValue().increment(KEY_PREFIX + userId);
+        long newVersion = version != null ? version : 0L;
+        localVersions.put(userId, new CachedVersion(newVersion, System.nanoTime() + cacheSeconds * 1_000_000_000L));
+        verifiedTokenCache.invalidateUser(userId);
+        stringRedisTemplate.convertAndSend(CHANNEL, userId + ":" + newVersion);
+        log.info("Security version bumped for user {} to {}", userId, newVersion);
+        return newVersion;
+    }
+
+    @Override
+    public boolean isCurrent(Long userId, Long tokenVersion) {
+        long version = tokenVersion != null ? tokenVersion : 0L;
+        return version >= getVersion(userId);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        if (separator < 0) {
+            return;
+        }
+        try {
+            Long userId = Long.parseLong(body.substring(0, separator));
+            long version = Long.parseLong(body.substring(separator + 1));
+            localVersions.merge(userId,
+                    new CachedVersion(version, System.nanoTime() + cacheSeconds * 1_000_000_000L),
+                    (current, incoming) -> incoming.version() >= current.version() ? incoming : current);
+            verifiedTokenCache.invalidateUser(userId);
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed security version message: {}", body);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.security-version-cache-seconds:30}", timeUnit = TimeUnit.SECONDS)
+    public void evictExpired() {
+        long now = System.nanoTime();
+        localVersions.values().removeIf(cached -> cached.expiresAtNanos() <= now);
+    }
+
+    private record CachedVersion(long version, long expiresAtNanos) {
+    }
+}
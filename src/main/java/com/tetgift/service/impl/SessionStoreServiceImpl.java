@@ -0,0 +1,136 @@
+package com.tetgift.service.impl;
+
+import com.tetgift.dto.response.SessionResponse;
+import com.tetgift.enums.SessionRotationResult;
+import com.tetgift.service.SessionStoreService;
+import com.tetgift.util.TokenDigestUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Refresh-token sessions kept as one hash per token digest plus a per-user sorted set scored by expiry.
+ * Create, rotate (including reuse detection and family revocation), revoke, revoke-all and list
+ * are each one Lua script, so every operation is a single atomic round trip.
+ * <p>
+ * Keys share the {@code {userId}} hash tag. Scripts that walk the index build session keys from a
+ * prefix rather than declaring them in {@code KEYS}. That trades strict key declaration for
+ * atomicity: on Redis Cluster those keys hash to the same slot as the declared index, so each
+ * script still runs on one node.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SessionStoreServiceImpl implements SessionStoreService {
+    private static final RedisScript<Long> CREATE_SCRIPT = script("create.lua", Long.class);
+    private static final RedisScript<Long> ROTATE_SCRIPT = script("rotate.lua", Long.class);
+    private static final RedisScript<Long> REVOKE_SCRIPT = script("revoke.lua", Long.class);
+    private static final RedisScript<Long> REVOKE_ALL_SCRIPT = script("revoke-all.lua", Long.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> LIST_SCRIPT = script("list.lua", List.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Override
+    public void createSession(Long userId, String refreshToken, String device, Instant issuedAt, Instant expiresAt) {
+        String sessionId = TokenDigestUtil.sha256Hex(refreshToken);
+        stringRedisTemplate.execute(CREATE_SCRIPT,
+                List.of(sessionKey(userId, sessionId), indexKey(userId)),
+                sessionId,
+                device != null ? device : "unknown",
+                String.valueOf(issuedAt.toEpochMilli()),
+                String.valueOf(expiresAt.toEpochMilli()),
+                String.valueOf(System.currentTimeMillis()));
+    }
+
+    @Override
+    public SessionRotationResult rotateSession(Long userId, String oldRefreshToken, String newRefreshToken,
+                                               Instant issuedAt, Instant expiresAt) {
+        String oldSessionId = TokenDigestUtil.sha256Hex(oldRefreshToken);
+        String newSessionId = TokenDigestUtil.sha256Hex(newRefreshToken);
+        Long result = stringRedisTemplate.execute(ROTATE_SCRIPT,
+                List.of(sessionKey(userId, oldSessionId), sessionKey(userId, newSessionId), indexKey(userId)),
+                oldSessionId,
+                newSessionId,
+                String.valueOf(issuedAt.toEpochMilli()),
+                String.valueOf(expiresAt.toEpochMilli()),
+                String.valueOf(System.currentTimeMillis()),
+                sessionKeyPrefix(userId));
+        if (result == null || result == 0L) {
+            return SessionRotationResult.NOT_FOUND;
+        }
+        if (result < 0) {
+            log.warn("Refresh token reuse detected for user {}, all sessions revoked", userId);
+            return SessionRotationResult.REUSE_DETECTED;
+        }
+        return SessionRotationResult.ROTATED;
+    }
+
+    @Override
+    public boolean isSessionActive(Long userId, String refreshToken) {
+        Object status = stringRedisTemplate.opsForHash()
+                .get(sessionKey(userId, TokenDigestUtil.sha256Hex(refreshToken)), "status");
+        return "active".equals(status);
+    }
+
+    @Override
+    public void revokeSession(Long userId, String refreshToken) {
+        String sessionId = TokenDigestUtil.sha256Hex(refreshToken);
+        stringRedisTemplate.execute(REVOKE_SCRIPT, List.of(sessionKey(userId, sessionId), indexKey(userId)), sessionId);
+    }
+
+    @Override
+    public long revokeAllSessions(Long userId) {
+        Long revoked = stringRedisTemplate.execute(REVOKE_ALL_SCRIPT, List.of(indexKey(userId)), sessionKeyPrefix(userId));
+        return revoked != null ? revoked : 0L;
+    }
+
+    /**
+     * Live sessions from the index; index entries whose hash has expired are dropped in the same script.
+     */
+    @Override
+    public List<SessionResponse> listSessions(Long userId) {
+        List<?> flat = stringRedisTemplate.execute(LIST_SCRIPT, List.of(indexKey(userId)),
+                sessionKeyPrefix(userId), String.valueOf(System.currentTimeMillis()));
+        List<SessionResponse> sessions = new ArrayList<>();
+        if (flat == null) {
+            return sessions;
+        }
+        for (int i = 0; i + 3 < flat.size(); i += 4) {
+            sessions.add(SessionResponse.builder()
+                    .sessionId(String.valueOf(flat.get(i)))
+                    .device(String.valueOf(flat.get(i + 1)))
+                    .issuedAt(Instant.ofEpochMilli(Long.parseLong(String.valueOf(flat.get(i + 2)))))
+                    .expiresAt(Instant.ofEpochMilli(Long.parseLong(String.valueOf(flat.get(i + 3)))))
+                    .build());
+        }
+        return sessions;
+    }
+
+    static String indexKey(Long userId) {
+        return "session:{" + userId + "}:index";
+    }
+
+    static String sessionKeyPrefix(Long userId) {
+        return "session:{" + userId + "}:token:";
+    }
+
+    private static String sessionKey(Long userId, String sessionId) {
+        return sessionKeyPrefix(userId) + sessionId;
+    }
+
+    private static <T> RedisScript<T> script(String name, Class<T> resultType) {
+        DefaultRedisScript<T> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("scripts/session/" + name));
+        script.setResultType(resultType);
+        return script;
+    }
+}
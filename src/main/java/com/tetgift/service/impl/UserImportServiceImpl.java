@@ -0,0 +1,382 @@
+package com.tetgift.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.tetgift.component.SnowflakeNodeLease;
+import com.tetgift.dto.request.AddressImportRow;
+import com.tetgift.dto.request.UserImportRow;
+import com.tetgift.dto.response.UserImportReport;
+import com.tetgift.enums.ImportFormat;
+import com.tetgift.exception.InvalidParameterException;
+import com.tetgift.exception.ResourceNotFoundException;
+import com.tetgift.exception.ServiceOverloadedException;
+import com.tetgift.model.userimport.ImportChunkResult;
+import com.tetgift.model.userimport.ImportedAddress;
+import com.tetgift.model.userimport.ImportedUser;
+import com.tetgift.model.userimport.UserImportJob;
+import com.tetgift.repository.jdbc.UserImportRepository;
+import com.tetgift.service.UserImportService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Runs a bulk user upload in the background. The request thread only spools the body to a temporary
+ * file and returns the import id; BCrypt at the configured cost makes the import itself take far
+ * longer than a request should stay open. A {@code userImportCoordinator} thread then parses one row
+ * at a time and submits it to {@code userImportExecutor}, which validates it and hashes the password;
+ * finished rows are collected in upload order into chunks that are written with {@code COPY}. At most
+ * {@code max-in-flight} rows are being prepared and one chunk is buffered, so memory does not grow
+ * with the upload. Each chunk commits on its own; a failed import keeps the chunks written before it.
+ */
+@Service
+@Slf4j
+public class UserImportServiceImpl implements UserImportService {
+    private static final List<String> ADDRESS_COLUMNS =
+            List.of("receiverName", "phoneNumber", "streetAddress", "ward", "district", "province");
+
+    private final UserImportRepository userImportRepository;
+    private final Validator validator;
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor executor;
+    private final ThreadPoolTaskExecutor coordinator;
+    private final SnowflakeNodeLease ids;
+    private final ObjectReader ndjsonReader;
+    private final ObjectReader csvReader;
+    private final Semaphore permits;
+    private final int chunkSize;
+    private final int maxInFlight;
+    private final int maxReportedErrors;
+    private final long retryAfterSeconds;
+    private final Counter importedRows;
+    private final Counter duplicateRows;
+    private final Counter invalidRows;
+    private final Map<String, UserImportJob> jobs;
+
+    public UserImportServiceImpl(UserImportRepository userImportRepository,
+                                 Validator validator,
+                                 PasswordEncoder passwordEncoder,
+                                 @Qualifier("userImportExecutor") ThreadPoolTaskExecutor executor,
+                                 @Qualifier("userImportCoordinator") ThreadPoolTaskExecutor coordinator,
+                                 SnowflakeNodeLease ids,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${user-import.chunk-size:1000}") int chunkSize,
+                                 @Value("${user-import.max-in-flight:256}") int maxInFlight,
+                                 @Value("${user-import.max-concurrent:1}") int maxConcurrent,
+                                 @Value("${user-import.max-reported-errors:1000}") int maxReportedErrors,
+                                 @Value("${user-import.history-size:20}") int historySize,
+                                 @Value("${user-import.retry-after-seconds:30}") long retryAfterSeconds) {
+        this.userImportRepository = userImportRepository;
+        this.validator = validator;
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.coordinator = coordinator;
+        this.ids = ids;
+        this.ndjsonReader = objectMapper.readerFor(UserImportRow.class);
+        this.csvReader = new CsvMapper().readerForMapOf(String.class).with(CsvSchema.emptySchema().withHeader());
+        this.permits = new Semaphore(maxConcurrent);
+        this.chunkSize = chunkSize;
+        this.maxInFlight = maxInFlight;
+        this.maxReportedErrors = maxReportedErrors;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.importedRows = rowCounter(meterRegistry, "imported");
+        this.duplicateRows = rowCounter(meterRegistry, "duplicate");
+        this.invalidRows = rowCounter(meterRegistry, "invalid");
+        this.jobs = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UserImportJob> eldest) {
+                return size() > historySize && !eldest.getValue().isRunning();
+            }
+        };
+    }
+
+    @Override
+    public UserImportReport importUsers(InputStream body, ImportFormat format, String role) {
+        if (!userImportRepository.roleExists(role)) {
+            throw new InvalidParameterException("Unknown role: " + role);
+        }
+        if (!permits.tryAcquire()) {
+            throw new ServiceOverloadedException("Another user import is running, please retry later", retryAfterSeconds);
+        }
+        UserImportJob job = new UserImportJob(UUID.randomUUID().toString(), format, maxReportedErrors);
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+        }
+        Path upload = null;
+        try {
+            upload = spool(body);
+            Path spooled = upload;
+            coordinator.execute(() -> run(job, spooled, format, role));
+        } catch (IOException e) {
+            job.fail("Could not read the upload: " + e.getMessage());
+            abandon(upload);
+        } catch (TaskRejectedException e) {
+            job.fail("Import could not be started");
+            abandon(upload);
+            throw new ServiceOverloadedException("Another user import is running, please retry later", retryAfterSeconds);
+        }
+        return job.toReport();
+    }
+
+    @Override
+    public UserImportReport getImport(String importId) {
+        UserImportJob job;
+        synchronized (jobs) {
+            job = jobs.get(importId);
+        }
+        if (job == null) {
+            throw new ResourceNotFoundException("Import not found");
+        }
+        return job.toReport();
+    }
+
+    @Override
+    public List<UserImportReport> listImports() {
+        List<UserImportJob> snapshot;
+        synchronized (jobs) {
+            snapshot = new ArrayList<>(jobs.values());
+        }
+        Collections.reverse(snapshot);
+        return snapshot.stream().map(UserImportJob::toReport).toList();
+    }
+
+    private void run(UserImportJob job, Path upload, ImportFormat format, String role) {
+        Pipeline pipeline = new Pipeline(job, role);
+        try (InputStream body = Files.newInputStream(upload)) {
+            if (format == ImportFormat.CSV) {
+                readCsv(body, pipeline::submit);
+            } else {
+                readNdjson(body, job, pipeline::submit);
+            }
+            pipeline.finish();
+            job.complete();
+        } catch (IOException e) {
+            job.fail("Could not read the upload: " + e.getMessage());
+        } catch (DataAccessException e) {
+            log.error("User import {} failed", job.getId(), e);
+            job.fail("Could not write to the database: " + e.getMostSpecificCause().getMessage());
+        } catch (RuntimeException e) {
+            log.error("User import {} failed", job.getId(), e);
+            job.fail("Import failed: " + e.getMessage());
+        } finally {
+            pipeline.cancel();
+            abandon(upload);
+        }
+        UserImportReport report = job.toReport();
+        log.info("User import {} {}: {} read, {} imported, {} duplicates, {} invalid", report.getImportId(),
+                report.getStatus(), report.getRowsRead(), report.getImported(), report.getDuplicates(), report.getInvalid());
+    }
+
+    private static Path spool(InputStream body) throws IOException {
+        Path upload = Files.createTempFile("user-import-", ".upload");
+        try {
+            Files.copy(body, upload, StandardCopyOption.REPLACE_EXISTING);
+            return upload;
+        } catch (IOException e) {
+            Files.deleteIfExists(upload);
+            throw e;
+        }
+    }
+
+    /**
+     * Drops the spooled upload and frees the import slot.
+     */
+    private void abandon(Path upload) {
+        if (upload != null) {
+            try {
+                Files.deleteIfExists(upload);
+            } catch (IOException e) {
+                log.warn("Could not delete user import upload {}: {}", upload, e.getMessage());
+            }
+        }
+        permits.release();
+    }
+
+    /**
+     * CSV with a header row; {@code line} counts records with the header as line 1.
+     */
+    private void readCsv(InputStream body, Consumer<SourceRow> sink) throws IOException {
+        try (MappingIterator<Map<String, String>> rows = csvReader.readValues(body)) {
+            long line = 1;
+            while (rows.hasNextValue()) {
+                sink.accept(new SourceRow(++line, fromCsv(rows.nextValue())));
+            }
+        }
+    }
+
+    /**
+     * One JSON object per line; a malformed line is reported and skipped.
+     */
+    private void readNdjson(InputStream body, UserImportJob job, Consumer<SourceRow> sink) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            long line = 0;
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    sink.accept(new SourceRow(line, ndjsonReader.readValue(text)));
+                } catch (JsonProcessingException e) {
+                    job.rowRead();
+                    job.invalid(line, "Malformed JSON: " + e.getOriginalMessage());
+                    invalidRows.increment();
+                }
+            }
+        }
+    }
+
+    private static UserImportRow fromCsv(Map<String, String> columns) {
+        UserImportRow row = UserImportRow.builder()
+                .username(blankToNull(columns.get("username")))
+                .email(blankToNull(columns.get("email")))
+                .password(blankToNull(columns.get("password")))
+                .fullName(blankToNull(columns.get("fullName")))
+                .phone(blankToNull(columns.get("phone")))
+                .build();
+        if (ADDRESS_COLUMNS.stream().anyMatch(column -> blankToNull(columns.get(column)) != null)) {
+            row.getAddresses().add(AddressImportRow.builder()
+                    .receiverName(blankToNull(columns.get("receiverName")))
+                    .phoneNumber(blankToNull(columns.get("phoneNumber")))
+                    .streetAddress(blankToNull(columns.get("streetAddress")))
+                    .ward(blankToNull(columns.get("ward")))
+                    .district(blankToNull(columns.get("district")))
+                    .province(blankToNull(columns.get("province")))
+                    .build());
+        }
+        return row;
+    }
+
+    /**
+     * Runs on the import executor: validation, then the BCrypt hash and ids for valid rows.
+     */
+    private PreparedRow prepare(SourceRow source) {
+        UserImportRow row = source.row();
+        Set<ConstraintViolation<UserImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            return new PreparedRow(source.line(), null, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        List<ImportedAddress> addresses = Objects.requireNonNullElse(row.getAddresses(), List.<AddressImportRow>of()).stream()
+                .map(address -> new ImportedAddress(ids.getAsLong(), address.getReceiverName().trim(),
+                        address.getPhoneNumber(), address.getStreetAddress().trim(), address.getWard().trim(),
+                        address.getDistrict().trim(), address.getProvince().trim()))
+                .toList();
+        return new PreparedRow(source.line(), new ImportedUser(ids.getAsLong(), source.line(), row.getUsername().trim(),
+                row.getEmail().trim(), passwordEncoder.encode(row.getPassword()), blankToNull(row.getFullName()),
+                row.getPhone(), addresses), null);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static Counter rowCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("user.import.rows").tag("result", result).register(meterRegistry);
+    }
+
+    private record SourceRow(long line, UserImportRow row) {
+    }
+
+    private record PreparedRow(long line, ImportedUser user, String error) {
+    }
+
+    /**
+     * Per-import state: rows being prepared, in upload order, and the chunk being filled.
+     */
+    private final class Pipeline {
+        private final UserImportJob job;
+        private final String role;
+        private final ArrayDeque<Future<PreparedRow>> inFlight = new ArrayDeque<>();
+        private final List<ImportedUser> chunk = new ArrayList<>();
+
+        private Pipeline(UserImportJob job, String role) {
+            this.job = job;
+            this.role = role;
+        }
+
+        void submit(SourceRow row) {
+            job.rowRead();
+            inFlight.add(executor.submit(() -> prepare(row)));
+            if (inFlight.size() >= maxInFlight) {
+                collect(inFlight.poll());
+            }
+        }
+
+        void finish() {
+            while (!inFlight.isEmpty()) {
+                collect(inFlight.poll());
+            }
+            flush();
+        }
+
+        void cancel() {
+            inFlight.forEach(future -> future.cancel(true));
+            inFlight.clear();
+        }
+
+        private void collect(Future<PreparedRow> future) {
+            PreparedRow prepared;
+            try {
+                prepared = future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while importing users", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Preparing an import row failed", e.getCause());
+            }
+            if (prepared.error() != null) {
+                job.invalid(prepared.line(), prepared.error());
+                invalidRows.increment();
+                return;
+            }
+            chunk.add(prepared.user());
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            ImportChunkResult result = userImportRepository.write(chunk, role);
+            job.written(result);
+            importedRows.increment(result.getUsers());
+            duplicateRows.increment(result.getDuplicateLines().size());
+            chunk.clear();
+        }
+    }
+}
@@ -1,19 +1,44 @@
 package com.tetgift.service.impl;
 
+import com.tetgift.component.KeysetPaginator;
+import com.tetgift.dto.request.UserSearchRequest;
+import com.tetgift.dto.response.PageResponse;
+import com.tetgift.dto.response.UserSummaryResponse;
 import com.tetgift.exception.ResourceNotFoundException;
+import com.tetgift.mapper.UsersMapper;
 import com.tetgift.model.Users;
+import com.tetgift.model.page.KeysetSort;
 import com.tetgift.repository.jpa.UserRepository;
+import com.tetgift.repository.jpa.UserSpecifications;
 import com.tetgift.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
+    private static final KeysetSort<Users, LocalDateTime> NEWEST_FIRST = KeysetSort.newestFirst();
+
     private final UserRepository userRepository;
+    private final KeysetPaginator keysetPaginator;
+    private final UsersMapper usersMapper;
 
     @Override
     public Users findByUsername(String username) {
         return userRepository.findByUsername(username).orElseThrow(() -> new ResourceNotFoundException("User not found"));
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<List<UserSummaryResponse>> searchUsers(UserSearchRequest filter, String cursor, int size,
+                                                               boolean withApproximateTotal) {
+        Specification<Users> spec = UserSpecifications.matching(filter);
+        return keysetPaginator.page(userRepository, spec, NEWEST_FIRST, cursor, size, "users",
+                withApproximateTotal && spec == null, usersMapper::toSummary);
+    }
 }
@@ -1,13 +1,18 @@
 package com.tetgift.util;
 
 import com.tetgift.model.Users;
+import com.tetgift.model.auth.AuthPrincipal;
+import com.tetgift.repository.jpa.UserRepository;
+import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
 
 @Component
+@RequiredArgsConstructor
 public class AuthenticationUtils {
+    private final UserRepository userRepository;
 
 
     public Long getCurrentUserId() {
@@ -15,6 +20,9 @@ public class AuthenticationUtils {
         if(authentication != null && authentication.getPrincipal() instanceof Users user) {
             return user.getId();
         }
+        if(authentication != null && authentication.getPrincipal() instanceof AuthPrincipal principal) {
+            return principal.getUserId();
+        }
         return null;
     }
 
@@ -23,6 +31,9 @@ public class AuthenticationUtils {
         if(authentication != null && authentication.getPrincipal() instanceof Users user) {
             return user.getUsername();
         }
+        if(authentication != null && authentication.getPrincipal() instanceof AuthPrincipal principal) {
+            return principal.getUsername();
+        }
         return null;
     }
 
@@ -31,6 +42,9 @@ public class AuthenticationUtils {
         if(authentication != null && authentication.getPrincipal() instanceof Users user) {
             return user;
         }
+        if(authentication != null && authentication.getPrincipal() instanceof AuthPrincipal principal) {
+            return userRepository.findByUsername(principal.getUsername()).orElse(null);
+        }
         return null;
     }
 
@@ -0,0 +1,144 @@
+package com.tetgift.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Redis value serializer writing Jackson Smile or CBOR behind a two-byte header
+ * ({@code 0xFE}, then format id in the high nibble and a deflate flag in the low one).
+ * Payloads of at least {@code compressionThreshold} bytes are deflated when that saves space.
+ * Values without the header are read as the JSON written before this serializer existed, so
+ * both can coexist in Redis until old keys expire; {@link Format#JSON} keeps writing JSON.
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+    private static final byte MAGIC = (byte) 0xFE;
+    private static final int COMPRESSED = 0x01;
+    private static final int HEADER_LENGTH = 2;
+
+    private final Format writeFormat;
+    private final int compressionThreshold;
+    private final RedisSerializer<Object> json;
+    private final Map<Format, RedisSerializer<Object>> binary = new EnumMap<>(Format.class);
+
+    /**
+     * @param baseMapper mapper whose modules and settings are copied to every format
+     * @param defaultTyping whether values carry a class hint, as with {@link GenericJackson2JsonRedisSerializer}
+     */
+    public CompactRedisSerializer(ObjectMapper baseMapper, boolean defaultTyping, Format writeFormat, int compressionThreshold) {
+        this.writeFormat = writeFormat;
+        this.compressionThreshold = compressionThreshold;
+        this.json = serializer(baseMapper.copy(), defaultTyping);
+        binary.put(Format.SMILE, serializer(baseMapper.copyWith(new SmileFactory()), defaultTyping));
+        binary.put(Format.CBOR, serializer(baseMapper.copyWith(new CBORFactory()), defaultTyping));
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (writeFormat == Format.JSON) {
+            return json.serialize(value);
+        }
+        byte[] payload = binary.get(writeFormat).serialize(value);
+        boolean compress = payload.length >= compressionThreshold;
+        byte[] body = compress ? deflate(payload) : payload;
+        if (compress && body.length >= payload.length) {
+            compress = false;
+            body = payload;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + body.length);
+        buffer.put(MAGIC);
+        buffer.put((byte) (writeFormat.id << 4 | (compress ? COMPRESSED : 0)));
+        buffer.put(body);
+        return buffer.array();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC || bytes.length < HEADER_LENGTH) {
+            return json.deserialize(bytes);
+        }
+        Format format = Format.of(bytes[1] >> 4 & 0x0F);
+        byte[] payload = (bytes[1] & COMPRESSED) != 0
+                ? inflate(bytes, HEADER_LENGTH)
+                : Arrays.copyOfRange(bytes, HEADER_LENGTH, bytes.length);
+        return binary.get(format).deserialize(payload);
+    }
+
+    private static RedisSerializer<Object> serializer(ObjectMapper mapper, boolean defaultTyping) {
+        return GenericJackson2JsonRedisSerializer.builder()
+                .objectMapper(mapper)
+                .defaultTyping(defaultTyping)
+                .build();
+    }
+
+    private static byte[] deflate(byte[] payload) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(payload);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length / 2 + 16);
+            byte[] chunk = new byte[Math.min(8192, payload.length + 16)];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes, int offset) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(bytes, offset, bytes.length - offset);
+            ByteArrayOutputStream out = new ByteArrayOutputStream((bytes.length - offset) * 3);
+            byte[] chunk = new byte[8192];
+            while (!inflater.finished()) {
+                int read = inflater.inflate(chunk);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new SerializationException("Truncated compressed Redis value");
+                }
+                out.write(chunk, 0, read);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new SerializationException("Corrupt compressed Redis value", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    public enum Format {
+        JSON(0), SMILE(1), CBOR(2);
+
+        private final int id;
+
+        Format(int id) {
+            this.id = id;
+        }
+
+        static Format of(int id) {
+            for (Format format : values()) {
+                if (format.id == id && format != JSON) {
+                    return format;
+                }
+            }
+            throw new SerializationException("Unknown Redis value format " + id);
+        }
+    }
+}
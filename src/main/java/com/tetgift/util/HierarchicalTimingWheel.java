@@ -0,0 +1,106 @@
+package com.tetgift.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel: level 0 has {@code wheelSize} buckets of {@code tickMillis}, and every
+ * further level has buckets as wide as the whole level below, added on demand. Inserting is O(1),
+ * and advancing costs one bucket per elapsed tick plus a cascade whenever a lower level wraps,
+ * independent of how many entries are waiting. Entries fire on the first tick at or after their
+ * due time, never before it. Not thread-safe; meant to be driven by a single thread.
+ */
+public class HierarchicalTimingWheel<T> {
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<Level> levels = new ArrayList<>();
+    private long currentTime;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("Invalid timing wheel configuration");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+        this.levels.add(new Level(tickMillis));
+    }
+
+    public void add(T item, long dueMillis) {
+        insert(new Entry<>(item, dueMillis));
+        size++;
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMillis} and returns every entry whose due time has passed.
+     */
+    public List<T> advanceTo(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        while (currentTime + tickMillis <= nowMillis) {
+            for (Entry<T> entry : levels.get(0).drain(currentTime)) {
+                expired.add(entry.item);
+            }
+            currentTime += tickMillis;
+            for (int level = levels.size() - 1; level > 0; level--) {
+                Level wheel = levels.get(level);
+                if (currentTime % wheel.tick == 0) {
+                    for (Entry<T> entry : wheel.drain(currentTime)) {
+                        insert(entry);
+                    }
+                }
+            }
+        }
+        size -= expired.size();
+        return expired;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void insert(Entry<T> entry) {
+        long due = Math.max(entry.dueMillis, currentTime);
+        for (int level = 0; ; level++) {
+            if (level == levels.size()) {
+                levels.add(new Level(levels.get(level - 1).tick * wheelSize));
+            }
+            Level wheel = levels.get(level);
+            long levelStart = currentTime - Math.floorMod(currentTime, wheel.tick);
+            if (due < levelStart + wheel.tick * wheelSize) {
+                wheel.bucket(due).add(entry);
+                return;
+            }
+        }
+    }
+
+    private record Entry<T>(T item, long dueMillis) {
+    }
+
+    private final class Level {
+        private final long tick;
+        private final ArrayDeque<Entry<T>>[] buckets;
+
+        @SuppressWarnings("unchecked")
+        private Level(long tick) {
+            this.tick = tick;
+            this.buckets = new ArrayDeque[wheelSize];
+        }
+
+        private ArrayDeque<Entry<T>> bucket(long time) {
+            int index = (int) Math.floorMod(Math.floorDiv(time, tick), (long) wheelSize);
+            if (buckets[index] == null) {
+                buckets[index] = new ArrayDeque<>();
+            }
+            return buckets[index];
+        }
+
+        private ArrayDeque<Entry<T>> drain(long time) {
+            int index = (int) Math.floorMod(Math.floorDiv(time, tick), (long) wheelSize);
+            ArrayDeque<Entry<T>> drained = buckets[index];
+            buckets[index] = null;
+            return drained != null ? drained : new ArrayDeque<>();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.tetgift.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-ordered 64-bit ids: 41 bits of milliseconds since {@link #DEFAULT_EPOCH_MILLIS}, 10 bits of
+ * node id and a 12-bit per-millisecond sequence. Timestamp and sequence share one {@link AtomicLong},
+ * so generation is a single CAS. When the sequence runs out, or the clock steps backwards, ids keep
+ * counting past the last issued value instead of waiting, so they stay unique and increasing per node.
+ */
+public class SnowflakeIdGenerator {
+    public static final long DEFAULT_EPOCH_MILLIS = 1_735_689_600_000L; // 2025-01-01T00:00:00Z
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long MAX_TIMESTAMP = (1L << (Long.SIZE - 1 - NODE_BITS - SEQUENCE_BITS)) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final int nodeId;
+    private final long epochMillis;
+    private final LongSupplier clock;
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeIdGenerator(int nodeId) {
+        this(nodeId, DEFAULT_EPOCH_MILLIS, System::currentTimeMillis);
+    }
+
+    public SnowflakeIdGenerator(int nodeId, long epochMillis, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.epochMillis = epochMillis;
+        this.clock = clock;
+    }
+
+    public long nextId() {
+        long floor = (clock.getAsLong() - epochMillis) << SEQUENCE_BITS;
+        long next = state.updateAndGet(previous -> Math.max(previous + 1, floor));
+        long timestamp = next >>> SEQUENCE_BITS;
+        if (timestamp > MAX_TIMESTAMP || floor < 0) {
+            throw new IllegalStateException("Clock is outside the id range of epoch " + epochMillis);
+        }
+        return timestamp << (NODE_BITS + SEQUENCE_BITS) | (long) nodeId << SEQUENCE_BITS | next & SEQUENCE_MASK;
+    }
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    public static long timestampOf(long id, long epochMillis) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + epochMillis;
+    }
+
+    public static int nodeOf(long id) {
+        return (int) (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+}
@@ -0,0 +1,99 @@
+package com.tetgift.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter split into fixed time partitions keyed by the expiry of the element. An element is
+ * only ever looked up in the partition of its own expiry, and whole partitions are dropped once
+ * their window has passed, so the filter never needs deletes and never saturates over time.
+ */
+public class TimePartitionedBloomFilter {
+    private final long partitionMillis;
+    private final int bitsPerPartition;
+    private final int hashFunctions;
+    private final ConcurrentSkipListMap<Long, AtomicLongArray> partitions = new ConcurrentSkipListMap<>();
+
+    public TimePartitionedBloomFilter(long partitionMillis, int expectedInsertionsPerPartition, double falsePositiveRate) {
+        if (partitionMillis <= 0 || expectedInsertionsPerPartition <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid bloom filter configuration");
+        }
+        this.partitionMillis = partitionMillis;
+        double bits = -expectedInsertionsPerPartition * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        this.bitsPerPartition = (int) Math.max(64, Math.ceil(bits / 64) * 64);
+        this.hashFunctions = (int) Math.max(1, Math.round((double) bitsPerPartition / expectedInsertionsPerPartition * Math.log(2)));
+    }
+
+    public void add(String element, long expiresAtMillis) {
+        AtomicLongArray bits = partitions.computeIfAbsent(partitionOf(expiresAtMillis),
+                key -> new AtomicLongArray(bitsPerPartition / 64));
+        long hash1 = hash(element);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1L;
+        for (int i = 0; i < hashFunctions; i++) {
+            int index = (int) Long.remainderUnsigned(hash1 + i * hash2, bitsPerPartition);
+            setBit(bits, index);
+        }
+    }
+
+    public boolean mightContain(String element, long expiresAtMillis) {
+        AtomicLongArray bits = partitions.get(partitionOf(expiresAtMillis));
+        if (bits == null) {
+            return false;
+        }
+        long hash1 = hash(element);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1L;
+        for (int i = 0; i < hashFunctions; i++) {
+            int index = (int) Long.remainderUnsigned(hash1 + i * hash2, bitsPerPartition);
+            if ((bits.get(index >>> 6) & (1L << (index & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void evictExpired(long nowMillis) {
+        long currentPartition = partitionOf(nowMillis);
+        Map<Long, AtomicLongArray> expired = partitions.headMap(currentPartition);
+        expired.clear();
+    }
+
+    public int partitionCount() {
+        return partitions.size();
+    }
+
+    private long partitionOf(long epochMillis) {
+        return Math.floorDiv(epochMillis, partitionMillis);
+    }
+
+    private static void setBit(AtomicLongArray bits, int index) {
+        int word = index >>> 6;
+        long mask = 1L << (index & 63);
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    private static long hash(String element) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : element.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
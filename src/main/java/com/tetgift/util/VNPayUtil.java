@@ -1,7 +1,6 @@
 package com.tetgift.util;
 
 import com.tetgift.configuration.VNPayConfig;
-import lombok.extern.slf4j.Slf4j;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
@@ -10,7 +9,11 @@ import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.util.*;
 
-@Slf4j
+/**
+ * @deprecated use {@link com.tetgift.component.VNPaySigner}; kept as the baseline of
+ * {@code VNPaySigningBenchmark}.
+ */
+@Deprecated
 public class VNPayUtil {
 
     public static String buildPaymentUrl(Long paymentId, double amount, VNPayConfig config) {
@@ -39,11 +42,6 @@ public class VNPayUtil {
         String queryUrl = hashAllFields(vnp_Params);
         String vnp_SecureHash = hmacSHA512(config.getHashSecret(), queryUrl);
 
-        log.info("=== VNPay SIGNATURE DEBUG (FINAL) ===");
-        log.info("Hash Data (Query URL): {}", queryUrl);
-        log.info("Secure Hash (SHA512): {}", vnp_SecureHash);
-        log.info("====================================");
-
         return config.getUrl() + "?" + queryUrl + "&vnp_SecureHash=" + vnp_SecureHash;
     }
 
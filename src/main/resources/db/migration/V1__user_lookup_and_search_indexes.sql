@@ -0,0 +1,14 @@
+-- Case-insensitive unique lookups used by login, OTP verification and token refresh.
+-- Fails if existing rows differ only by case; resolve those duplicates before migrating.
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_lower_username ON users (lower(username));
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_lower_email ON users (lower(email));
+
+-- Trigram indexes for the admin "contains" search on name, username, email and phone.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_users_full_name_trgm ON users USING gin (lower(full_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_username_trgm ON users USING gin (lower(username) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_email_trgm ON users USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_phone_trgm ON users USING gin (phone gin_trgm_ops);
+
+-- Newest-first keyset pages (also declared on the entity for ddl-auto environments).
+CREATE INDEX IF NOT EXISTS idx_users_created_at_id ON users (created_at, id);
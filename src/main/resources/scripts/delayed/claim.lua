@@ -0,0 +1,14 @@
+-- KEYS[1] pending jobs (zset by due time), KEYS[2] claimed jobs (zset by visibility deadline)
+-- ARGV: now (ms), visibility deadline (ms), job ids...
+-- Moves the given jobs that are actually due to the claimed set and returns their ids;
+-- jobs cancelled or rescheduled meanwhile are skipped.
+local claimed = {}
+for i = 3, #ARGV do
+    local due = redis.call('ZSCORE', KEYS[1], ARGV[i])
+    if due and tonumber(due) <= tonumber(ARGV[1]) then
+        redis.call('ZREM', KEYS[1], ARGV[i])
+        redis.call('ZADD', KEYS[2], ARGV[2], ARGV[i])
+        claimed[#claimed + 1] = ARGV[i]
+    end
+end
+return claimed
@@ -0,0 +1,9 @@
+-- KEYS[1] pending jobs, KEYS[2] claimed jobs
+-- ARGV: now (ms), limit
+-- Puts claimed jobs whose visibility deadline passed back into the pending set, due now.
+local expired = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2])
+for _, id in ipairs(expired) do
+    redis.call('ZREM', KEYS[2], id)
+    redis.call('ZADD', KEYS[1], 'NX', ARGV[1], id)
+end
+return #expired
@@ -0,0 +1,14 @@
+-- KEYS[1] lease key
+-- ARGV: owner id, lease ttl (ms)
+-- Takes the lease when it is free and extends it when already held by the caller.
+-- Returns 1 while the caller holds the lease, 0 otherwise.
+local owner = redis.call('GET', KEYS[1])
+if not owner then
+    redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+    return 1
+end
+if owner == ARGV[1] then
+    redis.call('PEXPIRE', KEYS[1], ARGV[2])
+    return 1
+end
+return 0
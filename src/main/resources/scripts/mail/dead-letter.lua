@@ -0,0 +1,5 @@
+-- KEYS[1] outbox stream, KEYS[2] dead-letter stream
+-- ARGV: consumer group, record id, payload, error, failed at (ms), dead-letter max length
+redis.call('XADD', KEYS[2], 'MAXLEN', '~', ARGV[6], '*', 'payload', ARGV[3], 'error', ARGV[4], 'failedAt', ARGV[5])
+redis.call('XACK', KEYS[1], ARGV[1], ARGV[2])
+return redis.call('XDEL', KEYS[1], ARGV[2])
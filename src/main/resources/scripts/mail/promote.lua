@@ -0,0 +1,9 @@
+-- KEYS[1] retry sorted set, KEYS[2] outbox stream
+-- ARGV: now (ms), max entries to move
+-- Moves retries that are due back onto the stream; returns how many were moved.
+local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2])
+for _, payload in ipairs(due) do
+    redis.call('XADD', KEYS[2], '*', 'payload', payload)
+    redis.call('ZREM', KEYS[1], payload)
+end
+return #due
@@ -0,0 +1,5 @@
+-- KEYS[1] outbox stream, KEYS[2] retry sorted set (scored by due time)
+-- ARGV: consumer group, record id, due time (ms), payload
+redis.call('ZADD', KEYS[2], ARGV[3], ARGV[4])
+redis.call('XACK', KEYS[1], ARGV[1], ARGV[2])
+return redis.call('XDEL', KEYS[1], ARGV[2])
@@ -0,0 +1,10 @@
+-- KEYS[1] otp hash (fields: code, attempts, and 'locked' once the attempt limit is hit)
+-- ARGV: code, ttl (ms)
+-- Returns {1, 0} when stored, or {-2, remaining lockout ms} while the address is locked out.
+if redis.call('HEXISTS', KEYS[1], 'locked') == 1 then
+    return {-2, redis.call('PTTL', KEYS[1])}
+end
+redis.call('DEL', KEYS[1])
+redis.call('HSET', KEYS[1], 'code', ARGV[1], 'attempts', 0)
+redis.call('PEXPIRE', KEYS[1], ARGV[2])
+return {1, 0}
@@ -0,0 +1,37 @@
+-- KEYS[1] otp hash (fields: code, attempts, and 'locked' once the attempt limit is hit)
+-- ARGV: submitted code, max attempts, lockout (ms)
+-- Returns {1, 0} when verified (the code is consumed), {0, attempts left} on a mismatch,
+-- {-1, 0} when no code is pending and {-2, remaining lockout ms} while locked out.
+local state = redis.call('HMGET', KEYS[1], 'code', 'attempts', 'locked')
+if state[3] then
+    return {-2, redis.call('PTTL', KEYS[1])}
+end
+local code = state[1]
+if not code then
+    return {-1, 0}
+end
+
+-- constant-time comparison: always walks the whole stored code
+local submitted = ARGV[1]
+local diff = 0
+if string.len(submitted) ~= string.len(code) then
+    diff = 1
+    submitted = code
+end
+for i = 1, string.len(code) do
+    diff = bit.bor(diff, bit.bxor(string.byte(code, i), string.byte(submitted, i)))
+end
+if diff == 0 then
+    redis.call('DEL', KEYS[1])
+    return {1, 0}
+end
+
+local max_attempts = tonumber(ARGV[2])
+local attempts = redis.call('HINCRBY', KEYS[1], 'attempts', 1)
+if attempts >= max_attempts then
+    redis.call('HDEL', KEYS[1], 'code')
+    redis.call('HSET', KEYS[1], 'locked', 1)
+    redis.call('PEXPIRE', KEYS[1], ARGV[3])
+    return {-2, tonumber(ARGV[3])}
+end
+return {0, max_attempts - attempts}
@@ -0,0 +1,8 @@
+-- KEYS[1] fence for the transaction reference, KEYS[2] callback stream
+-- ARGV: fence ttl (ms), payload
+-- Returns 1 when the callback was enqueued, 0 when this reference was already accepted.
+if not redis.call('SET', KEYS[1], '1', 'NX', 'PX', ARGV[1]) then
+    return 0
+end
+redis.call('XADD', KEYS[2], '*', 'payload', ARGV[2])
+return 1
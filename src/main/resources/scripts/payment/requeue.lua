@@ -0,0 +1,28 @@
+-- KEYS[1] callback stream, KEYS[2] dead-letter stream
+-- ARGV: consumer group, record id, max attempts, failed at (ms), dead-letter max length
+-- Re-adds a delivered but never acknowledged callback with its attempt count incremented, or moves
+-- it to the dead-letter stream once that count reaches max attempts.
+-- Returns 1 when re-queued, -1 when dead-lettered, 0 when the entry is gone.
+local entries = redis.call('XRANGE', KEYS[1], ARGV[2], ARGV[2])
+redis.call('XACK', KEYS[1], ARGV[1], ARGV[2])
+if #entries == 0 then
+    return 0
+end
+local fields = entries[1][2]
+local payload
+local attempts = 0
+for i = 1, #fields, 2 do
+    if fields[i] == 'payload' then
+        payload = fields[i + 1]
+    elseif fields[i] == 'attempts' then
+        attempts = tonumber(fields[i + 1])
+    end
+end
+attempts = attempts + 1
+redis.call('XDEL', KEYS[1], ARGV[2])
+if attempts >= tonumber(ARGV[3]) then
+    redis.call('XADD', KEYS[2], 'MAXLEN', '~', ARGV[5], '*', 'payload', payload, 'attempts', attempts, 'failedAt', ARGV[4])
+    return -1
+end
+redis.call('XADD', KEYS[1], '*', 'payload', payload, 'attempts', attempts)
+return 1
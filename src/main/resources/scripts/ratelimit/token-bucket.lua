@@ -0,0 +1,45 @@
+-- KEYS: one hash per bucket (fields: tokens, ts)
+-- ARGV[1] = now (ms); then per bucket: ARGV[2i] = capacity, ARGV[2i+1] = refill period (ms)
+-- Returns {1, remaining} when every bucket had a token (one is taken from each),
+-- or {0, retryAfterMillis, index of the slowest empty bucket} without consuming anything.
+local now = tonumber(ARGV[1])
+local available = {}
+local retry_after = 0
+local empty_bucket = 0
+
+for i, key in ipairs(KEYS) do
+    local capacity = tonumber(ARGV[i * 2])
+    local rate = capacity / tonumber(ARGV[i * 2 + 1])
+    local state = redis.call('HMGET', key, 'tokens', 'ts')
+    local tokens = tonumber(state[1])
+    local ts = tonumber(state[2])
+    if tokens == nil or ts == nil then
+        tokens = capacity
+    else
+        tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+    end
+    available[i] = tokens
+    if tokens < 1 then
+        local wait = math.ceil((1 - tokens) / rate)
+        if wait > retry_after then
+            retry_after = wait
+            empty_bucket = i
+        end
+    end
+end
+
+if retry_after > 0 then
+    return {0, retry_after, empty_bucket}
+end
+
+local remaining = -1
+for i, key in ipairs(KEYS) do
+    local tokens = available[i] - 1
+    redis.call('HSET', key, 'tokens', tostring(tokens), 'ts', now)
+    redis.call('PEXPIRE', key, ARGV[i * 2 + 1])
+    local whole = math.floor(tokens)
+    if remaining < 0 or whole < remaining then
+        remaining = whole
+    end
+end
+return {1, remaining}
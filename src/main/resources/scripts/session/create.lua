@@ -0,0 +1,11 @@
+-- KEYS[1] session hash, KEYS[2] per-user index
+-- ARGV: sessionId, device, issuedAt, expiresAt, now
+redis.call('HSET', KEYS[1], 'device', ARGV[2], 'issuedAt', ARGV[3], 'expiresAt', ARGV[4], 'status', 'active')
+redis.call('PEXPIREAT', KEYS[1], ARGV[4])
+redis.call('ZADD', KEYS[2], ARGV[4], ARGV[1])
+redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', ARGV[5])
+local last = redis.call('ZRANGE', KEYS[2], -1, -1, 'WITHSCORES')
+if last[2] then
+    redis.call('PEXPIREAT', KEYS[2], last[2])
+end
+return 1
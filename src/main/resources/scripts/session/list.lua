@@ -0,0 +1,19 @@
+-- KEYS[1] per-user index
+-- ARGV: sessionKeyPrefix, now
+-- Returns a flat list of sessionId, device, issuedAt, expiresAt for every live session.
+-- Session hashes are derived from the prefix; they share the index's {userId} hash slot.
+redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[2])
+local members = redis.call('ZRANGE', KEYS[1], 0, -1)
+local result = {}
+for _, member in ipairs(members) do
+    local fields = redis.call('HMGET', ARGV[1] .. member, 'device', 'issuedAt', 'expiresAt', 'status')
+    if fields[4] == 'active' then
+        table.insert(result, member)
+        table.insert(result, fields[1] or '')
+        table.insert(result, fields[2])
+        table.insert(result, fields[3])
+    elseif not fields[4] then
+        redis.call('ZREM', KEYS[1], member)
+    end
+end
+return result
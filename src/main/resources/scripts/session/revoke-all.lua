@@ -0,0 +1,10 @@
+-- KEYS[1] per-user index
+-- ARGV: sessionKeyPrefix
+-- Session hashes are derived from the prefix; they share the index's {userId} hash slot.
+-- Returns the number of index members revoked.
+local members = redis.call('ZRANGE', KEYS[1], 0, -1)
+for _, member in ipairs(members) do
+    redis.call('DEL', ARGV[1] .. member)
+end
+redis.call('DEL', KEYS[1])
+return #members
@@ -0,0 +1,4 @@
+-- KEYS[1] session hash, KEYS[2] per-user index
+-- ARGV: sessionId
+redis.call('ZREM', KEYS[2], ARGV[1])
+return redis.call('DEL', KEYS[1])
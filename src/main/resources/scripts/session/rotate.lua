@@ -0,0 +1,28 @@
+-- KEYS[1] old session hash, KEYS[2] new session hash, KEYS[3] per-user index
+-- ARGV: oldSessionId, newSessionId, issuedAt, expiresAt, now, sessionKeyPrefix
+-- Returns 1 when rotated, 0 when the old session is unknown, -1 when a rotated token was reused.
+-- On reuse the whole family is revoked here; its hashes share the index's {userId} hash slot.
+local status = redis.call('HGET', KEYS[1], 'status')
+if not status then
+    return 0
+end
+if status == 'rotated' then
+    local members = redis.call('ZRANGE', KEYS[3], 0, -1)
+    for _, member in ipairs(members) do
+        redis.call('DEL', ARGV[6] .. member)
+    end
+    redis.call('DEL', KEYS[3], KEYS[1])
+    return -1
+end
+local device = redis.call('HGET', KEYS[1], 'device')
+redis.call('HSET', KEYS[1], 'status', 'rotated')
+redis.call('ZREM', KEYS[3], ARGV[1])
+redis.call('HSET', KEYS[2], 'device', device, 'issuedAt', ARGV[3], 'expiresAt', ARGV[4], 'status', 'active')
+redis.call('PEXPIREAT', KEYS[2], ARGV[4])
+redis.call('ZADD', KEYS[3], ARGV[4], ARGV[2])
+redis.call('ZREMRANGEBYSCORE', KEYS[3], '-inf', ARGV[5])
+local last = redis.call('ZRANGE', KEYS[3], -1, -1, 'WITHSCORES')
+if last[2] then
+    redis.call('PEXPIREAT', KEYS[3], last[2])
+end
+return 1
@@ -0,0 +1,5 @@
+-- KEYS[1] stream
+-- ARGV: consumer group, then the record ids to acknowledge and delete
+local ids = {unpack(ARGV, 2)}
+redis.call('XACK', KEYS[1], ARGV[1], unpack(ids))
+return redis.call('XDEL', KEYS[1], unpack(ids))
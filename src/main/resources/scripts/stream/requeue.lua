@@ -0,0 +1,11 @@
+-- KEYS[1] mail outbox stream
+-- ARGV: consumer group, record id
+-- Re-adds a delivered but never acknowledged entry (its worker died) as a fresh entry.
+local entries = redis.call('XRANGE', KEYS[1], ARGV[2], ARGV[2])
+redis.call('XACK', KEYS[1], ARGV[1], ARGV[2])
+if #entries == 0 then
+    return 0
+end
+redis.call('XADD', KEYS[1], '*', unpack(entries[1][2]))
+redis.call('XDEL', KEYS[1], ARGV[2])
+return 1
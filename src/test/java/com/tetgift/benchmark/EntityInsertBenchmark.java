@@ -0,0 +1,228 @@
+package com.tetgift.benchmark;
+
+import com.tetgift.enums.LoginType;
+import com.tetgift.model.Address;
+import com.tetgift.model.Role;
+import com.tetgift.model.Users;
+import com.tetgift.model.id.SnowflakeIdentifierGenerator;
+import com.tetgift.util.SnowflakeIdGenerator;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persists {@value #USERS} users with two addresses each in one transaction, with and without JDBC
+ * batching. {@code ids=snowflake} uses the real entities; {@code ids=identity} maps the same tables
+ * with the {@code IDENTITY} ids they had before, for comparison. Needs a disposable Postgres in
+ * {@code TEST_POSTGRES_URL}; tables live in a scratch schema.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 8, time = 2)
+@Fork(1)
+public class EntityInsertBenchmark {
+    private static final int USERS = 500;
+    private static final String SCHEMA = "insert_bench";
+    private static final String PASSWORD_HASH = "$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchm";
+
+    @Param({"snowflake", "identity"})
+    public String ids;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private String url;
+    private String user;
+    private String password;
+    private SessionFactory sessionFactory;
+    private int sequence;
+
+    @Setup
+    public void setup() throws SQLException {
+        url = System.getenv("TEST_POSTGRES_URL");
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException("Set TEST_POSTGRES_URL to a disposable Postgres database");
+        }
+        user = System.getenv().getOrDefault("TEST_POSTGRES_USER", "postgres");
+        password = System.getenv().getOrDefault("TEST_POSTGRES_PASSWORD", "");
+        execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE", "CREATE SCHEMA " + SCHEMA);
+        SnowflakeIdentifierGenerator.use(new SnowflakeIdGenerator(1)::nextId);
+        Configuration configuration = new Configuration();
+        if ("identity".equals(ids)) {
+            configuration.addAnnotatedClass(IdentityUser.class).addAnnotatedClass(IdentityAddress.class);
+        } else {
+            configuration.addAnnotatedClass(Users.class).addAnnotatedClass(Address.class).addAnnotatedClass(Role.class);
+        }
+        sessionFactory = configuration
+                .setPhysicalNamingStrategy(new CamelCaseToUnderscoresNamingStrategy())
+                .setProperty("hibernate.connection.url", url + (url.contains("?") ? "&" : "?")
+                        + "currentSchema=" + SCHEMA + "&reWriteBatchedInserts=" + (batchSize > 1))
+                .setProperty("hibernate.connection.username", user)
+                .setProperty("hibernate.connection.password", password)
+                .setProperty("hibernate.hbm2ddl.auto", "create")
+                .setProperty("hibernate.jdbc.batch_size", String.valueOf(batchSize))
+                .setProperty("hibernate.order_inserts", "true")
+                .buildSessionFactory();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        sessionFactory.close();
+        execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() throws SQLException {
+        execute("TRUNCATE " + SCHEMA + ".address, " + SCHEMA + ".users CASCADE");
+    }
+
+    @Benchmark
+    public void insertUsersWithAddresses() {
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < USERS; i++) {
+                int n = sequence++;
+                if ("identity".equals(ids)) {
+                    persistIdentity(session, n);
+                } else {
+                    persistSnowflake(session, n);
+                }
+            }
+        });
+    }
+
+    private static void persistSnowflake(Session session, int n) {
+        Users customer = new Users();
+        customer.setUsername("bench_" + n);
+        customer.setEmail("bench_" + n + "@example.com");
+        customer.setFullName("Bench Customer " + n);
+        customer.setPhone("09" + n);
+        customer.setPassword(PASSWORD_HASH);
+        session.persist(customer);
+        for (int a = 0; a < 2; a++) {
+            session.persist(Address.builder()
+                    .receiverName(customer.getFullName())
+                    .phoneNumber(customer.getPhone())
+                    .streetAddress(a + " Nguyen Hue")
+                    .ward("Ben Nghe")
+                    .district("District 1")
+                    .province("Ho Chi Minh")
+                    .user(customer)
+                    .build());
+        }
+    }
+
+    private static void persistIdentity(Session session, int n) {
+        IdentityUser customer = new IdentityUser();
+        customer.setUsername("bench_" + n);
+        customer.setEmail("bench_" + n + "@example.com");
+        customer.setFullName("Bench Customer " + n);
+        customer.setPhone("09" + n);
+        customer.setPassword(PASSWORD_HASH);
+        session.persist(customer);
+        for (int a = 0; a < 2; a++) {
+            IdentityAddress address = new IdentityAddress();
+            address.setReceiverName(customer.getFullName());
+            address.setPhoneNumber(customer.getPhone());
+            address.setStreetAddress(a + " Nguyen Hue");
+            address.setWard("Ben Nghe");
+            address.setDistrict("District 1");
+            address.setProvince("Ho Chi Minh");
+            address.setUser(customer);
+            session.persist(address);
+        }
+    }
+
+    private void execute(String... statements) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, user, password);
+             Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EntityInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    /**
+     * {@link Users} as it was mapped before Snowflake ids: same columns, {@code IDENTITY} key.
+     */
+    @Entity
+    @Table(name = "users")
+    @Getter
+    @Setter
+    public static class IdentityUser {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+        private String fullName;
+        private String email;
+        private String password;
+        private String phone;
+        private String username;
+        private boolean isVerify;
+        private boolean isActive = true;
+        private boolean isLocked;
+        @Enumerated(EnumType.STRING)
+        private LoginType provider = LoginType.LOCAL;
+        @CreationTimestamp
+        private LocalDateTime createdAt;
+        @UpdateTimestamp
+        private LocalDateTime updatedAt;
+        private Long createdBy;
+        private Long updatedBy;
+    }
+
+    @Entity
+    @Table(name = "address")
+    @Getter
+    @Setter
+    public static class IdentityAddress {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+        @Column(nullable = false)
+        private String receiverName;
+        @Column(nullable = false)
+        private String phoneNumber;
+        @Column(nullable = false)
+        private String streetAddress;
+        @Column(nullable = false)
+        private String ward;
+        @Column(nullable = false)
+        private String district;
+        @Column(nullable = false)
+        private String province;
+        @ManyToOne(fetch = FetchType.LAZY)
+        @JoinColumn(name = "user_id", nullable = false)
+        private IdentityUser user;
+        @CreationTimestamp
+        private LocalDateTime createdAt;
+        @UpdateTimestamp
+        private LocalDateTime updatedAt;
+        private Long createdBy;
+        private Long updatedBy;
+    }
+}
@@ -0,0 +1,97 @@
+package com.tetgift.benchmark;
+
+import com.tetgift.enums.TokenType;
+import com.tetgift.model.Role;
+import com.tetgift.model.Users;
+import com.tetgift.model.auth.VerifiedToken;
+import com.tetgift.service.SecurityVersionService;
+import com.tetgift.service.impl.JwtServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.SecureRandom;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Per-request cost of authenticating a bearer token in PreFilter: the legacy path
+ * (extractUsername + isTokenValid, i.e. three key rebuilds and three HMAC checks)
+ * against a single {@link JwtServiceImpl#verifyToken} call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private String secret;
+    private String accessToken;
+    private JwtServiceImpl jwtService;
+    private Users user;
+
+    @Setup
+    public void setup() {
+        secret = randomSecret();
+        jwtService = new JwtServiceImpl(mock(SecurityVersionService.class));
+        ReflectionTestUtils.setField(jwtService, "secretKey", secret);
+        ReflectionTestUtils.setField(jwtService, "refreshKey", randomSecret());
+        ReflectionTestUtils.setField(jwtService, "resetPasswordKey", randomSecret());
+        ReflectionTestUtils.setField(jwtService, "expirationTime", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "expirationDays", 7L);
+        jwtService.init();
+
+        user = Users.builder()
+                .username("tet.customer")
+                .roles(Set.of(Role.builder().name("USER").build()))
+                .build();
+        user.setId(42L);
+        accessToken = jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public boolean legacyExtractThenValidate() {
+        String username = legacyClaims().getSubject();
+        String again = legacyClaims().getSubject();
+        Date expiration = legacyClaims().getExpiration();
+        return username.equals(user.getUsername()) && again.equals(username) && !expiration.before(new Date());
+    }
+
+    @Benchmark
+    public boolean verifyOnce() {
+        VerifiedToken verifiedToken = jwtService.verifyToken(accessToken, TokenType.ACCESS);
+        return jwtService.isTokenValid(verifiedToken, user);
+    }
+
+    private Claims legacyClaims() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)))
+                .build()
+                .parseClaimsJws(accessToken)
+                .getBody();
+    }
+
+    private static String randomSecret() {
+        byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        return Encoders.BASE64.encode(bytes);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,85 @@
+package com.tetgift.benchmark;
+
+import com.tetgift.model.mail.RenderedMail;
+import com.tetgift.service.impl.MailTemplateServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Render throughput of the OTP mail: the plain {@code String.format} body it replaced, a Thymeleaf
+ * engine that re-parses the template and re-renders header/footer on every mail, and
+ * {@link MailTemplateServiceImpl} with its cached templates and pre-rendered fragments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MailTemplateRenderBenchmark {
+
+    private static final Locale VIETNAMESE = Locale.forLanguageTag("vi");
+
+    private MailTemplateServiceImpl mailTemplateService;
+    private SpringTemplateEngine uncachedEngine;
+    private Map<String, Object> variables;
+
+    @Setup
+    public void setup() {
+        mailTemplateService = new MailTemplateServiceImpl(List.of("otp"), List.of("vi", "en"), "vi");
+        mailTemplateService.warmUp();
+
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("i18n/mail");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setFallbackToSystemLocale(false);
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/mail/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(false);
+        uncachedEngine = new SpringTemplateEngine();
+        uncachedEngine.setTemplateResolver(resolver);
+        uncachedEngine.setTemplateEngineMessageSource(messageSource);
+
+        variables = Map.of("otp", "042917", "ttlMinutes", 5L);
+    }
+
+    @Benchmark
+    public String stringFormat() {
+        return String.format("Your OTP is: %s (valid for 5 minutes)", variables.get("otp"));
+    }
+
+    @Benchmark
+    public String uncachedTemplate() {
+        Context context = new Context(VIETNAMESE, variables);
+        context.setVariable("header", uncachedEngine.process("fragments/layout", Set.of("header"), context));
+        context.setVariable("footer", uncachedEngine.process("fragments/layout", Set.of("footer"), context));
+        return uncachedEngine.process("otp", context);
+    }
+
+    @Benchmark
+    public RenderedMail precompiledTemplate() {
+        return mailTemplateService.render("otp", VIETNAMESE, variables);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MailTemplateRenderBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
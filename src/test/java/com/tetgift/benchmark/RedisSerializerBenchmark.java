@@ -0,0 +1,89 @@
+package com.tetgift.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tetgift.util.CompactRedisSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of Redis values: the legacy {@link GenericJackson2JsonRedisSerializer}
+ * against {@link CompactRedisSerializer} in each format, with and without compression.
+ * Bytes per entry are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisSerializerBenchmark {
+
+    @Param({"json", "smile", "cbor", "smile-deflate"})
+    public String serializer;
+
+    @Param({"4", "64"})
+    public int lines;
+
+    private RedisSerializer<Object> redisSerializer;
+    private Map<String, Object> value;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        redisSerializer = switch (serializer) {
+            case "json" -> new GenericJackson2JsonRedisSerializer();
+            case "smile" -> new CompactRedisSerializer(new ObjectMapper(), true, CompactRedisSerializer.Format.SMILE, Integer.MAX_VALUE);
+            case "cbor" -> new CompactRedisSerializer(new ObjectMapper(), true, CompactRedisSerializer.Format.CBOR, Integer.MAX_VALUE);
+            default -> new CompactRedisSerializer(new ObjectMapper(), true, CompactRedisSerializer.Format.SMILE, 1024);
+        };
+        value = order(lines);
+        encoded = redisSerializer.serialize(value);
+        System.out.printf("bytes per entry [%s, %d lines]: %d%n", serializer, lines, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return redisSerializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return redisSerializer.deserialize(encoded);
+    }
+
+    private static Map<String, Object> order(int lineCount) {
+        List<Map<String, Object>> orderLines = new ArrayList<>();
+        for (int i = 0; i < lineCount; i++) {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("productId", 1_000L + i);
+            line.put("productName", "Hop qua Tet cao cap " + i);
+            line.put("quantity", 1 + i % 3);
+            line.put("unitPrice", 450_000L + i * 1_000L);
+            orderLines.add(line);
+        }
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("orderId", 42L);
+        order.put("orderCode", "TG-20260118-0042");
+        order.put("status", "PENDING");
+        order.put("receiverName", "Nguyen Van A");
+        order.put("shippingAddress", "12 Le Loi, Quan 1, TP. Ho Chi Minh");
+        order.put("lines", orderLines);
+        return order;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RedisSerializerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,79 @@
+package com.tetgift.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.tetgift.configuration.JacksonConfig;
+import com.tetgift.dto.response.LoginResponse;
+import com.tetgift.dto.response.ResponseData;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing the login / refresh-token {@code ResponseData<LoginResponse>} envelope: the
+ * previous reflection-based mapper resolving the type on every call, against the Blackbird mapper
+ * with a prebuilt writer streaming into a reused buffer. Response size is printed once per trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseEnvelopeBenchmark {
+
+    private ObjectMapper legacyMapper;
+    private ObjectWriter envelopeWriter;
+    private ResponseData<LoginResponse> loginResponse;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+
+    @Setup
+    public void setup() {
+        legacyMapper = new ObjectMapper();
+        SimpleModule module = new SimpleModule();
+        module.addSerializer(LocalDateTime.class, new LocalDateTimeSerializer(DateTimeFormatter.ISO_DATE_TIME));
+        module.addDeserializer(LocalDateTime.class, new LocalDateTimeDeserializer(DateTimeFormatter.ISO_DATE_TIME));
+        legacyMapper.registerModule(module);
+
+        ObjectMapper tunedMapper = new JacksonConfig().objectMapper();
+        envelopeWriter = tunedMapper.writerFor(tunedMapper.getTypeFactory()
+                .constructParametricType(ResponseData.class, LoginResponse.class));
+        loginResponse = new ResponseData<>(200, "Login successful", new LoginResponse(
+                "eyJhbGciOiJIUzI1NiJ9." + "a".repeat(300) + ".signature-signature-signature-signature",
+                "eyJhbGciOiJIUzI1NiJ9." + "b".repeat(200) + ".signature-signature-signature-signature",
+                42L));
+        try {
+            System.out.printf("login/refresh-token response bytes: %d%n", legacyMapper.writeValueAsBytes(loginResponse).length);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Benchmark
+    public byte[] legacyWriteValueAsBytes() throws IOException {
+        return legacyMapper.writeValueAsBytes(loginResponse);
+    }
+
+    @Benchmark
+    public int prebuiltWriterStreaming() throws IOException {
+        buffer.reset();
+        envelopeWriter.writeValue(buffer, loginResponse);
+        return buffer.size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ResponseEnvelopeBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,94 @@
+package com.tetgift.benchmark;
+
+import com.tetgift.component.VNPaySigner;
+import com.tetgift.configuration.VNPayConfig;
+import com.tetgift.util.VNPayUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link VNPayUtil} against {@link VNPaySigner}: signing a prepared query, building a full
+ * payment URL, and verifying a callback. Run with {@code -prof gc} to compare allocation rates.
+ */
+@SuppressWarnings("deprecation")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VNPaySigningBenchmark {
+
+    private static final String SECRET = "VNPAYTESTSECRETKEY0123456789ABCD";
+
+    private VNPayConfig config;
+    private VNPaySigner signer;
+    private String query;
+    private Map<String, String> callback;
+
+    @Setup
+    public void setup() {
+        config = new VNPayConfig();
+        config.setHashSecret(SECRET);
+        config.setTmnCode("TETGIFT1");
+        config.setUrl("https://sandbox.vnpayment.vn/paymentv2/vpcpay.html");
+        config.setReturnUrl("https://tetgift.vn/api/v1/payments/vnpay-return");
+        signer = new VNPaySigner(config);
+        query = VNPayUtil.buildPaymentUrl(42L, 150_000, config).split("\\?", 2)[1].split("&vnp_SecureHash=")[0];
+
+        callback = new TreeMap<>();
+        callback.put("vnp_Amount", "15000000");
+        callback.put("vnp_BankCode", "NCB");
+        callback.put("vnp_OrderInfo", "Thanh toan don hang:42");
+        callback.put("vnp_PayDate", "20260210153000");
+        callback.put("vnp_ResponseCode", "00");
+        callback.put("vnp_TmnCode", "TETGIFT1");
+        callback.put("vnp_TransactionNo", "14012345");
+        callback.put("vnp_TxnRef", "42");
+        callback.put(VNPaySigner.SECURE_HASH, signer.sign(signer.canonicalQuery(callback)));
+    }
+
+    @Benchmark
+    public String legacySign() {
+        return VNPayUtil.hmacSHA512(SECRET, query);
+    }
+
+    @Benchmark
+    public String signerSign() {
+        return signer.sign(query);
+    }
+
+    @Benchmark
+    public String legacyBuildPaymentUrl() {
+        return VNPayUtil.buildPaymentUrl(42L, 150_000, config);
+    }
+
+    @Benchmark
+    public String signerBuildPaymentUrl() {
+        return signer.buildPaymentUrl(42L, 150_000);
+    }
+
+    @Benchmark
+    public boolean legacyVerify() {
+        Map<String, String> fields = new TreeMap<>(callback);
+        String received = fields.remove(VNPaySigner.SECURE_HASH);
+        return VNPayUtil.hmacSHA512(SECRET, VNPayUtil.hashAllFields(fields)).equals(received);
+    }
+
+    @Benchmark
+    public boolean signerVerify() {
+        return signer.verify(callback);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(VNPaySigningBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,129 @@
+package com.tetgift.component;
+
+import com.tetgift.service.DelayedJobHandler;
+import com.tetgift.service.impl.DelayedJobServiceImpl;
+import com.tetgift.support.EmbeddedRedisTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DelayedJobDispatcherTest extends EmbeddedRedisTest {
+
+    private DelayedJobServiceImpl delayedJobService;
+    private final List<String> handled = new ArrayList<>();
+    private boolean failing;
+
+    @BeforeEach
+    void setUp() {
+        flushAll();
+        delayedJobService = new DelayedJobServiceImpl(redisTemplate);
+        handled.clear();
+        failing = false;
+    }
+
+    @Test
+    void onlyLeaseHolderDispatches() {
+        DelayedJobDispatcher first = newDispatcher();
+        DelayedJobDispatcher second = newDispatcher();
+
+        assertTrue(first.updateLeadership());
+        assertFalse(second.updateLeadership());
+        assertTrue(first.updateLeadership());
+    }
+
+    @Test
+    void fireDue_runsJobsOnTheirTick() {
+        DelayedJobDispatcher dispatcher = newDispatcher();
+        dispatcher.updateLeadership();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 8; i++) {
+            delayedJobService.schedule("test", "job-" + i, now + 1_000);
+        }
+        delayedJobService.schedule("test", "far", now + 3_600_000);
+
+        dispatcher.refill(now);
+        assertEquals(0, dispatcher.fireDue(now + 500));
+        assertEquals(8, dispatcher.fireDue(now + 1_200));
+
+        assertEquals(8, handled.size());
+        assertEquals(1, delayedJobService.pending("test"));
+    }
+
+    @Test
+    void scheduleAll_queuesEveryJobAtItsOwnDueTime() {
+        DelayedJobDispatcher dispatcher = newDispatcher();
+        dispatcher.updateLeadership();
+        long now = System.currentTimeMillis();
+        delayedJobService.scheduleAll("test", Map.of("soon", now + 100, "later", now + 3_600_000));
+        delayedJobService.scheduleAll("test", Map.of("soon", now + 100));
+
+        assertEquals(2, delayedJobService.pending("test"));
+        dispatcher.refill(now);
+        assertEquals(1, dispatcher.fireDue(now + 300));
+        assertEquals(List.of("soon"), handled);
+    }
+
+    @Test
+    void fireDue_skipsCancelledJobsAndRetriesFailedOnes() {
+        DelayedJobDispatcher dispatcher = newDispatcher();
+        dispatcher.updateLeadership();
+        long now = System.currentTimeMillis();
+        delayedJobService.schedule("test", "cancelled", now + 100);
+        delayedJobService.schedule("test", "flaky", now + 100);
+        dispatcher.refill(now);
+        delayedJobService.cancel("test", "cancelled");
+        failing = true;
+
+        assertEquals(0, dispatcher.fireDue(now + 300));
+        assertEquals(0, delayedJobService.pending("test"));
+
+        failing = false;
+        dispatcher.refill(now + 61_000);
+        assertEquals(1, dispatcher.fireDue(now + 61_200));
+        assertEquals(List.of("flaky"), handled);
+    }
+
+    @Test
+    void refill_reportsOverdueBacklogBeyondOneBatch() {
+        DelayedJobDispatcher dispatcher = newDispatcher();
+        dispatcher.updateLeadership();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 30; i++) {
+            delayedJobService.schedule("test", "job-" + i, now - 60_000);
+        }
+
+        assertTrue(dispatcher.refill(now));
+        assertEquals(10, dispatcher.fireDue(now + 100));
+        assertTrue(dispatcher.refill(now + 100));
+        assertEquals(10, dispatcher.fireDue(now + 200));
+        assertTrue(dispatcher.refill(now + 200));
+        assertEquals(10, dispatcher.fireDue(now + 300));
+        assertFalse(dispatcher.refill(now + 300));
+        assertEquals(30, handled.size());
+    }
+
+    private DelayedJobDispatcher newDispatcher() {
+        DelayedJobHandler handler = new DelayedJobHandler() {
+            @Override
+            public String queue() {
+                return "test";
+            }
+
+            @Override
+            public void handle(List<String> jobIds) {
+                if (failing) {
+                    throw new IllegalStateException("database down");
+                }
+                handled.addAll(jobIds);
+            }
+        };
+        return new DelayedJobDispatcher(delayedJobService, List.of(handler), redisTemplate, new SimpleMeterRegistry(),
+                true, 50, 16, 30_000, 5_000, 15_000, 60_000, 10);
+    }
+}
@@ -0,0 +1,53 @@
+package com.tetgift.component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tetgift.configuration.JacksonConfig;
+import com.tetgift.dto.response.LoginResponse;
+import com.tetgift.dto.response.ResponseData;
+import com.tetgift.exception.ErrorResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnvelopeJsonHttpMessageConverterTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    private final EnvelopeJsonHttpMessageConverter converter = new EnvelopeJsonHttpMessageConverter(objectMapper);
+
+    @Test
+    void writesResponseEnvelopeLikeTheStandardConverter() throws IOException {
+        ResponseData<LoginResponse> body = new ResponseData<>(200, "Login successful",
+                new LoginResponse("access-token", "refresh-token", 42L));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(body, new ParameterizedTypeReference<ResponseData<LoginResponse>>() { }.getType(),
+                MediaType.APPLICATION_JSON, output);
+
+        assertEquals(objectMapper.writeValueAsString(body), output.getBodyAsString());
+        assertEquals(Map.of("status", 200, "message", "Login successful", "data",
+                        Map.of("accessToken", "access-token", "refreshToken", "refresh-token", "userId", "42")),
+                objectMapper.readValue(output.getBodyAsBytes(), Map.class));
+    }
+
+    @Test
+    void omitsNullDataAndKeepsErrorTimestampPattern() throws IOException {
+        MockHttpOutputMessage envelope = new MockHttpOutputMessage();
+        converter.write(new ResponseData<>(204, "Logged out"), ResponseData.class, MediaType.APPLICATION_JSON, envelope);
+        MockHttpOutputMessage error = new MockHttpOutputMessage();
+        converter.write(ErrorResponse.builder()
+                        .timestamp(LocalDateTime.of(2026, 1, 18, 9, 30))
+                        .status(409).path("/api/v1/auth/login").error("Conflict").message("Invalid data")
+                        .build(),
+                ErrorResponse.class, MediaType.APPLICATION_JSON, error);
+
+        assertEquals("{\"status\":204,\"message\":\"Logged out\"}", envelope.getBodyAsString());
+        assertTrue(error.getBodyAsString().contains("\"timestamp\":\"2026-01-18 09:30:00\""), error.getBodyAsString());
+    }
+}
@@ -0,0 +1,85 @@
+package com.tetgift.component;
+
+import com.tetgift.dto.response.PageResponse;
+import com.tetgift.exception.InvalidCursorException;
+import com.tetgift.model.Users;
+import com.tetgift.model.page.KeysetSort;
+import com.tetgift.model.page.PageCursor;
+import com.tetgift.repository.jdbc.TableStatisticsRepository;
+import com.tetgift.repository.jpa.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class KeysetPaginatorTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 18, 9, 30, 15, 123_456_000);
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final TableStatisticsRepository tableStatistics = mock(TableStatisticsRepository.class);
+    private final PageCursorCodec cursorCodec = new PageCursorCodec("test-cursor-secret");
+    private final KeysetPaginator paginator = new KeysetPaginator(cursorCodec, tableStatistics, 50);
+    private final KeysetSort<Users, LocalDateTime> newestFirst = KeysetSort.newestFirst();
+
+    @Test
+    void page_returnsSignedCursorForLastRowWhenMoreRowsExist() {
+        when(userRepository.findBy(any(Specification.class), any())).thenReturn(users(4));
+        when(tableStatistics.estimateRowCount("users")).thenReturn(OptionalLong.of(1_250_000));
+
+        PageResponse<List<Long>> page = paginator.page(userRepository, null, newestFirst, null, 3, "users", true, Users::getId);
+
+        assertEquals(List.of(4L, 3L, 2L), page.getItems());
+        assertTrue(page.isHasNext());
+        assertEquals(1_250_000L, page.getApproximateTotal());
+        PageCursor cursor = cursorCodec.decode(page.getNextCursor(), newestFirst.name());
+        assertEquals(2L, cursor.getId());
+        assertEquals(NOW.minusSeconds(2), LocalDateTime.parse(cursor.getSortValue()));
+    }
+
+    @Test
+    void page_omitsCursorAndTotalOnLastPage() {
+        when(userRepository.findBy(any(Specification.class), any())).thenReturn(users(2));
+        String cursor = cursorCodec.encode(new PageCursor(newestFirst.name(), NOW.toString(), 9L));
+
+        PageResponse<List<Long>> page = paginator.page(userRepository, null, newestFirst, cursor, 3, "users", false, Users::getId);
+
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+        assertNull(page.getApproximateTotal());
+        verifyNoInteractions(tableStatistics);
+    }
+
+    @Test
+    void page_rejectsTamperedOrForeignCursors() {
+        String cursor = cursorCodec.encode(new PageCursor(newestFirst.name(), NOW.toString(), 9L));
+        String tampered = cursorCodec.encode(new PageCursor(newestFirst.name(), NOW.toString(), 9L)).replace('.', 'x') + ".AAAA";
+        String otherSort = cursorCodec.encode(new PageCursor("id:asc", "9", 9L));
+        String otherKey = new PageCursorCodec("another-secret").encode(new PageCursor(newestFirst.name(), NOW.toString(), 9L));
+
+        assertDoesNotThrow(() -> cursorCodec.decode(cursor, newestFirst.name()));
+        for (String invalid : List.of(tampered, otherSort, otherKey, "not-a-cursor")) {
+            assertThrows(InvalidCursorException.class,
+                    () -> paginator.page(userRepository, null, newestFirst, invalid, 3, "users", false, Users::getId));
+        }
+    }
+
+    private static List<Users> users(int count) {
+        return LongStream.rangeClosed(1, count).boxed()
+                .sorted((a, b) -> Long.compare(b, a))
+                .map(id -> {
+                    Users user = new Users();
+                    user.setId(id);
+                    user.setCreatedAt(NOW.minusSeconds(4 - id));
+                    return user;
+                })
+                .toList();
+    }
+}
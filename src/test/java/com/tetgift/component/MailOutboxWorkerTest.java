@@ -0,0 +1,87 @@
+package com.tetgift.component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.tetgift.service.impl.MailOutboxServiceImpl;
+import com.tetgift.service.impl.MailServiceImpl;
+import com.tetgift.service.impl.MailTemplateServiceImpl;
+import com.tetgift.support.EmbeddedRedisTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MailOutboxWorkerTest extends EmbeddedRedisTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private SimpleMeterRegistry meterRegistry;
+    private MailOutboxServiceImpl outbox;
+    private MailTemplateServiceImpl templates;
+
+    @BeforeEach
+    void setUp() {
+        flushAll();
+        meterRegistry = new SimpleMeterRegistry();
+        outbox = new MailOutboxServiceImpl(redisTemplate, new ObjectMapper(), 100);
+        outbox.ensureConsumerGroup();
+        templates = new MailTemplateServiceImpl(List.of("otp", "password-reset"), List.of("vi", "en"), "vi");
+    }
+
+    @Test
+    void processBatch_deliversQueuedMessages() throws Exception {
+        JavaMailSenderImpl mailSender = mailSender(ServerSetupTest.SMTP.getPort());
+        MailServiceImpl mailService = new MailServiceImpl(mailSender, outbox, templates, meterRegistry, "shop@example.com", 300);
+        for (int i = 0; i < 3; i++) {
+            assertEquals("queued", mailService.sendOtpMail("user" + i + "@example.com", "12345" + i));
+        }
+
+        assertEquals(0, greenMail.getReceivedMessages().length);
+        assertEquals(3, newWorker(mailSender, 5).processBatch("test-0", Duration.ZERO));
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(3, received.length);
+        assertEquals("user0@example.com", received[0].getAllRecipients()[0].toString());
+        assertEquals(0L, redisTemplate.opsForStream().size("mail:outbox"));
+        assertEquals(3.0, meterRegistry.counter("mail.outbox.messages", "result", "sent").count());
+    }
+
+    @Test
+    void processBatch_retriesAndThenDeadLettersUndeliverableMail() {
+        JavaMailSenderImpl unreachable = mailSender(1);
+        new MailServiceImpl(unreachable, outbox, templates, meterRegistry, "shop@example.com", 300)
+                .sendOtpMail("user@example.com", "123456");
+        MailOutboxWorker worker = newWorker(unreachable, 2);
+
+        assertEquals(0, worker.processBatch("test-0", Duration.ZERO));
+        assertEquals(1L, redisTemplate.opsForZSet().size("mail:outbox:retry"));
+
+        assertEquals(1L, outbox.promoteDueRetries(10));
+        assertEquals(0, worker.processBatch("test-0", Duration.ZERO));
+
+        assertEquals(0L, redisTemplate.opsForZSet().size("mail:outbox:retry"));
+        assertEquals(1L, redisTemplate.opsForStream().size("mail:outbox:dlq"));
+        assertEquals(0L, redisTemplate.opsForStream().size("mail:outbox"));
+    }
+
+    private MailOutboxWorker newWorker(JavaMailSenderImpl mailSender, int maxAttempts) {
+        return new MailOutboxWorker(outbox, mailSender, meterRegistry, false, 1, 10, maxAttempts,
+                0L, 0L, 0L, 60_000L);
+    }
+
+    private static JavaMailSenderImpl mailSender(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+        return mailSender;
+    }
+}
@@ -0,0 +1,138 @@
+package com.tetgift.component;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OutboundBackpressureInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private WebSocketSessionRegistry sessionRegistry;
+    private OutboundBackpressureInterceptor interceptor;
+    private WebSocketHandler decorated;
+    private WebSocketSession session;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        sessionRegistry = new WebSocketSessionRegistry(meterRegistry);
+        interceptor = new OutboundBackpressureInterceptor(sessionRegistry, meterRegistry, 100);
+        decorated = sessionRegistry.decorate(mock(WebSocketHandler.class));
+        session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("s1");
+        decorated.afterConnectionEstablished(session);
+    }
+
+    @Test
+    void preSend_tracksQueuedBytesUntilHandled() {
+        Message<byte[]> frame = frame(StompCommand.MESSAGE, 60);
+
+        assertSame(frame, interceptor.preSend(frame, null));
+        assertEquals(60, interceptor.queuedBytes("s1"));
+        assertEquals(60, meterRegistry.get("websocket.outbound.queued.bytes").gauge().value());
+
+        interceptor.afterMessageHandled(frame, null, null, null);
+        assertEquals(0, interceptor.queuedBytes("s1"));
+        assertEquals(1, meterRegistry.get("websocket.sessions.active").gauge().value());
+    }
+
+    @Test
+    void preSend_dropsFrameAndEvictsSlowConsumer() throws Exception {
+        assertNotNull(interceptor.preSend(frame(StompCommand.MESSAGE, 60), null));
+
+        assertNull(interceptor.preSend(frame(StompCommand.MESSAGE, 60), null));
+
+        verify(session).close(WebSocketSessionRegistry.SLOW_CONSUMER);
+        assertEquals(1013, WebSocketSessionRegistry.SLOW_CONSUMER.getCode());
+        assertEquals(1, meterRegistry.get("websocket.outbound.frames.dropped").counter().count());
+        assertEquals(1, meterRegistry.get("websocket.sessions.evicted").tag("reason", "slow_consumer").counter().count());
+        assertEquals(0, sessionRegistry.activeSessions());
+    }
+
+    @Test
+    void preSend_neverDropsControlFrames() {
+        assertNotNull(interceptor.preSend(frame(StompCommand.MESSAGE, 90), null));
+
+        assertNotNull(interceptor.preSend(frame(StompCommand.ERROR, 90), null));
+        assertEquals(0, meterRegistry.get("websocket.outbound.frames.dropped").counter().count());
+    }
+
+    @Test
+    void afterSendCompletion_releasesFramesThatFailBeforeDispatch() {
+        ExecutorSubscribableChannel outbound = new ExecutorSubscribableChannel(Runnable::run);
+        outbound.addInterceptor(interceptor);
+        outbound.addInterceptor(new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                throw new IllegalStateException("rejected downstream");
+            }
+        });
+        outbound.subscribe(message -> { });
+
+        assertThrows(MessageDeliveryException.class, () -> outbound.send(frame(StompCommand.MESSAGE, 60)));
+
+        assertEquals(0, interceptor.queuedBytes("s1"));
+        assertEquals(0, meterRegistry.get("websocket.outbound.queued.bytes").gauge().value());
+    }
+
+    @Test
+    void rejectedFrameIsReleasedExactlyOnce() {
+        interceptor.preSend(frame(StompCommand.MESSAGE, 60), null);
+        ExecutorSubscribableChannel outbound = new ExecutorSubscribableChannel(command -> {
+            throw new RejectedExecutionException("outbound queue full");
+        });
+        outbound.addInterceptor(interceptor);
+        outbound.subscribe(message -> {
+            throw new IllegalStateException("session closed");
+        });
+
+        assertThrows(MessageDeliveryException.class, () -> outbound.send(frame(StompCommand.MESSAGE, 30)));
+
+        assertEquals(60, interceptor.queuedBytes("s1"));
+        assertEquals(60, meterRegistry.get("websocket.outbound.queued.bytes").gauge().value());
+    }
+
+    @Test
+    void onSessionDisconnect_forgetsQueuedBytes() {
+        Message<byte[]> inFlight = frame(StompCommand.MESSAGE, 60);
+        interceptor.preSend(inFlight, null);
+
+        interceptor.onSessionDisconnect(new SessionDisconnectEvent(this, inFlight, "s1", CloseStatus.NORMAL));
+        assertEquals(0, interceptor.queuedBytes("s1"));
+        assertEquals(0, meterRegistry.get("websocket.outbound.queued.bytes").gauge().value());
+
+        interceptor.afterMessageHandled(inFlight, null, null, null);
+        assertEquals(0, meterRegistry.get("websocket.outbound.queued.bytes").gauge().value());
+    }
+
+    @Test
+    void afterConnectionClosed_countsSendLimitTermination() throws Exception {
+        decorated.afterConnectionClosed(session, CloseStatus.SESSION_NOT_RELIABLE);
+
+        assertEquals(0, sessionRegistry.activeSessions());
+        assertEquals(1, meterRegistry.get("websocket.sessions.evicted").tag("reason", "send_limit").counter().count());
+    }
+
+    private static Message<byte[]> frame(StompCommand command, int size) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setSessionId("s1");
+        return MessageBuilder.createMessage(new byte[size], accessor.getMessageHeaders());
+    }
+}
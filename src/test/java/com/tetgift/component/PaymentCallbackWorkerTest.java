@@ -0,0 +1,139 @@
+package com.tetgift.component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tetgift.configuration.VNPayConfig;
+import com.tetgift.dto.message.PaymentCallback;
+import com.tetgift.dto.response.VNPayIpnResponse;
+import com.tetgift.enums.PaymentTransitionResult;
+import com.tetgift.service.PaymentTransitionService;
+import com.tetgift.service.impl.PaymentCallbackServiceImpl;
+import com.tetgift.support.EmbeddedRedisTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.MapRecord;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PaymentCallbackWorkerTest extends EmbeddedRedisTest {
+
+    private VNPaySigner signer;
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentCallbackServiceImpl callbackService;
+    private PaymentTransitionService transitionService;
+    private PaymentCallbackWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        flushAll();
+        VNPayConfig config = new VNPayConfig();
+        config.setHashSecret("VNPAYTESTSECRETKEY0123456789ABCD");
+        signer = new VNPaySigner(config);
+        meterRegistry = new SimpleMeterRegistry();
+        callbackService = new PaymentCallbackServiceImpl(redisTemplate, signer, new ObjectMapper(), meterRegistry, 48, 3, 100);
+        callbackService.ensureConsumerGroup();
+        transitionService = mock(PaymentTransitionService.class);
+        worker = new PaymentCallbackWorker(callbackService, transitionService, new SimpleMeterRegistry(),
+                false, 2, 100, 0, 60_000L);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        worker.stop();
+    }
+
+    @Test
+    void ingest_acceptsOnceAndAnswersRetriesAsAlreadyConfirmed() {
+        Map<String, String> params = signed("42", "15000000");
+
+        assertEquals("00", callbackService.ingest(params).getRspCode());
+        assertEquals("02", callbackService.ingest(params).getRspCode());
+        assertEquals(1L, redisTemplate.opsForStream().size("payment:callbacks"));
+    }
+
+    @Test
+    void ingest_rejectsTamperedCallbackWithoutQueueing() {
+        Map<String, String> params = signed("42", "15000000");
+        params.put("vnp_Amount", "100");
+
+        VNPayIpnResponse response = callbackService.ingest(params);
+
+        assertEquals("97", response.getRspCode());
+        assertEquals(0L, redisTemplate.opsForStream().size("payment:callbacks"));
+    }
+
+    @Test
+    void processBatch_appliesEachReferenceAndAcknowledges() throws InterruptedException {
+        when(transitionService.apply(anyString(), anyList())).thenReturn(PaymentTransitionResult.PAID);
+        callbackService.ingest(signed("42", "15000000"));
+        callbackService.ingest(signed("43", "20000000"));
+
+        assertEquals(2, worker.processBatch(Duration.ZERO));
+
+        verify(transitionService).apply(eq("42"), argThat((List<PaymentCallback> callbacks) ->
+                callbacks.size() == 1 && callbacks.get(0).getAmount() == 15_000_000L));
+        verify(transitionService).apply(eq("43"), anyList());
+        assertEquals(0L, redisTemplate.opsForStream().size("payment:callbacks"));
+        assertEquals(0L, redisTemplate.opsForStream().pending("payment:callbacks", "payment-workers").getTotalPendingMessages());
+    }
+
+    @Test
+    void processBatch_leavesFailedTransitionsPending() throws InterruptedException {
+        when(transitionService.apply(anyString(), anyList())).thenThrow(new IllegalStateException("database down"));
+        callbackService.ingest(signed("42", "15000000"));
+
+        assertEquals(0, worker.processBatch(Duration.ZERO));
+
+        assertEquals(1L, redisTemplate.opsForStream().pending("payment:callbacks", "payment-workers").getTotalPendingMessages());
+        assertEquals(1L, callbackService.requeueStale(Duration.ZERO, 10));
+        doReturn(PaymentTransitionResult.PAID).when(transitionService).apply(anyString(), anyList());
+        assertEquals(1, worker.processBatch(Duration.ZERO));
+    }
+
+    @Test
+    void requeueStale_deadLettersACallbackThatKeepsFailing() throws InterruptedException {
+        when(transitionService.apply(anyString(), anyList())).thenThrow(new IllegalStateException("poison"));
+        callbackService.ingest(signed("42", "15000000"));
+
+        for (int attempt = 1; attempt < 3; attempt++) {
+            assertEquals(0, worker.processBatch(Duration.ZERO));
+            assertEquals(1L, callbackService.requeueStale(Duration.ZERO, 10));
+            MapRecord<String, Object, Object> requeued = redisTemplate.opsForStream()
+                    .range("payment:callbacks", Range.unbounded()).get(0);
+            assertEquals(String.valueOf(attempt), requeued.getValue().get("attempts"));
+        }
+        assertEquals(0, worker.processBatch(Duration.ZERO));
+        assertEquals(0L, callbackService.requeueStale(Duration.ZERO, 10));
+
+        assertEquals(0L, redisTemplate.opsForStream().size("payment:callbacks"));
+        List<MapRecord<String, Object, Object>> deadLetters = redisTemplate.opsForStream()
+                .range("payment:callbacks:dlq", Range.unbounded());
+        assertEquals(1, deadLetters.size());
+        assertEquals("3", deadLetters.get(0).getValue().get("attempts"));
+        assertEquals(1.0, meterRegistry.get("payment.callback.dead_lettered").counter().count());
+        verify(transitionService, times(3)).apply(eq("42"), anyList());
+    }
+
+    private Map<String, String> signed(String txnRef, String amount) {
+        Map<String, String> params = new HashMap<>();
+        params.put("vnp_TxnRef", txnRef);
+        params.put("vnp_Amount", amount);
+        params.put("vnp_ResponseCode", "00");
+        params.put("vnp_TransactionStatus", "00");
+        params.put("vnp_TransactionNo", "1400" + txnRef);
+        params.put("vnp_BankCode", "NCB");
+        params.put("vnp_PayDate", "20260210153000");
+        params.put(VNPaySigner.SECURE_HASH, signer.sign(signer.canonicalQuery(params)));
+        return params;
+    }
+}
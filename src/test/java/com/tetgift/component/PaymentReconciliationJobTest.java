@@ -0,0 +1,55 @@
+package com.tetgift.component;
+
+import com.tetgift.service.PaymentReconciliationService;
+import com.tetgift.support.EmbeddedRedisTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PaymentReconciliationJobTest extends EmbeddedRedisTest {
+    private static final String LOCK_KEY = "payment:reconciliation:lock";
+
+    private PaymentReconciliationService reconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        flushAll();
+        reconciliationService = mock(PaymentReconciliationService.class);
+    }
+
+    @Test
+    void run_releasesItsLockAfterTheRound() throws InterruptedException {
+        newJob().run();
+
+        verify(reconciliationService).reconcile();
+        assertFalse(redisTemplate.hasKey(LOCK_KEY));
+    }
+
+    @Test
+    void run_skipsWhileAnotherNodeHoldsTheLock() throws InterruptedException {
+        redisTemplate.opsForValue().set(LOCK_KEY, "other-node");
+
+        newJob().run();
+
+        verifyNoInteractions(reconciliationService);
+        assertEquals("other-node", redisTemplate.opsForValue().get(LOCK_KEY));
+    }
+
+    @Test
+    void run_keepsALockTakenOverAfterItsLeaseExpired() throws InterruptedException {
+        when(reconciliationService.reconcile()).thenAnswer(invocation -> {
+            redisTemplate.opsForValue().set(LOCK_KEY, "other-node");
+            return null;
+        });
+
+        newJob().run();
+
+        assertEquals("other-node", redisTemplate.opsForValue().get(LOCK_KEY));
+    }
+
+    private PaymentReconciliationJob newJob() {
+        return new PaymentReconciliationJob(reconciliationService, redisTemplate, true, 60_000);
+    }
+}
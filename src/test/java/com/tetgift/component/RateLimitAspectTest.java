@@ -0,0 +1,64 @@
+package com.tetgift.component;
+
+import com.tetgift.annotation.RateLimited;
+import com.tetgift.configuration.RateLimitConfig;
+import com.tetgift.service.RateLimiterService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class RateLimitAspectTest {
+
+    private RateLimitConfig config;
+    private RateLimitAspect aspect;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        config = new RateLimitConfig();
+        config.setPolicies(Map.of("login", List.of(new RateLimitConfig.Bucket())));
+        aspect = new RateLimitAspect(mock(RateLimiterService.class), config,
+                mock(ObjectProvider.class));
+    }
+
+    @Test
+    void validatePolicies_acceptsConfiguredPolicies() throws NoSuchMethodException {
+        assertDoesNotThrow(() -> aspect.validatePolicies(List.of(handler("login"))));
+    }
+
+    @Test
+    void validatePolicies_failsOnUnknownPolicy() throws NoSuchMethodException {
+        List<HandlerMethod> handlers = List.of(handler("login"), handler("changePassword"));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> aspect.validatePolicies(handlers));
+        assertTrue(error.getMessage().contains("change-password"), error.getMessage());
+    }
+
+    @Test
+    void validatePolicies_skipsWhenRateLimitingIsDisabled() throws NoSuchMethodException {
+        config.setEnabled(false);
+
+        assertDoesNotThrow(() -> aspect.validatePolicies(List.of(handler("changePassword"))));
+    }
+
+    private static HandlerMethod handler(String method) throws NoSuchMethodException {
+        return new HandlerMethod(new Endpoints(), Endpoints.class.getDeclaredMethod(method));
+    }
+
+    static class Endpoints {
+        @RateLimited("login")
+        public void login() {
+        }
+
+        @RateLimited("change-password")
+        public void changePassword() {
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.tetgift.component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tetgift.support.EmbeddedRedisTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.DefaultUserDestinationResolver;
+import org.springframework.messaging.simp.user.SimpSession;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.messaging.simp.user.UserDestinationMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RedisBrokerRelayTest extends EmbeddedRedisTest {
+
+    private static final String CHANNEL = "ws:broker:test";
+
+    private RedisMessageListenerContainer container;
+    private final List<Message<?>> deliveredOnA = new CopyOnWriteArrayList<>();
+    private final List<Message<?>> deliveredOnB = new CopyOnWriteArrayList<>();
+    private final ExecutorSubscribableChannel relayBrokerA = new ExecutorSubscribableChannel();
+    private final ExecutorSubscribableChannel relayBrokerB = new ExecutorSubscribableChannel();
+    private RedisBrokerRelay relayA;
+    private RedisBrokerRelay relayB;
+    private SimpleMeterRegistry metersB;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisTemplate.getConnectionFactory());
+        container.afterPropertiesSet();
+        container.start();
+        metersB = new SimpleMeterRegistry();
+        relayA = newRelay(relayBrokerA, deliveredOnA, new SimpleMeterRegistry());
+        relayB = newRelay(relayBrokerB, deliveredOnB, metersB);
+        awaitSubscribed();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        relayA.stop();
+        relayB.stop();
+        container.destroy();
+    }
+
+    @Test
+    void relaysTopicFramesToOtherNodesInBatches() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            relayA.preSend(message("/topic/orders", "{\"orderId\":\"" + i + "\"}", null), null);
+        }
+        relayA.flush();
+
+        awaitSize(deliveredOnB, 3);
+        assertEquals("/topic/orders", SimpMessageHeaderAccessor.getDestination(deliveredOnB.get(0).getHeaders()));
+        assertEquals("{\"orderId\":\"0\"}", new String((byte[]) deliveredOnB.get(0).getPayload(), StandardCharsets.UTF_8));
+        assertTrue(deliveredOnA.isEmpty());
+        assertEquals(2, metersB.get("websocket.relay.latency").timer().count());
+        assertEquals(3.0, metersB.get("websocket.relay.frames").tag("direction", "received").counter().count());
+    }
+
+    @Test
+    void relaysUserMessagesUnresolvedAndKeepsSessionFramesLocal() throws InterruptedException {
+        relayA.preSend(message("/queue/orders-user42", "{}", "/user/queue/orders"), null);
+        relayA.preSend(message("/user/alice/queue/orders", "{}", null), null);
+        relayA.flush();
+
+        awaitSize(deliveredOnB, 1);
+        Message<?> userMessage = deliveredOnB.get(0);
+        assertEquals("/user/alice/queue/orders", SimpMessageHeaderAccessor.getDestination(userMessage.getHeaders()));
+        assertNull(SimpMessageHeaderAccessor.getFirstNativeHeader(SimpMessageHeaderAccessor.ORIGINAL_DESTINATION,
+                userMessage.getHeaders()));
+        Thread.sleep(100);
+        assertEquals(1, deliveredOnB.size());
+    }
+
+    @Test
+    void userConnectedToTwoNodesReceivesOnBoth() throws InterruptedException {
+        List<String> sessionFramesOnA = new CopyOnWriteArrayList<>();
+        List<String> sessionFramesOnB = new CopyOnWriteArrayList<>();
+        ExecutorSubscribableChannel brokerA = userNode(relayA, relayBrokerA, "a1", sessionFramesOnA);
+        userNode(relayB, relayBrokerB, "b1", sessionFramesOnB);
+
+        new SimpMessagingTemplate(brokerA).convertAndSendToUser("alice", "/queue/orders", "{}".getBytes(StandardCharsets.UTF_8));
+        relayA.flush();
+
+        awaitSize(sessionFramesOnB, 1);
+        assertEquals(List.of("/queue/orders-usera1"), sessionFramesOnA);
+        assertEquals(List.of("/queue/orders-userb1"), sessionFramesOnB);
+    }
+
+    @Test
+    void doesNotRelayFramesReceivedFromAnotherNode() throws InterruptedException {
+        relayA.preSend(message("/topic/orders", "{}", null), null);
+        relayA.flush();
+        awaitSize(deliveredOnB, 1);
+
+        relayB.preSend(deliveredOnB.get(0), null);
+        relayB.flush();
+        Thread.sleep(100);
+
+        assertTrue(deliveredOnA.isEmpty());
+    }
+
+    private RedisBrokerRelay newRelay(ExecutorSubscribableChannel brokerChannel, List<Message<?>> delivered,
+                                      SimpleMeterRegistry meterRegistry) {
+        brokerChannel.subscribe(delivered::add);
+        RedisBrokerRelay relay = new RedisBrokerRelay(brokerChannel, redisTemplate, container, new ObjectMapper(),
+                meterRegistry, CHANNEL, 60_000, 2);
+        relay.start();
+        return relay;
+    }
+
+    /**
+     * A broker channel wired like the real one: the node's relay intercepts it and a user destination
+     * handler resolves {@code alice} to the given local session.
+     */
+    private static ExecutorSubscribableChannel userNode(RedisBrokerRelay relay, ExecutorSubscribableChannel relayBroker,
+                                                        String sessionId, List<String> sessionFrames) {
+        ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+        brokerChannel.addInterceptor(relay);
+        brokerChannel.subscribe(message -> {
+            String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+            if (destination != null && destination.startsWith("/queue/orders-user")) {
+                sessionFrames.add(destination);
+            }
+        });
+        SimpUser alice = mock(SimpUser.class);
+        SimpSession session = mock(SimpSession.class);
+        when(session.getId()).thenReturn(sessionId);
+        when(alice.getSessions()).thenReturn(Set.of(session));
+        SimpUserRegistry registry = mock(SimpUserRegistry.class);
+        when(registry.getUser("alice")).thenReturn(alice);
+        UserDestinationMessageHandler handler = new UserDestinationMessageHandler(new ExecutorSubscribableChannel(),
+                brokerChannel, new DefaultUserDestinationResolver(registry));
+        handler.start();
+        relayBroker.subscribe(brokerChannel::send);
+        return brokerChannel;
+    }
+
+    private static Message<byte[]> message(String destination, String json, String originalDestination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        if (originalDestination != null) {
+            accessor.setNativeHeader(SimpMessageHeaderAccessor.ORIGINAL_DESTINATION, originalDestination);
+        }
+        return MessageBuilder.createMessage(json.getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders());
+    }
+
+    private static void awaitSubscribed() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            Long receivers = redisTemplate.convertAndSend(CHANNEL, "{}");
+            if (receivers != null && receivers > 0) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        fail("relays did not subscribe");
+    }
+
+    private static void awaitSize(List<?> list, int size) throws InterruptedException {
+        for (int i = 0; i < 250 && list.size() < size; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(size, list.size());
+    }
+}
@@ -0,0 +1,63 @@
+package com.tetgift.component;
+
+import com.tetgift.support.EmbeddedRedisTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedisNearCacheTest extends EmbeddedRedisTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RedisNearCache nearCache;
+
+    @BeforeEach
+    void setUp() {
+        flushAll();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        nearCache.stop();
+    }
+
+    @Test
+    void servesLocallyUntilServerInvalidates() throws InterruptedException {
+        nearCache = newNearCache(true);
+        redisTemplate.opsForValue().set("security_version:7", "1");
+
+        assertTrue(nearCache.isTracking());
+        assertEquals("1", nearCache.get("security_version:7"));
+        assertEquals("1", nearCache.get("security_version:7"));
+        assertEquals(1, meterRegistry.get("redis.near_cache.requests").tag("result", "hit").counter().count());
+
+        redisTemplate.opsForValue().increment("security_version:7");
+
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (meterRegistry.get("redis.near_cache.invalidations").counter().count() < 1
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals("2", nearCache.get("security_version:7"));
+        assertEquals(1, meterRegistry.get("redis.near_cache.invalidations").counter().count());
+    }
+
+    @Test
+    void readsFromRedisWhenDisabled() {
+        nearCache = newNearCache(false);
+        redisTemplate.opsForValue().set("security_version:7", "3");
+
+        assertFalse(nearCache.isTracking());
+        assertEquals("3", nearCache.get("security_version:7"));
+        assertEquals(1, meterRegistry.get("redis.near_cache.requests").tag("result", "fallback").counter().count());
+    }
+
+    private RedisNearCache newNearCache(boolean enabled) {
+        LettuceConnectionFactory factory = (LettuceConnectionFactory) redisTemplate.getConnectionFactory();
+        return new RedisNearCache(redisTemplate, meterRegistry, enabled, 100, "localhost", factory.getPort(), 2_000L);
+    }
+}
@@ -0,0 +1,55 @@
+package com.tetgift.component;
+
+import com.tetgift.service.impl.SessionStoreServiceImpl;
+import com.tetgift.support.EmbeddedRedisTest;
+import com.tetgift.util.TokenDigestUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionIndexJanitorTest extends EmbeddedRedisTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SessionIndexJanitor janitor = new SessionIndexJanitor(redisTemplate, meterRegistry, true, 10);
+
+    @BeforeEach
+    void setUp() {
+        flushAll();
+    }
+
+    @Test
+    void sweep_removesIndexEntriesOfExpiredOrMissingSessions() {
+        SessionStoreServiceImpl store = new SessionStoreServiceImpl(redisTemplate);
+        Instant now = Instant.now();
+        store.createSession(7L, "live", "phone", now, now.plus(Duration.ofDays(1)));
+        store.createSession(7L, "gone", "phone", now, now.plus(Duration.ofDays(1)));
+        redisTemplate.delete("session:{7}:token:" + TokenDigestUtil.sha256Hex("gone"));
+        redisTemplate.opsForZSet().add("session:{7}:index", "expired", now.minusSeconds(60).toEpochMilli());
+
+        janitor.sweep();
+
+        assertEquals(Set.of(TokenDigestUtil.sha256Hex("live")), redisTemplate.opsForZSet().range("session:{7}:index", 0, -1));
+        assertEquals(2, meterRegistry.get("auth.session.janitor.reclaimed").tag("index", "session").counter().count());
+    }
+
+    @Test
+    void sweep_removesLegacyRefreshTokenIndexEntries() {
+        redisTemplate.opsForSet().add("RefreshToken", "a", "b");
+        redisTemplate.opsForHash().put("RefreshToken:a", "token", "x");
+        redisTemplate.opsForSet().add("RefreshToken:b:idx", "RefreshToken:usersId:7");
+        redisTemplate.opsForSet().add("RefreshToken:usersId:7", "a", "b");
+
+        janitor.sweep();
+
+        assertEquals(Set.of("a"), redisTemplate.opsForSet().members("RefreshToken"));
+        assertEquals(Set.of("a"), redisTemplate.opsForSet().members("RefreshToken:usersId:7"));
+        assertFalse(redisTemplate.hasKey("RefreshToken:b:idx"));
+        assertEquals(2, meterRegistry.get("auth.session.janitor.reclaimed").tag("index", "legacy").counter().count());
+    }
+}
@@ -0,0 +1,53 @@
+package com.tetgift.component;
+
+import com.tetgift.support.EmbeddedRedisTest;
+import com.tetgift.util.SnowflakeIdGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeNodeLeaseTest extends EmbeddedRedisTest {
+
+    @BeforeEach
+    void setUp() {
+        flushAll();
+    }
+
+    @Test
+    void instancesLeaseDistinctNodeIds() {
+        SnowflakeNodeLease first = newLease(-1, 30_000L);
+        SnowflakeNodeLease second = newLease(-1, 30_000L);
+
+        assertNotEquals(first.nodeId(), second.nodeId());
+        assertEquals(first.nodeId(), SnowflakeIdGenerator.nodeOf(first.getAsLong()));
+        assertTrue(redisTemplate.hasKey("idgen:node:" + first.nodeId()));
+    }
+
+    @Test
+    void refusesIdsAfterLeaseLapsesAndMovesToFreeSlot() throws InterruptedException {
+        SnowflakeNodeLease lease = newLease(-1, 100L);
+        int nodeId = lease.nodeId();
+        redisTemplate.opsForValue().set("idgen:node:" + nodeId, "someone-else");
+        Thread.sleep(150);
+
+        assertThrows(IllegalStateException.class, lease::getAsLong);
+
+        lease.renew();
+        assertNotEquals(nodeId, lease.nodeId());
+        assertEquals(lease.nodeId(), SnowflakeIdGenerator.nodeOf(lease.getAsLong()));
+    }
+
+    @Test
+    void pinnedNodeIdSkipsRedis() {
+        SnowflakeNodeLease lease = newLease(42, 100L);
+
+        assertEquals(42, lease.nodeId());
+        assertTrue(redisTemplate.keys("idgen:node:*").isEmpty());
+    }
+
+    private SnowflakeNodeLease newLease(int nodeId, long leaseMillis) {
+        return new SnowflakeNodeLease(redisTemplate, new SimpleMeterRegistry(), nodeId, leaseMillis, 32);
+    }
+}
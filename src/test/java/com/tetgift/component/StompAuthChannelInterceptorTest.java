@@ -0,0 +1,91 @@
+package com.tetgift.component;
+
+import com.tetgift.enums.TokenType;
+import com.tetgift.model.auth.VerifiedToken;
+import com.tetgift.model.auth.WebSocketPrincipal;
+import com.tetgift.service.AccessTokenDenylistService;
+import com.tetgift.service.JwtService;
+import com.tetgift.service.SecurityVersionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.jsonwebtoken.MalformedJwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class StompAuthChannelInterceptorTest {
+
+    private JwtService jwtService;
+    private SecurityVersionService securityVersionService;
+    private AccessTokenDenylistService denylistService;
+    private StompAuthChannelInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = mock(JwtService.class);
+        securityVersionService = mock(SecurityVersionService.class);
+        denylistService = mock(AccessTokenDenylistService.class);
+        when(securityVersionService.isCurrent(anyLong(), any())).thenReturn(true);
+        VerifiedTokenCache cache = new VerifiedTokenCache(new SimpleMeterRegistry(), false, 100);
+        interceptor = new StompAuthChannelInterceptor(jwtService, cache, securityVersionService, denylistService);
+    }
+
+    @Test
+    void connect_resolvesPrincipalFromBearerToken() {
+        when(jwtService.verifyToken("good", TokenType.ACCESS)).thenReturn(VerifiedToken.builder()
+                .tokenType(TokenType.ACCESS).tokenId("jti").subject("alice").userId(7L).roles(List.of("USER"))
+                .securityVersion(1L).issuedAt(Instant.now()).expiration(Instant.now().plusSeconds(600)).build());
+
+        Message<?> connect = interceptor.preSend(frame(StompCommand.CONNECT, "Bearer good", null), null);
+
+        WebSocketPrincipal principal = (WebSocketPrincipal) StompHeaderAccessor.wrap(connect).getUser();
+        assertNotNull(principal);
+        assertEquals("7", principal.getName());
+    }
+
+    @Test
+    void connect_rejectsInvalidToken() {
+        when(jwtService.verifyToken("bad", TokenType.ACCESS)).thenThrow(new MalformedJwtException("bad"));
+
+        assertThrows(MessageDeliveryException.class,
+                () -> interceptor.preSend(frame(StompCommand.CONNECT, "Bearer bad", null), null));
+    }
+
+    @Test
+    void subscribe_toUserDestinationRequiresAuthentication() {
+        assertThrows(MessageDeliveryException.class,
+                () -> interceptor.preSend(frame(StompCommand.SUBSCRIBE, null, "/user/queue/orders"), null));
+        assertNotNull(interceptor.preSend(frame(StompCommand.SUBSCRIBE, null, "/topic/promotions"), null));
+    }
+
+    @Test
+    void send_isOnlyAllowedToApplicationDestinations() {
+        assertThrows(MessageDeliveryException.class,
+                () -> interceptor.preSend(frame(StompCommand.SEND, null, "/user/alice/queue/orders"), null));
+        assertThrows(MessageDeliveryException.class,
+                () -> interceptor.preSend(frame(StompCommand.SEND, null, "/topic/promotions"), null));
+        assertNotNull(interceptor.preSend(frame(StompCommand.SEND, null, "/app/ping"), null));
+    }
+
+    private static Message<byte[]> frame(StompCommand command, String authorization, String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        if (authorization != null) {
+            accessor.setNativeHeader("Authorization", authorization);
+        }
+        if (destination != null) {
+            accessor.setDestination(destination);
+        }
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
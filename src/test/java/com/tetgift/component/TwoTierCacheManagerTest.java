@@ -0,0 +1,152 @@
+package com.tetgift.component;
+
+import com.tetgift.configuration.CacheConfig;
+import com.tetgift.support.EmbeddedRedisTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwoTierCacheManagerTest extends EmbeddedRedisTest {
+
+    private RedisMessageListenerContainer container;
+    private SimpleMeterRegistry metersA;
+    private SimpleMeterRegistry metersB;
+    private TwoTierCacheManager nodeA;
+    private TwoTierCacheManager nodeB;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        flushAll();
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisTemplate.getConnectionFactory());
+        container.afterPropertiesSet();
+        container.start();
+        CacheConfig cacheConfig = new CacheConfig();
+        CacheConfig.Spec products = new CacheConfig.Spec();
+        products.setTtl(Duration.ofSeconds(90));
+        products.setL1Ttl(Duration.ofMinutes(5));
+        cacheConfig.getSpecs().put("products", products);
+        metersA = new SimpleMeterRegistry();
+        metersB = new SimpleMeterRegistry();
+        nodeA = newManager(cacheConfig, metersA);
+        nodeB = newManager(cacheConfig, metersB);
+        awaitSubscribed(cacheConfig.getInvalidationChannel());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        container.destroy();
+    }
+
+    @Test
+    void servesRepeatedReadsFromL1AfterRedisHit() throws InterruptedException {
+        Cache cacheB = nodeB.getCache("products");
+        nodeA.getCache("products").put("p1", "Banh chung");
+        awaitReceived(metersB, 1);
+
+        assertEquals("Banh chung", cacheB.get("p1").get());
+        assertEquals("Banh chung", cacheB.get("p1").get());
+
+        assertEquals(1, metersB.get("cache.requests").tag("tier", "l2").tag("result", "hit").counter().count());
+        assertEquals(1, metersB.get("cache.requests").tag("tier", "l1").tag("result", "hit").counter().count());
+        assertEquals(0.5, metersB.get("cache.hit.ratio").tag("tier", "l1").gauge().value());
+        long ttl = redisTemplate.getExpire("products::p1", TimeUnit.SECONDS);
+        assertTrue(ttl > 60 && ttl <= 90, "ttl: " + ttl);
+    }
+
+    @Test
+    void invalidatesOtherNodesL1OnWrite() throws InterruptedException {
+        Cache cacheA = nodeA.getCache("products");
+        Cache cacheB = nodeB.getCache("products");
+        cacheA.put("p1", "v1");
+        assertEquals("v1", cacheB.get("p1").get());
+
+        cacheA.put("p1", "v2");
+
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (!"v2".equals(cacheB.get("p1").get()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals("v2", cacheB.get("p1").get());
+
+        cacheA.evict("p1");
+        deadline = System.currentTimeMillis() + 2_000;
+        while (cacheB.get("p1") != null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertNull(cacheB.get("p1"));
+    }
+
+    @Test
+    void coalescesConcurrentLoadsForTheSameKey() throws Exception {
+        Cache cache = nodeA.getCache("products");
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cache.get("hot", () -> {
+                    calls.incrementAndGet();
+                    release.await();
+                    return "loaded";
+                })));
+            }
+            long deadline = System.currentTimeMillis() + 2_000;
+            while (metersA.get("cache.loads").tag("result", "coalesced").counter().count() < 7
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("loaded", result.get(2, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, calls.get());
+    }
+
+    private TwoTierCacheManager newManager(CacheConfig cacheConfig, SimpleMeterRegistry meterRegistry) {
+        RedisCacheConfiguration defaults = RedisCacheConfiguration.defaultCacheConfig()
+                .disableCachingNullValues()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()));
+        TwoTierCacheManager manager = new TwoTierCacheManager(redisTemplate.getConnectionFactory(), defaults,
+                cacheConfig, redisTemplate, meterRegistry);
+        manager.subscribe(container);
+        return manager;
+    }
+
+    private static void awaitReceived(SimpleMeterRegistry meterRegistry, int invalidations) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (meterRegistry.get("cache.invalidations").tag("direction", "received").counter().count() < invalidations
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void awaitSubscribed(String channel) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (redisTemplate.convertAndSend(channel, "probe") < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.tetgift.component;
+
+import com.tetgift.configuration.VNPayConfig;
+import com.tetgift.util.VNPayUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings("deprecation")
+class VNPaySignerTest {
+
+    private static final String SECRET = "VNPAYTESTSECRETKEY0123456789ABCD";
+
+    private VNPaySigner signer;
+
+    @BeforeEach
+    void setUp() {
+        VNPayConfig config = new VNPayConfig();
+        config.setHashSecret(SECRET);
+        config.setTmnCode("TETGIFT1");
+        config.setUrl("https://sandbox.vnpayment.vn/paymentv2/vpcpay.html");
+        config.setReturnUrl("https://tetgift.vn/api/v1/payments/vnpay-return?source=web app");
+        signer = new VNPaySigner(config);
+    }
+
+    @Test
+    void canonicalQueryAndSignature_matchLegacyUtil() {
+        Map<String, String> params = new TreeMap<>();
+        params.put("vnp_OrderInfo", "Thanh toán đơn hàng #42 ~ 🎁");
+        params.put("vnp_Amount", "15000000");
+        params.put("vnp_ReturnUrl", "https://tetgift.vn/return?a=1&b=2");
+        params.put("vnp_TxnRef", "42");
+
+        String query = signer.canonicalQuery(params);
+
+        assertEquals(VNPayUtil.hashAllFields(params), query);
+        assertEquals(VNPayUtil.hmacSHA512(SECRET, query), signer.sign(query));
+    }
+
+    @Test
+    void buildPaymentUrl_signsCanonicalQueryInVietnamTime() {
+        ZonedDateTime createdAt = ZonedDateTime.of(2026, 2, 10, 8, 30, 0, 0, ZoneId.of("UTC"));
+
+        String url = signer.buildPaymentUrl(42L, 150_000, createdAt.withZoneSameInstant(ZoneId.of("Asia/Ho_Chi_Minh")));
+
+        String query = url.substring(url.indexOf('?') + 1, url.indexOf("&vnp_SecureHash="));
+        assertTrue(query.contains("vnp_CreateDate=20260210153000"));
+        assertTrue(query.contains("vnp_ExpireDate=20260210154500"));
+        assertTrue(query.contains("vnp_Amount=15000000"));
+        assertEquals(signer.sign(query), url.substring(url.indexOf("&vnp_SecureHash=") + 16));
+    }
+
+    @Test
+    void verify_acceptsGenuineCallbackAndRejectsTamperedOne() {
+        Map<String, String> callback = new HashMap<>();
+        callback.put("vnp_TxnRef", "42");
+        callback.put("vnp_Amount", "15000000");
+        callback.put("vnp_ResponseCode", "00");
+        callback.put("vnp_BankCode", "");
+        callback.put("vnp_SecureHashType", "HmacSHA512");
+        callback.put("vnp_SecureHash", signer.sign(signer.canonicalQuery(callback)).toUpperCase(Locale.ROOT));
+
+        assertTrue(signer.verify(callback));
+
+        callback.put("vnp_Amount", "100");
+        assertFalse(signer.verify(callback));
+        callback.put("vnp_SecureHash", "not-hex");
+        assertFalse(signer.verify(callback));
+    }
+}
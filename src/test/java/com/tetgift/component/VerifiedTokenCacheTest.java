@@ -0,0 +1,80 @@
+package com.tetgift.component;
+
+import com.tetgift.enums.TokenType;
+import com.tetgift.model.auth.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new VerifiedTokenCache(meterRegistry, true, 32);
+    }
+
+    @Test
+    void getOrVerify_verifiesOnlyOnFirstLookup() {
+        AtomicInteger verifications = new AtomicInteger();
+
+        cache.getOrVerify("token-a", () -> token(1L, 60, verifications));
+        VerifiedToken second = cache.getOrVerify("token-a", () -> token(1L, 60, verifications));
+
+        assertEquals(1, verifications.get());
+        assertEquals(1L, second.getUserId());
+        assertEquals(1.0, meterRegistry.get("auth.token.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("auth.token.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void getOrVerify_doesNotServeExpiredEntries() {
+        AtomicInteger verifications = new AtomicInteger();
+
+        cache.getOrVerify("token-a", () -> token(1L, -1, verifications));
+        cache.getOrVerify("token-a", () -> token(1L, -1, verifications));
+
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void invalidateUser_purgesOnlyThatUsersTokens() {
+        AtomicInteger verifications = new AtomicInteger();
+        cache.getOrVerify("token-a", () -> token(1L, 60, verifications));
+        cache.getOrVerify("token-b", () -> token(2L, 60, verifications));
+
+        cache.invalidateUser(1L);
+
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void cacheStaysBoundedBySize() {
+        AtomicInteger verifications = new AtomicInteger();
+        for (int i = 0; i < 1_000; i++) {
+            cache.getOrVerify("token-" + i, () -> token(1L, 60, verifications));
+        }
+
+        assertTrue(cache.size() <= 32);
+    }
+
+    private static VerifiedToken token(Long userId, long secondsToLive, AtomicInteger verifications) {
+        verifications.incrementAndGet();
+        return VerifiedToken.builder()
+                .tokenType(TokenType.ACCESS)
+                .subject("user-" + userId)
+                .userId(userId)
+                .roles(List.of("ROLE_USER"))
+                .expiration(Instant.now().plusSeconds(secondsToLive))
+                .build();
+    }
+}
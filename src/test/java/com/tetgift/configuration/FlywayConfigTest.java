@@ -0,0 +1,31 @@
+package com.tetgift.configuration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class FlywayConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(FlywayConfig.class);
+
+    @Test
+    void migratesDuringContextRefresh() {
+        Flyway flyway = mock(Flyway.class);
+
+        contextRunner.withBean(Flyway.class, () -> flyway)
+                .run(context -> {
+                    assertNull(context.getStartupFailure());
+                    verify(flyway).migrate();
+                });
+    }
+
+    @Test
+    void startsWithoutFlywayWhenDisabled() {
+        contextRunner.run(context -> assertNull(context.getStartupFailure()));
+    }
+}
@@ -0,0 +1,40 @@
+package com.tetgift.dto.response;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tetgift.configuration.JacksonConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Snowflake ids pass 2^53 within weeks of the epoch, so JavaScript clients must receive them as
+ * strings to keep every digit.
+ */
+class SnowflakeIdJsonTest {
+    private static final long ID = 237_364_051_968_012_305L;
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+
+    @Test
+    void loginResponse_serializesUserIdAsString() throws Exception {
+        JsonNode json = objectMapper.valueToTree(LoginResponse.builder().accessToken("a").userId(ID).build());
+
+        assertTrue(json.get("userId").isTextual());
+        assertEquals("237364051968012305", json.get("userId").asText());
+    }
+
+    @Test
+    void userSummaryResponse_serializesIdAsString() throws Exception {
+        String json = objectMapper.writeValueAsString(UserSummaryResponse.builder().id(ID).username("alice").build());
+
+        assertTrue(json.contains("\"id\":\"237364051968012305\""), json);
+    }
+
+    @Test
+    void missingId_staysNull() throws Exception {
+        JsonNode json = objectMapper.valueToTree(LoginResponse.builder().accessToken("a").build());
+
+        assertTrue(json.get("userId").isNull());
+    }
+}
@@ -0,0 +1,102 @@
+package com.tetgift.repository.jdbc;
+
+import com.tetgift.model.userimport.ImportChunkResult;
+import com.tetgift.model.userimport.ImportedAddress;
+import com.tetgift.model.userimport.ImportedUser;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the COPY import against a disposable Postgres ({@code TEST_POSTGRES_URL}, optional
+ * {@code TEST_POSTGRES_USER} / {@code TEST_POSTGRES_PASSWORD}) in a scratch schema.
+ */
+class UserImportRepositoryTest {
+    private static final String URL = System.getenv("TEST_POSTGRES_URL");
+    private static final String SCHEMA = "import_test_" + UUID.randomUUID().toString().replace("-", "").substring(0, 8);
+
+    private static JdbcTemplate admin;
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    static void createSchema() {
+        assumeTrue(URL != null && !URL.isBlank(), "TEST_POSTGRES_URL not set");
+        String user = System.getenv().getOrDefault("TEST_POSTGRES_USER", "postgres");
+        String password = System.getenv().getOrDefault("TEST_POSTGRES_PASSWORD", "");
+        admin = new JdbcTemplate(new DriverManagerDataSource(URL, user, password));
+        admin.execute("create schema " + SCHEMA);
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                URL + (URL.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA, user, password);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbcTemplate.execute("create table users (id bigint primary key, username varchar(255), email varchar(255), " +
+                "password varchar(255), full_name varchar(255), phone varchar(255), is_verify boolean not null, " +
+                "is_active boolean not null, is_locked boolean not null, provider varchar(255), " +
+                "created_at timestamp, updated_at timestamp, created_by bigint, updated_by bigint)");
+        jdbcTemplate.execute("create unique index ux_users_lower_username on users (lower(username))");
+        jdbcTemplate.execute("create unique index ux_users_lower_email on users (lower(email))");
+        jdbcTemplate.execute("create table address (id bigint primary key, user_id bigint not null references users, " +
+                "receiver_name varchar(255) not null, phone_number varchar(255) not null, " +
+                "street_address varchar(255) not null, ward varchar(255) not null, district varchar(255) not null, " +
+                "province varchar(255) not null, created_at timestamp, updated_at timestamp, " +
+                "created_by bigint, updated_by bigint)");
+        jdbcTemplate.execute("create table role (id bigint primary key, name varchar(255))");
+        jdbcTemplate.execute("create table user_roles (user_id bigint not null, role_id bigint not null)");
+        jdbcTemplate.execute("insert into role values (1, 'USER')");
+        jdbcTemplate.execute("insert into users (id, username, email, is_verify, is_active, is_locked) " +
+                "values (1, 'existing', 'existing@example.com', true, true, false)");
+    }
+
+    @AfterAll
+    static void dropSchema() {
+        if (admin != null) {
+            admin.execute("drop schema " + SCHEMA + " cascade");
+        }
+    }
+
+    @Test
+    void write_copiesUsersAndAddressesAndSkipsCaseInsensitiveDuplicates() {
+        UserImportRepository repository = new UserImportRepository(jdbcTemplate);
+        List<ImportedUser> chunk = List.of(
+                user(100, 2, "alice", "alice@example.com", "Alice \"Al\", Nguyen"),
+                user(101, 3, "EXISTING", "new@example.com", null),
+                user(102, 4, "alice2", "ALICE@example.com", null),
+                user(103, 5, "bob", "bob@example.com", null));
+
+        ImportChunkResult result = transactionTemplate.execute(status -> repository.write(chunk, "USER"));
+
+        assertEquals(2, result.getUsers());
+        assertEquals(2, result.getAddresses());
+        assertEquals(List.of(3L, 4L), result.getDuplicateLines());
+        assertEquals("Alice \"Al\", Nguyen", jdbcTemplate.queryForObject(
+                "select full_name from users where id = 100", String.class));
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from user_roles", Integer.class));
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from address", Integer.class));
+    }
+
+    @Test
+    void roleExists_matchesSeededRolesOnly() {
+        UserImportRepository repository = new UserImportRepository(jdbcTemplate);
+
+        assertTrue(repository.roleExists("USER"));
+        assertFalse(repository.roleExists("SUPERUSER"));
+    }
+
+    private static ImportedUser user(long id, long line, String username, String email, String fullName) {
+        return new ImportedUser(id, line, username, email, "$2a$04$hash", fullName, null,
+                List.of(new ImportedAddress(id * 10, "Receiver", "0901234567", "1 Le Loi", "Ben Nghe", "District 1", "HCMC")));
+    }
+}
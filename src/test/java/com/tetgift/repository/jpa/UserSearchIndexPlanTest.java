@@ -0,0 +1,105 @@
+package com.tetgift.repository.jpa;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that the lookups and search filters are planned on the indexes from the V1 migration.
+ * Needs a disposable Postgres: set {@code TEST_POSTGRES_URL} (plus {@code TEST_POSTGRES_USER} /
+ * {@code TEST_POSTGRES_PASSWORD}); the test runs in its own schema and drops it afterwards.
+ */
+class UserSearchIndexPlanTest {
+    private static final String URL = System.getenv("TEST_POSTGRES_URL");
+    private static final String USER = System.getenv().getOrDefault("TEST_POSTGRES_USER", "postgres");
+    private static final String PASSWORD = System.getenv().getOrDefault("TEST_POSTGRES_PASSWORD", "");
+    private static final String SCHEMA = "plan_test_" + UUID.randomUUID().toString().replace("-", "").substring(0, 8);
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrate() throws SQLException {
+        assumeTrue(URL != null && !URL.isBlank(), "TEST_POSTGRES_URL not set");
+        connection = DriverManager.getConnection(URL, USER, PASSWORD);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA " + SCHEMA);
+            statement.execute("SET search_path TO " + SCHEMA + ", public");
+            statement.execute("""
+                    CREATE TABLE users (
+                        id bigserial PRIMARY KEY,
+                        full_name varchar(255), email varchar(255), phone varchar(255), username varchar(255),
+                        created_at timestamp NOT NULL)""");
+            statement.execute("""
+                    INSERT INTO users (full_name, email, phone, username, created_at)
+                    SELECT 'Customer ' || md5(g::text), 'user' || g || '@Example.com', '09' || lpad(g::text, 8, '0'),
+                           'User_' || g, now() - g * interval '1 minute'
+                    FROM generate_series(1, 20000) g""");
+        }
+        Flyway.configure()
+                .dataSource(URL, USER, PASSWORD)
+                .schemas(SCHEMA)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE users");
+        }
+    }
+
+    @AfterAll
+    static void dropSchema() throws SQLException {
+        if (connection != null) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP SCHEMA " + SCHEMA + " CASCADE");
+            }
+            connection.close();
+        }
+    }
+
+    @Test
+    void usernameLookup_usesCaseInsensitiveUniqueIndex() throws SQLException {
+        assertPlanUses("select * from users where lower(username) = lower('USER_42')", "ux_users_lower_username");
+    }
+
+    @Test
+    void emailLookup_usesCaseInsensitiveUniqueIndex() throws SQLException {
+        assertPlanUses("select * from users where lower(email) = lower('User42@example.com')", "ux_users_lower_email");
+    }
+
+    @Test
+    void containsFilters_useTrigramIndexes() throws SQLException {
+        assertPlanUses("select * from users where lower(email) like '%user1234@%' escape '\\'", "idx_users_email_trgm");
+        assertPlanUses("select * from users where phone like '%00012345%' escape '\\'", "idx_users_phone_trgm");
+        assertPlanUses("select * from users where lower(full_name) like '%c4ca4238a0%' escape '\\' " +
+                "or lower(username) like '%c4ca4238a0%' escape '\\'", "idx_users_full_name_trgm");
+    }
+
+    private static void assertPlanUses(String sql, String index) throws SQLException {
+        String plan = explain(sql);
+        assertTrue(plan.contains(index), plan);
+    }
+
+    private static String explain(String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("EXPLAIN " + sql)) {
+            while (rows.next()) {
+                plan.append(rows.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+}
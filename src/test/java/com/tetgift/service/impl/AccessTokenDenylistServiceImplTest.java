@@ -0,0 +1,100 @@
+package com.tetgift.service.impl;
+
+import com.tetgift.model.auth.VerifiedToken;
+import com.tetgift.support.EmbeddedRedisTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class AccessTokenDenylistServiceImplTest extends EmbeddedRedisTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccessTokenDenylistServiceImpl denylist;
+
+    @BeforeEach
+    void setUp() {
+        flushAll();
+        meterRegistry = new SimpleMeterRegistry();
+        denylist = newDenylist(meterRegistry);
+    }
+
+    @Test
+    void revoke_makesTokenRevokedUntilItExpires() {
+        VerifiedToken token = token("jti-1", Duration.ofMinutes(10));
+
+        denylist.revoke(token);
+
+        assertTrue(denylist.isRevoked(token));
+        long ttlMillis = redisTemplate.getExpire("token_denylist:jti-1", TimeUnit.MILLISECONDS);
+        assertTrue(ttlMillis > 0 && ttlMillis <= Duration.ofMinutes(10).toMillis(), "ttl " + ttlMillis);
+        assertEquals(1, lookups("revoked"));
+    }
+
+    @Test
+    void revoke_ignoresAlreadyExpiredTokens() {
+        VerifiedToken token = token("jti-expired", Duration.ofSeconds(-5));
+
+        denylist.revoke(token);
+
+        assertFalse(redisTemplate.hasKey("token_denylist:jti-expired"));
+        assertFalse(denylist.isRevoked(token));
+    }
+
+    @Test
+    void isRevoked_answersBloomNegativesWithoutRedis() {
+        VerifiedToken token = token("jti-2", Duration.ofMinutes(10));
+        redisTemplate.opsForValue().set("token_denylist:jti-2", "0");
+
+        assertFalse(denylist.isRevoked(token));
+        assertEquals(1, lookups("bloom_negative"));
+        assertEquals(0, lookups("bloom_positive"));
+    }
+
+    @Test
+    void isRevoked_confirmsBloomPositivesAgainstRedis() {
+        VerifiedToken token = token("jti-3", Duration.ofMinutes(10));
+        denylist.revoke(token);
+        redisTemplate.delete("token_denylist:jti-3");
+
+        assertFalse(denylist.isRevoked(token));
+        assertEquals(1, lookups("bloom_positive"));
+        assertEquals(0, lookups("revoked"));
+    }
+
+    @Test
+    void resync_picksUpRevocationsMadeOnOtherNodes() {
+        VerifiedToken token = token("jti-4", Duration.ofMinutes(10));
+        newDenylist(new SimpleMeterRegistry()).revoke(token);
+        assertFalse(denylist.isRevoked(token));
+
+        denylist.resync();
+
+        assertTrue(denylist.isRevoked(token));
+    }
+
+    private AccessTokenDenylistServiceImpl newDenylist(SimpleMeterRegistry registry) {
+        return new AccessTokenDenylistServiceImpl(redisTemplate, mock(RedisMessageListenerContainer.class), registry,
+                5, 1_000, 0.01);
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("auth.denylist.lookups").tag("result", result).counter().count();
+    }
+
+    private static VerifiedToken token(String tokenId, Duration remaining) {
+        return VerifiedToken.builder()
+                .tokenId(tokenId)
+                .userId(7L)
+                .issuedAt(Instant.now())
+                .expiration(Instant.now().plus(remaining))
+                .build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.tetgift.service.impl;
+
+import com.tetgift.dto.request.LoginRequest;
+import com.tetgift.dto.response.LoginResponse;
+import com.tetgift.enums.TokenType;
+import com.tetgift.model.Users;
+import com.tetgift.model.auth.VerifiedToken;
+import com.tetgift.repository.jpa.UserRepository;
+import com.tetgift.service.AccessTokenDenylistService;
+import com.tetgift.service.JwtService;
+import com.tetgift.service.MailService;
+import com.tetgift.service.PasswordHashingService;
+import com.tetgift.service.SecurityVersionService;
+import com.tetgift.service.SessionStoreService;
+import com.tetgift.util.AuthenticationUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AuthenticationServiceImplTest {
+
+    private UserRepository userRepository;
+    private JwtService jwtService;
+    private PasswordHashingService passwordHashingService;
+    private MailService mailService;
+    private AuthenticationServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class, Mockito.CALLS_REAL_METHODS);
+        jwtService = mock(JwtService.class);
+        passwordHashingService = mock(PasswordHashingService.class);
+        mailService = mock(MailService.class);
+        service = new AuthenticationServiceImpl(userRepository, jwtService, mock(SessionStoreService.class),
+                passwordHashingService, mock(AuthenticationUtils.class), mock(SecurityVersionService.class),
+                mock(AccessTokenDenylistService.class), mailService);
+    }
+
+    @Test
+    void login_withEmail_resolvesOnlyTheEmailOwner() {
+        Users owner = user(1L, "alice", "bob@example.com");
+        doReturn(Optional.of(owner)).when(userRepository).findWithRolesByEmail("bob@example.com");
+        when(passwordHashingService.matches("secret-password", "hash")).thenReturn(true);
+        when(jwtService.generateAccessToken(owner)).thenReturn("access");
+        when(jwtService.generateRefreshToken(owner)).thenReturn("refresh");
+        when(jwtService.verifyToken("refresh", TokenType.REFRESH)).thenReturn(VerifiedToken.builder()
+                .issuedAt(Instant.now())
+                .expiration(Instant.now().plusSeconds(60))
+                .build());
+
+        LoginResponse response = service.login(login("bob@example.com"));
+
+        assertEquals(1L, response.getUserId());
+        verify(userRepository, never()).findWithRolesByUsername(anyString());
+    }
+
+    @Test
+    void login_withUsername_neverConsultsEmailIndex() {
+        doReturn(Optional.of(user(2L, "bob", "carol@example.com"))).when(userRepository).findWithRolesByUsername("bob");
+        when(passwordHashingService.matches(any(), any())).thenReturn(false);
+
+        assertThrows(BadCredentialsException.class, () -> service.login(login("bob")));
+
+        verify(userRepository).findWithRolesByUsername("bob");
+        verify(userRepository, never()).findWithRolesByEmail(anyString());
+    }
+
+    @Test
+    void login_rehashWritesOnlyIfTheCheckedHashIsStillStored() {
+        Users owner = user(3L, "carol", "carol@example.com");
+        doReturn(Optional.of(owner)).when(userRepository).findWithRolesByUsername("carol");
+        when(passwordHashingService.matches("secret-password", "hash")).thenReturn(true);
+        when(passwordHashingService.needsRehash("hash")).thenReturn(true);
+        when(jwtService.generateRefreshToken(owner)).thenReturn("refresh");
+        when(jwtService.verifyToken("refresh", TokenType.REFRESH)).thenReturn(VerifiedToken.builder()
+                .issuedAt(Instant.now())
+                .expiration(Instant.now().plusSeconds(60))
+                .build());
+        doReturn(0).when(userRepository).updatePasswordIfUnchanged(anyLong(), anyString(), anyString());
+
+        service.login(login("carol"));
+        owner.setPassword("changed-meanwhile");
+
+        ArgumentCaptor<Consumer<String>> onRehashed = ArgumentCaptor.captor();
+        verify(passwordHashingService).rehashAsync(eq("secret-password"), onRehashed.capture());
+        onRehashed.getValue().accept("rehashed");
+        verify(userRepository).updatePasswordIfUnchanged(3L, "hash", "rehashed");
+    }
+
+    @Test
+    void login_unknownUser_simulatesHashAndRejects() {
+        doReturn(Optional.empty()).when(userRepository).findWithRolesByEmail(eq("nobody@example.com"));
+
+        assertThrows(BadCredentialsException.class, () -> service.login(login("nobody@example.com")));
+
+        verify(passwordHashingService).simulateMatch("secret-password");
+    }
+
+    @Test
+    void forgotPassword_sendsTheTokenOnlyByMail() {
+        Users owner = user(4L, "dave", "dave@example.com");
+        doReturn(Optional.of(owner)).when(userRepository).findByEmail("dave@example.com");
+        when(jwtService.generateResetPasswordToken(owner)).thenReturn("reset-token");
+
+        service.forgotPassword("dave@example.com");
+
+        verify(mailService).sendPasswordResetMail("dave@example.com", "reset-token");
+    }
+
+    private static LoginRequest login(String usernameOrEmail) {
+        return LoginRequest.builder().usernameOrEmail(usernameOrEmail).password("secret-password").build();
+    }
+
+    private static Users user(long id, String username, String email) {
+        Users user = new Users();
+        user.setId(id);
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setPassword("hash");
+        user.setVerify(true);
+        user.setActive(true);
+        return user;
+    }
+}
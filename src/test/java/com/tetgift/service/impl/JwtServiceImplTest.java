@@ -0,0 +1,77 @@
+package com.tetgift.service.impl;
+
+import com.tetgift.enums.TokenType;
+import com.tetgift.model.Role;
+import com.tetgift.model.Users;
+import com.tetgift.model.auth.VerifiedToken;
+import com.tetgift.service.SecurityVersionService;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.io.Encoders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class JwtServiceImplTest {
+
+    private JwtServiceImpl jwtService;
+    private Users user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtServiceImpl(mock(SecurityVersionService.class));
+        ReflectionTestUtils.setField(jwtService, "secretKey", randomSecret());
+        ReflectionTestUtils.setField(jwtService, "refreshKey", randomSecret());
+        ReflectionTestUtils.setField(jwtService, "resetPasswordKey", randomSecret());
+        ReflectionTestUtils.setField(jwtService, "expirationTime", 60_000L);
+        ReflectionTestUtils.setField(jwtService, "expirationDays", 7L);
+        jwtService.init();
+
+        user = Users.builder()
+                .username("tet.customer")
+                .roles(Set.of(Role.builder().name("USER").build()))
+                .build();
+        user.setId(42L);
+    }
+
+    @Test
+    void verifyToken_returnsAllClaimsFromSingleParse() {
+        String token = jwtService.generateAccessToken(user);
+
+        VerifiedToken verifiedToken = jwtService.verifyToken(token, TokenType.ACCESS);
+
+        assertEquals("tet.customer", verifiedToken.getSubject());
+        assertEquals(42L, verifiedToken.getUserId());
+        assertEquals(List.of("ROLE_USER"), verifiedToken.getRoles());
+        assertEquals(TokenType.ACCESS, verifiedToken.getTokenType());
+        assertEquals(0L, verifiedToken.getSecurityVersion());
+        assertFalse(verifiedToken.isExpired());
+        assertTrue(jwtService.isTokenValid(verifiedToken, user));
+    }
+
+    @Test
+    void verifyToken_rejectsTokenSignedForAnotherType() {
+        String refreshToken = jwtService.generateRefreshToken(user);
+
+        assertThrows(JwtException.class, () -> jwtService.verifyToken(refreshToken, TokenType.ACCESS));
+    }
+
+    @Test
+    void verifyToken_rejectsTokenTypeWithoutKey() {
+        String token = jwtService.generateAccessToken(user);
+
+        assertThrows(IllegalArgumentException.class, () -> jwtService.verifyToken(token, TokenType.EMAIL_VERIFICATION));
+    }
+
+    private static String randomSecret() {
+        byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        return Encoders.BASE64.encode(bytes);
+    }
+}
@@ -0,0 +1,43 @@
+package com.tetgift.service.impl;
+
+import com.tetgift.model.mail.RenderedMail;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MailTemplateServiceImplTest {
+
+    private MailTemplateServiceImpl mailTemplateService;
+
+    @BeforeEach
+    void setUp() {
+        mailTemplateService = new MailTemplateServiceImpl(List.of("otp", "password-reset"), List.of("vi", "en"), "vi");
+        mailTemplateService.warmUp();
+    }
+
+    @Test
+    void render_usesDefaultLocaleWithStaticFragments() {
+        RenderedMail mail = mailTemplateService.render("otp", Locale.JAPANESE, Map.of("otp", "042917", "ttlMinutes", 5));
+
+        assertEquals("Mã OTP của bạn", mail.getSubject());
+        assertTrue(mail.getHtml().contains("042917"));
+        assertTrue(mail.getHtml().contains("Mã có hiệu lực trong 5 phút"));
+        assertTrue(mail.getHtml().contains("Quà Tết trao tay"));
+        assertTrue(mail.getHtml().contains("vui lòng không trả lời"));
+    }
+
+    @Test
+    void render_selectsLocalizedVariantAndEscapesVariables() {
+        RenderedMail mail = mailTemplateService.render("password-reset", Locale.US, Map.of("token", "<script>x</script>"));
+
+        assertEquals("Reset your password", mail.getSubject());
+        assertTrue(mail.getHtml().contains("Happy Lunar New Year!"));
+        assertTrue(mail.getHtml().contains("&lt;script&gt;x&lt;/script&gt;"));
+        assertFalse(mail.getHtml().contains("<script>"));
+    }
+}
@@ -0,0 +1,50 @@
+package com.tetgift.service.impl;
+
+import com.tetgift.dto.message.OrderStatusMessage;
+import com.tetgift.enums.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class OrderStatusNotifierImplTest {
+
+    @Test
+    void flush_sendsOnlyLatestStatusPerOrder() {
+        SimpMessagingTemplate template = mock(SimpMessagingTemplate.class);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OrderStatusNotifierImpl notifier = new OrderStatusNotifierImpl(template, meterRegistry);
+
+        notifier.notify(7L, 1L, OrderStatus.PAID, "Payment received");
+        notifier.notify(7L, 1L, OrderStatus.PROCESSING, "Packing");
+        notifier.notify(7L, 2L, OrderStatus.PAID, "Payment received");
+        notifier.notify(7L, 1L, OrderStatus.SHIPPED, "On the way");
+        notifier.notify(8L, 3L, OrderStatus.CANCELLED, "Expired");
+        notifier.flush();
+
+        ArgumentCaptor<Object> sent = ArgumentCaptor.forClass(Object.class);
+        verify(template, times(2)).convertAndSendToUser(eq("7"), eq(OrderStatusNotifierImpl.DESTINATION), sent.capture());
+        List<String> statuses = sent.getAllValues().stream().map(update -> ((OrderStatusMessage) update).getStatus()).toList();
+        assertEquals(List.of("SHIPPED", "PAID"), statuses);
+        verify(template).convertAndSendToUser(eq("8"), eq(OrderStatusNotifierImpl.DESTINATION), any(Object.class));
+        assertEquals(2.0, meterRegistry.get("websocket.orders.updates").tag("result", "coalesced").counter().count());
+    }
+
+    @Test
+    void flush_sendsNothingTwice() {
+        SimpMessagingTemplate template = mock(SimpMessagingTemplate.class);
+        OrderStatusNotifierImpl notifier = new OrderStatusNotifierImpl(template, new SimpleMeterRegistry());
+
+        notifier.notify(7L, 1L, OrderStatus.PAID, "Payment received");
+        notifier.flush();
+        notifier.flush();
+
+        verify(template, times(1)).convertAndSendToUser(eq("7"), eq(OrderStatusNotifierImpl.DESTINATION), any(Object.class));
+    }
+}
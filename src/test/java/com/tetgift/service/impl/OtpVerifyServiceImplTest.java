@@ -0,0 +1,90 @@
+package com.tetgift.service.impl;
+
+import com.tetgift.exception.InvalidDataException;
+import com.tetgift.exception.RateLimitExceededException;
+import com.tetgift.repository.jpa.UserRepository;
+import com.tetgift.service.MailService;
+import com.tetgift.support.EmbeddedRedisTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OtpVerifyServiceImplTest extends EmbeddedRedisTest {
+
+    private UserRepository userRepository;
+    private OtpVerifyServiceImpl otpVerifyService;
+
+    @BeforeEach
+    void setUp() {
+        flushAll();
+        userRepository = mock(UserRepository.class);
+        when(userRepository.markVerified("user@example.com")).thenReturn(1);
+        when(userRepository.existsByEmailAndIsVerifyFalse("user@example.com")).thenReturn(true);
+        otpVerifyService = new OtpVerifyServiceImpl(redisTemplate, userRepository, mock(MailService.class), 300, 3, 15);
+    }
+
+    @Test
+    void verifyOtp_consumesCodeAndActivatesUser() {
+        otpVerifyService.saveOtp("user@example.com", "123456");
+
+        assertTrue(otpVerifyService.verifyOtp("user@example.com", "123456"));
+        assertThrows(InvalidDataException.class, () -> otpVerifyService.verifyOtp("user@example.com", "123456"));
+        verify(userRepository, times(1)).markVerified("user@example.com");
+    }
+
+    @Test
+    void verifyOtp_locksOutAfterMaxAttempts() {
+        otpVerifyService.saveOtp("user@example.com", "123456");
+
+        assertThrows(InvalidDataException.class, () -> otpVerifyService.verifyOtp("user@example.com", "000000"));
+        assertThrows(InvalidDataException.class, () -> otpVerifyService.verifyOtp("user@example.com", "12345"));
+        RateLimitExceededException lockout = assertThrows(RateLimitExceededException.class,
+                () -> otpVerifyService.verifyOtp("user@example.com", "111111"));
+        assertEquals(900, lockout.getRetryAfterSeconds());
+
+        assertThrows(RateLimitExceededException.class, () -> otpVerifyService.verifyOtp("user@example.com", "123456"));
+        assertThrows(RateLimitExceededException.class, () -> otpVerifyService.resendOtp("user@example.com"));
+        verify(userRepository, never()).markVerified(anyString());
+    }
+
+    @Test
+    void verifyOtp_acceptsOnlyOneOfConcurrentCorrectAttempts() throws Exception {
+        otpVerifyService.saveOtp("user@example.com", "123456");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            attempts.add(() -> {
+                try {
+                    return otpVerifyService.verifyOtp("user@example.com", "123456");
+                } catch (InvalidDataException e) {
+                    return false;
+                }
+            });
+        }
+
+        int verified = 0;
+        for (Future<Boolean> result : executor.invokeAll(attempts)) {
+            verified += result.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertEquals(1, verified);
+        verify(userRepository, times(1)).markVerified("user@example.com");
+    }
+
+    @Test
+    void generateOtp_returnsSixDigits() {
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(otpVerifyService.generateOtp().matches("\\d{6}"));
+        }
+    }
+}
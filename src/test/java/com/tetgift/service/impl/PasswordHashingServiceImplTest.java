@@ -0,0 +1,67 @@
+package com.tetgift.service.impl;
+
+import com.tetgift.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingServiceImplTest {
+
+    private ThreadPoolTaskExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void matches_runsBcryptOnHashingExecutor() {
+        PasswordHashingServiceImpl service = newService(2, 4, 4);
+        String hash = new BCryptPasswordEncoder(4).encode("secret-password");
+
+        assertTrue(service.matches("secret-password", hash));
+        assertFalse(service.matches("wrong-password", hash));
+    }
+
+    @Test
+    void matches_rejectsWhenQueueIsFull() throws InterruptedException {
+        PasswordHashingServiceImpl service = newService(1, 0, 4);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class,
+                () -> service.matches("secret-password", "$2a$04$invalid"));
+        assertEquals(2, exception.getRetryAfterSeconds());
+        release.countDown();
+    }
+
+    @Test
+    void needsRehash_detectsCostChange() {
+        PasswordHashingServiceImpl service = newService(1, 4, 5);
+
+        assertTrue(service.needsRehash(new BCryptPasswordEncoder(4).encode("secret-password")));
+        assertFalse(service.needsRehash(new BCryptPasswordEncoder(5).encode("secret-password")));
+    }
+
+    private PasswordHashingServiceImpl newService(int poolSize, int queueCapacity, int strength) {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+        return new PasswordHashingServiceImpl(new BCryptPasswordEncoder(strength), executor,
+                new SimpleMeterRegistry(), strength, 5_000L, 2L);
+    }
+}
@@ -0,0 +1,135 @@
+package com.tetgift.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tetgift.component.VNPayQueryClient;
+import com.tetgift.component.VNPaySigner;
+import com.tetgift.configuration.VNPayConfig;
+import com.tetgift.enums.PaymentStatus;
+import com.tetgift.model.payment.PaymentStatusUpdate;
+import com.tetgift.model.payment.PendingPayment;
+import com.tetgift.model.payment.ReconciliationReport;
+import com.tetgift.repository.jdbc.PaymentStatusBatchRepository;
+import com.tetgift.repository.jpa.PaymentRepository;
+import com.tetgift.service.PaymentExpiryService;
+import com.tetgift.support.VNPayApiStub;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PaymentReconciliationServiceImplTest {
+
+    private static final int PAYMENTS = 250;
+    private static final int CONCURRENCY = 16;
+
+    private VNPayApiStub stub;
+    private PaymentStatusBatchRepository batchRepository;
+    private PaymentExpiryService expiryService;
+    private PaymentReconciliationServiceImpl service;
+    private final List<PaymentStatusUpdate> applied = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() throws IOException {
+        VNPayConfig config = new VNPayConfig();
+        config.setHashSecret("VNPAYTESTSECRETKEY0123456789ABCD");
+        config.setTmnCode("TETGIFT1");
+        VNPaySigner signer = new VNPaySigner(config);
+        stub = new VNPayApiStub(signer, 20);
+        config.setApiUrl(stub.url());
+
+        List<PendingPayment> pending = new ArrayList<>();
+        LocalDateTime createdAt = LocalDateTime.now().minusHours(2);
+        for (long id = 1; id <= PAYMENTS; id++) {
+            pending.add(new PendingPayment(id, 100_000L, createdAt));
+            switch ((int) (id % 5)) {
+                case 0 -> stub.register(String.valueOf(id), 10_000_000L, "00");
+                case 1 -> stub.register(String.valueOf(id), 10_000_000L, "02");
+                case 2 -> stub.register(String.valueOf(id), 999L, "00");
+                case 3 -> stub.register(String.valueOf(id), 10_000_000L, "04");
+                default -> { }
+            }
+        }
+        PaymentRepository paymentRepository = mock(PaymentRepository.class);
+        when(paymentRepository.findPageAfter(eq(PaymentStatus.PENDING), any(), anyLong(), any())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(2);
+            Pageable page = invocation.getArgument(3);
+            return pending.stream().filter(payment -> payment.getId() > afterId).limit(page.getPageSize()).toList();
+        });
+        batchRepository = mock(PaymentStatusBatchRepository.class);
+        when(batchRepository.applyAll(anyList())).thenAnswer(invocation -> {
+            List<PaymentStatusUpdate> updates = invocation.getArgument(0);
+            applied.addAll(updates);
+            return updates.size();
+        });
+        VNPayQueryClient client = new VNPayQueryClient(signer, config, new ObjectMapper(), 1_000, 5_000, "127.0.0.1");
+        expiryService = mock(PaymentExpiryService.class);
+        service = new PaymentReconciliationServiceImpl(paymentRepository, batchRepository, client, expiryService,
+                new SimpleMeterRegistry(), 100, CONCURRENCY, 15, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void reconcile_settlesEveryPageFromQueryResults() throws InterruptedException {
+        ReconciliationReport report = service.reconcile();
+
+        assertEquals(PAYMENTS, report.getScanned());
+        assertEquals(PAYMENTS, stub.requests());
+        assertEquals(0, stub.invalidRequests());
+        verify(batchRepository, times(3)).applyAll(anyList());
+        Map<Long, PaymentStatus> statuses = applied.stream()
+                .collect(Collectors.toMap(PaymentStatusUpdate::getPaymentId, PaymentStatusUpdate::getStatus));
+        assertEquals(PaymentStatus.SUCCESS, statuses.get(5L));
+        assertEquals(PaymentStatus.FAILED, statuses.get(6L));
+        assertEquals(PaymentStatus.FAILED, statuses.get(7L));
+        assertFalse(statuses.containsKey(8L));
+        assertEquals(PaymentStatus.EXPIRED, statuses.get(9L));
+        assertEquals(PAYMENTS / 5 * 4, applied.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reconcile_schedulesExpiryForPaymentsStillPending() throws InterruptedException {
+        service.reconcile();
+
+        ArgumentCaptor<Collection<PendingPayment>> scheduled = ArgumentCaptor.forClass(Collection.class);
+        verify(expiryService, times(3)).scheduleExpiry(scheduled.capture());
+        Set<Long> ids = scheduled.getAllValues().stream().flatMap(Collection::stream)
+                .map(PendingPayment::getId).collect(Collectors.toSet());
+        assertEquals(PAYMENTS / 5, ids.size());
+        assertTrue(ids.contains(8L));
+        assertFalse(ids.contains(5L));
+    }
+
+    @Test
+    void reconcile_fansOutUpToConcurrencyCap() throws InterruptedException {
+        service.reconcile();
+
+        assertTrue(stub.maxInFlight() > 1, "requests were not concurrent");
+        assertTrue(stub.maxInFlight() <= CONCURRENCY, "in flight: " + stub.maxInFlight());
+    }
+
+    @Test
+    void reconcile_ignoresResponsesWithInvalidSignature() throws InterruptedException {
+        stub.corruptSignatures(true);
+
+        ReconciliationReport report = service.reconcile();
+
+        assertEquals(PAYMENTS, report.getScanned());
+        assertTrue(applied.isEmpty());
+    }
+}
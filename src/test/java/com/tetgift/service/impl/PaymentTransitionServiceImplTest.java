@@ -0,0 +1,143 @@
+package com.tetgift.service.impl;
+
+import com.tetgift.dto.message.PaymentCallback;
+import com.tetgift.enums.OrderStatus;
+import com.tetgift.enums.PaymentStatus;
+import com.tetgift.enums.PaymentTransitionResult;
+import com.tetgift.model.Orders;
+import com.tetgift.model.Payment;
+import com.tetgift.model.Users;
+import com.tetgift.repository.jpa.OrderRepository;
+import com.tetgift.repository.jpa.PaymentRepository;
+import com.tetgift.service.OrderStatusNotifier;
+import com.tetgift.service.PaymentExpiryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class PaymentTransitionServiceImplTest {
+    private static final long PAYMENT_ID = 41L;
+    private static final long ORDER_ID = 42L;
+    private static final long USER_ID = 7L;
+
+    private PaymentRepository paymentRepository;
+    private OrderRepository orderRepository;
+    private PaymentExpiryService paymentExpiryService;
+    private OrderStatusNotifier orderStatusNotifier;
+    private PaymentTransitionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        paymentRepository = mock(PaymentRepository.class);
+        orderRepository = mock(OrderRepository.class);
+        paymentExpiryService = mock(PaymentExpiryService.class);
+        orderStatusNotifier = mock(OrderStatusNotifier.class);
+        service = new PaymentTransitionServiceImpl(paymentRepository, orderRepository, paymentExpiryService,
+                orderStatusNotifier);
+    }
+
+    @Test
+    void apply_unknownReference_isNotFound() {
+        when(paymentRepository.findWithOrderById(PAYMENT_ID)).thenReturn(Optional.empty());
+
+        assertEquals(PaymentTransitionResult.NOT_FOUND, service.apply(String.valueOf(PAYMENT_ID), List.of(callback("00"))));
+        assertEquals(PaymentTransitionResult.NOT_FOUND, service.apply("not-a-number", List.of(callback("00"))));
+        verify(paymentRepository, never()).transition(anyLong(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void apply_amountMismatch_failsPayment() {
+        stubPayment(PaymentStatus.PENDING);
+        PaymentCallback tampered = callback("00");
+        tampered.setAmount(1L);
+
+        assertEquals(PaymentTransitionResult.AMOUNT_MISMATCH, service.apply(String.valueOf(PAYMENT_ID), List.of(tampered)));
+        verify(paymentRepository).transition(eq(PAYMENT_ID), eq(PaymentStatus.PENDING), eq(PaymentStatus.FAILED),
+                eq("TXN-1"), eq("NCB"), isNull());
+        verify(paymentExpiryService).cancelExpiry(PAYMENT_ID);
+        verifyNoInteractions(orderRepository, orderStatusNotifier);
+    }
+
+    @Test
+    void apply_successCallback_marksPaymentAndOrderPaid() {
+        stubPayment(PaymentStatus.PENDING);
+        when(paymentRepository.transition(eq(PAYMENT_ID), eq(PaymentStatus.PENDING), eq(PaymentStatus.SUCCESS),
+                any(), any(), any())).thenReturn(1);
+        when(orderRepository.transition(ORDER_ID, OrderStatus.WAITING_PAYMENT, OrderStatus.PAID)).thenReturn(1);
+
+        assertEquals(PaymentTransitionResult.PAID, service.apply(String.valueOf(PAYMENT_ID), List.of(callback("00"))));
+        verify(paymentRepository).transition(PAYMENT_ID, PaymentStatus.PENDING, PaymentStatus.SUCCESS, "TXN-1", "NCB",
+                LocalDateTime.of(2026, 2, 1, 10, 15, 30));
+        verify(orderStatusNotifier).notify(USER_ID, ORDER_ID, OrderStatus.PAID, "Payment received");
+        verify(paymentExpiryService).cancelExpiry(PAYMENT_ID);
+    }
+
+    @Test
+    void apply_declinedCallback_failsPayment() {
+        stubPayment(PaymentStatus.PENDING);
+
+        assertEquals(PaymentTransitionResult.FAILED, service.apply(String.valueOf(PAYMENT_ID), List.of(callback("24"))));
+        verify(paymentRepository).transition(eq(PAYMENT_ID), eq(PaymentStatus.PENDING), eq(PaymentStatus.FAILED),
+                eq("TXN-1"), eq("NCB"), isNull());
+        verify(paymentExpiryService).cancelExpiry(PAYMENT_ID);
+        verifyNoInteractions(orderRepository, orderStatusNotifier);
+    }
+
+    @Test
+    void apply_usesTheLatestCallbackOfTheBatch() {
+        stubPayment(PaymentStatus.PENDING);
+
+        assertEquals(PaymentTransitionResult.FAILED,
+                service.apply(String.valueOf(PAYMENT_ID), List.of(callback("00"), callback("24"))));
+    }
+
+    @Test
+    void apply_settledPayment_isAlreadyApplied() {
+        stubPayment(PaymentStatus.SUCCESS);
+
+        assertEquals(PaymentTransitionResult.ALREADY_APPLIED, service.apply(String.valueOf(PAYMENT_ID), List.of(callback("00"))));
+        verify(paymentRepository, never()).transition(anyLong(), any(), any(), any(), any(), any());
+        verifyNoInteractions(orderRepository, orderStatusNotifier, paymentExpiryService);
+    }
+
+    @Test
+    void apply_lostConditionalUpdate_isAlreadyAppliedWithoutNotifying() {
+        stubPayment(PaymentStatus.PENDING);
+        when(paymentRepository.transition(anyLong(), any(), any(), any(), any(), any())).thenReturn(0);
+
+        assertEquals(PaymentTransitionResult.ALREADY_APPLIED, service.apply(String.valueOf(PAYMENT_ID), List.of(callback("00"))));
+        verifyNoInteractions(orderRepository, orderStatusNotifier);
+    }
+
+    private void stubPayment(PaymentStatus status) {
+        Users user = new Users();
+        user.setId(USER_ID);
+        Orders order = Orders.builder().user(user).status(OrderStatus.WAITING_PAYMENT).build();
+        order.setId(ORDER_ID);
+        Payment payment = Payment.builder().amount(150_000L).status(status).order(order).build();
+        payment.setId(PAYMENT_ID);
+        when(paymentRepository.findWithOrderById(PAYMENT_ID)).thenReturn(Optional.of(payment));
+    }
+
+    private static PaymentCallback callback(String responseCode) {
+        return PaymentCallback.builder()
+                .txnRef(String.valueOf(PAYMENT_ID))
+                .amount(150_000L * 100)
+                .responseCode(responseCode)
+                .transactionStatus(responseCode)
+                .transactionNo("TXN-1")
+                .bankCode("NCB")
+                .payDate("20260201101530")
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.tetgift.service.impl;
+
+import com.tetgift.configuration.RateLimitConfig;
+import com.tetgift.enums.RateLimitScope;
+import com.tetgift.model.ratelimit.RateLimitDecision;
+import com.tetgift.support.EmbeddedRedisTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterServiceImplTest extends EmbeddedRedisTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimiterServiceImpl rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        flushAll();
+        RateLimitConfig config = new RateLimitConfig();
+        config.setPolicies(Map.of("otp", List.of(
+                bucket(RateLimitScope.IP, 5, Duration.ofMinutes(1)),
+                bucket(RateLimitScope.ACCOUNT, 3, Duration.ofMinutes(1)),
+                bucket(RateLimitScope.GLOBAL, 100, Duration.ofMinutes(1)))));
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new RateLimiterServiceImpl(redisTemplate, config, meterRegistry);
+    }
+
+    @Test
+    void tryAcquire_rejectsOnceAccountBucketIsEmpty() {
+        for (int i = 2; i >= 0; i--) {
+            RateLimitDecision decision = rateLimiter.tryAcquire("otp", "10.0.0.1", "user@example.com");
+            assertTrue(decision.isAllowed());
+            assertEquals(i, decision.getRemaining());
+        }
+
+        RateLimitDecision rejected = rateLimiter.tryAcquire("otp", "10.0.0.1", "USER@example.com");
+        assertFalse(rejected.isAllowed());
+        assertTrue(rejected.getRetryAfterSeconds() >= 1);
+    }
+
+    @Test
+    void tryAcquire_doesNotConsumeOtherBucketsWhenOneIsEmpty() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("otp", "10.0.0.1", "user@example.com");
+        }
+        assertFalse(rateLimiter.tryAcquire("otp", "10.0.0.1", "user@example.com").isAllowed());
+
+        // the IP bucket still holds 2 tokens: only the three accepted requests consumed from it
+        assertTrue(rateLimiter.tryAcquire("otp", "10.0.0.1", "other@example.com").isAllowed());
+        assertTrue(rateLimiter.tryAcquire("otp", "10.0.0.1", "third@example.com").isAllowed());
+        assertFalse(rateLimiter.tryAcquire("otp", "10.0.0.1", "fourth@example.com").isAllowed());
+        assertTrue(rateLimiter.tryAcquire("otp", "10.0.0.2", "fourth@example.com").isAllowed());
+    }
+
+    @Test
+    void tryAcquire_rejectsLocallyWhileBucketIsKnownToBeEmpty() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("otp", "10.0.0.1", "user@example.com");
+        }
+        assertFalse(rateLimiter.tryAcquire("otp", "10.0.0.1", "user@example.com").isAllowed());
+        assertFalse(rateLimiter.tryAcquire("otp", "10.0.0.3", "user@example.com").isAllowed());
+
+        assertEquals(1.0, meterRegistry.counter("rate_limit.requests", "policy", "otp", "result", "rejected").count());
+        assertEquals(1.0, meterRegistry.counter("rate_limit.requests", "policy", "otp", "result", "blocked_locally").count());
+    }
+
+    private static RateLimitConfig.Bucket bucket(RateLimitScope scope, int capacity, Duration period) {
+        RateLimitConfig.Bucket bucket = new RateLimitConfig.Bucket();
+        bucket.setScope(scope);
+        bucket.setCapacity(capacity);
+        bucket.setPeriod(period);
+        return bucket;
+    }
+}
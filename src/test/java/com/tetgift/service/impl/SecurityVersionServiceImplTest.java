@@ -0,0 +1,91 @@
+package com.tetgift.service.impl;
+
+import com.tetgift.component.RedisNearCache;
+import com.tetgift.component.VerifiedTokenCache;
+import com.tetgift.support.EmbeddedRedisTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class SecurityVersionServiceImplTest extends EmbeddedRedisTest {
+
+    private final VerifiedTokenCache verifiedTokenCache = mock(VerifiedTokenCache.class);
+
+    @BeforeEach
+    void setUp() {
+        flushAll();
+    }
+
+    @Test
+    void bumpVersion_rejectsTokensIssuedBeforeTheBump() {
+        SecurityVersionServiceImpl service = newService(30);
+        assertTrue(service.isCurrent(7L, null));
+
+        assertEquals(1, service.bumpVersion(7L));
+
+        assertFalse(service.isCurrent(7L, 0L));
+        assertTrue(service.isCurrent(7L, 1L));
+        assertEquals("1", redisTemplate.opsForValue().get("security_version:7"));
+        verify(verifiedTokenCache).invalidateUser(7L);
+    }
+
+    @Test
+    void getVersion_servesCachedValueUntilItExpires() {
+        SecurityVersionServiceImpl cached = newService(30);
+        SecurityVersionServiceImpl uncached = newService(0);
+        assertEquals(0, cached.getVersion(7L));
+        assertEquals(0, uncached.getVersion(7L));
+
+        redisTemplate.opsForValue().set("security_version:7", "4");
+
+        assertEquals(0, cached.getVersion(7L));
+        assertEquals(4, uncached.getVersion(7L));
+        assertFalse(uncached.isCurrent(7L, 3L));
+    }
+
+    @Test
+    void onMessage_appliesBumpsFromOtherNodesButNeverGoesBack() {
+        SecurityVersionServiceImpl service = newService(30);
+        assertEquals(0, service.getVersion(7L));
+
+        service.onMessage(message("7:3"), null);
+        service.onMessage(message("7:2"), null);
+        service.onMessage(message("garbage"), null);
+
+        assertEquals(3, service.getVersion(7L));
+        assertFalse(service.isCurrent(7L, 2L));
+        verify(verifiedTokenCache, times(2)).invalidateUser(7L);
+    }
+
+    @Test
+    void evictExpired_dropsExpiredEntries() {
+        SecurityVersionServiceImpl service = newService(0);
+        service.getVersion(7L);
+
+        service.evictExpired();
+
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(service, "localVersions")).isEmpty());
+    }
+
+    private SecurityVersionServiceImpl newService(long cacheSeconds) {
+        SecurityVersionServiceImpl service = new SecurityVersionServiceImpl(redisTemplate,
+                mock(RedisMessageListenerContainer.class), verifiedTokenCache, mock(RedisNearCache.class));
+        ReflectionTestUtils.setField(service, "cacheSeconds", cacheSeconds);
+        return service;
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage("security_version_changed".getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
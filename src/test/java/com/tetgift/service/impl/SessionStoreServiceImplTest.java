@@ -0,0 +1,107 @@
+package com.tetgift.service.impl;
+
+import com.tetgift.dto.response.SessionResponse;
+import com.tetgift.enums.SessionRotationResult;
+import com.tetgift.support.EmbeddedRedisTest;
+import com.tetgift.util.TokenDigestUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionStoreServiceImplTest extends EmbeddedRedisTest {
+
+    private static final Long USER_ID = 7L;
+
+    private final SessionStoreServiceImpl store = new SessionStoreServiceImpl(redisTemplate);
+    private final Instant issuedAt = Instant.now();
+    private final Instant expiresAt = issuedAt.plus(Duration.ofDays(7));
+
+    @BeforeEach
+    void setUp() {
+        flushAll();
+    }
+
+    @Test
+    void rotateSession_replacesTheOldTokenWithTheNewOne() {
+        store.createSession(USER_ID, "token-1", "phone", issuedAt, expiresAt);
+
+        assertEquals(SessionRotationResult.ROTATED, store.rotateSession(USER_ID, "token-1", "token-2", issuedAt, expiresAt));
+
+        assertFalse(store.isSessionActive(USER_ID, "token-1"));
+        assertTrue(store.isSessionActive(USER_ID, "token-2"));
+        List<SessionResponse> sessions = store.listSessions(USER_ID);
+        assertEquals(1, sessions.size());
+        assertEquals(TokenDigestUtil.sha256Hex("token-2"), sessions.get(0).getSessionId());
+        assertEquals("phone", sessions.get(0).getDevice());
+        assertEquals(SessionRotationResult.NOT_FOUND, store.rotateSession(USER_ID, "unknown", "token-3", issuedAt, expiresAt));
+    }
+
+    @Test
+    void rotateSession_reuseOfRotatedTokenRevokesTheWholeFamily() {
+        store.createSession(USER_ID, "token-1", "phone", issuedAt, expiresAt);
+        store.createSession(USER_ID, "laptop-1", "laptop", issuedAt, expiresAt);
+        store.rotateSession(USER_ID, "token-1", "token-2", issuedAt, expiresAt);
+
+        assertEquals(SessionRotationResult.REUSE_DETECTED, store.rotateSession(USER_ID, "token-1", "token-x", issuedAt, expiresAt));
+
+        assertFalse(store.isSessionActive(USER_ID, "token-2"));
+        assertFalse(store.isSessionActive(USER_ID, "laptop-1"));
+        assertFalse(store.isSessionActive(USER_ID, "token-x"));
+        assertTrue(store.listSessions(USER_ID).isEmpty());
+        assertTrue(redisTemplate.keys("session:{7}:*").isEmpty());
+        assertEquals(SessionRotationResult.NOT_FOUND, store.rotateSession(USER_ID, "token-1", "token-y", issuedAt, expiresAt));
+    }
+
+    @Test
+    void revokeSession_andRevokeAllSessions() {
+        store.createSession(USER_ID, "token-1", "phone", issuedAt, expiresAt);
+        store.createSession(USER_ID, "token-2", "laptop", issuedAt, expiresAt);
+        store.createSession(8L, "other", "phone", issuedAt, expiresAt);
+
+        store.revokeSession(USER_ID, "token-1");
+        assertFalse(store.isSessionActive(USER_ID, "token-1"));
+        assertEquals(1, store.listSessions(USER_ID).size());
+
+        assertEquals(1, store.revokeAllSessions(USER_ID));
+        assertTrue(store.listSessions(USER_ID).isEmpty());
+        assertTrue(store.isSessionActive(8L, "other"));
+    }
+
+    @Test
+    void listSessions_dropsIndexEntriesWhoseSessionExpired() {
+        store.createSession(USER_ID, "token-1", "phone", issuedAt, expiresAt);
+        store.createSession(USER_ID, "token-2", "laptop", issuedAt, expiresAt);
+        redisTemplate.delete("session:{7}:token:" + TokenDigestUtil.sha256Hex("token-1"));
+
+        assertEquals(1, store.listSessions(USER_ID).size());
+        assertEquals(1, redisTemplate.opsForZSet().size("session:{7}:index"));
+    }
+
+    @Test
+    void listSessions_neverMissesASessionRotatedConcurrently() throws Exception {
+        store.createSession(USER_ID, "token-0", "phone", issuedAt, expiresAt);
+        ExecutorService rotator = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> rotations = rotator.submit(() -> {
+                for (int i = 0; i < 300; i++) {
+                    store.rotateSession(USER_ID, "token-" + i, "token-" + (i + 1), issuedAt, expiresAt);
+                }
+            });
+            while (!rotations.isDone()) {
+                assertEquals(1, store.listSessions(USER_ID).size());
+            }
+            rotations.get();
+        } finally {
+            rotator.shutdownNow();
+        }
+        assertEquals(TokenDigestUtil.sha256Hex("token-300"), store.listSessions(USER_ID).get(0).getSessionId());
+    }
+}
@@ -0,0 +1,201 @@
+package com.tetgift.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tetgift.component.SnowflakeNodeLease;
+import com.tetgift.dto.response.UserImportReport;
+import com.tetgift.enums.ImportFormat;
+import com.tetgift.enums.ImportStatus;
+import com.tetgift.exception.InvalidParameterException;
+import com.tetgift.model.userimport.ImportChunkResult;
+import com.tetgift.model.userimport.ImportedUser;
+import com.tetgift.repository.jdbc.UserImportRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserImportServiceImplTest {
+
+    private final UserImportRepository repository = mock(UserImportRepository.class);
+    private final List<List<ImportedUser>> chunks = new ArrayList<>();
+    private final List<Long> duplicateLines = new ArrayList<>();
+    private ThreadPoolTaskExecutor executor;
+    private ThreadPoolTaskExecutor coordinator;
+    private UserImportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(4);
+        executor.initialize();
+        coordinator = new ThreadPoolTaskExecutor();
+        coordinator.setCorePoolSize(1);
+        coordinator.setMaxPoolSize(1);
+        coordinator.setQueueCapacity(1);
+        coordinator.initialize();
+        when(repository.roleExists("USER")).thenReturn(true);
+        when(repository.write(anyList(), eq("USER"))).thenAnswer(invocation -> {
+            List<ImportedUser> chunk = List.copyOf(invocation.getArgument(0));
+            chunks.add(chunk);
+            List<Long> duplicates = chunk.stream().map(ImportedUser::getLine).filter(duplicateLines::contains).toList();
+            int addresses = chunk.stream().mapToInt(user -> user.getAddresses().size()).sum();
+            return new ImportChunkResult(chunk.size() - duplicates.size(), addresses, duplicates);
+        });
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        service = new UserImportServiceImpl(repository, Validation.buildDefaultValidatorFactory().getValidator(),
+                new BCryptPasswordEncoder(4), executor, coordinator, new SnowflakeNodeLease(null, meterRegistry, 3, 30_000L, 1),
+                new ObjectMapper(), meterRegistry, 2, 4, 1, 10, 5, 1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coordinator.shutdown();
+        executor.shutdown();
+    }
+
+    @Test
+    void importUsers_writesCsvInChunksAndReportsInvalidRows() throws InterruptedException {
+        String csv = """
+                username,email,password,fullName,phone,receiverName,phoneNumber,streetAddress,ward,district,province
+                alice,alice@example.com,password-1,Alice,0901234567,Alice,0901234567,1 Le Loi,Ben Nghe,District 1,HCMC
+                bob,bob@example.com,password-2,Bob,,,,,,,
+                carol,not-an-email,password-3,Carol,,,,,,,
+                dave,dave@example.com,password-4,,,,,,,,
+                erin,erin@example.com,password-5,"Erin, Jr.",,,,,,,
+                """;
+
+        UserImportReport report = importAndWait(csv, ImportFormat.CSV);
+
+        assertEquals(ImportStatus.COMPLETED, report.getStatus());
+        assertEquals(5, report.getRowsRead());
+        assertEquals(4, report.getImported());
+        assertEquals(1, report.getAddresses());
+        assertEquals(1, report.getInvalid());
+        assertEquals(4, report.getErrors().get(0).getLine());
+        assertEquals("email: Email is invalid", report.getErrors().get(0).getMessage());
+        assertEquals(List.of(2, 2), chunks.stream().map(List::size).toList());
+        ImportedUser alice = chunks.get(0).get(0);
+        assertEquals("alice", alice.getUsername());
+        assertTrue(new BCryptPasswordEncoder().matches("password-1", alice.getPasswordHash()));
+        assertEquals("Erin, Jr.", chunks.get(1).get(1).getFullName());
+    }
+
+    @Test
+    void importUsers_skipsMalformedNdjsonLinesAndReportsDuplicates() throws InterruptedException {
+        duplicateLines.add(4L);
+        String ndjson = """
+                {"username":"alice","email":"alice@example.com","password":"password-1"}
+                {"username":"broken",
+                
+                {"username":"alice2","email":"ALICE@example.com","password":"password-2","addresses":[{"receiverName":"A","phoneNumber":"0901234567","streetAddress":"1 Le Loi","ward":"Ben Nghe","district":"District 1","province":"HCMC"}]}
+                """;
+
+        UserImportReport report = importAndWait(ndjson, ImportFormat.NDJSON);
+
+        assertEquals(ImportStatus.COMPLETED, report.getStatus());
+        assertEquals(3, report.getRowsRead());
+        assertEquals(1, report.getImported());
+        assertEquals(1, report.getInvalid());
+        assertEquals(1, report.getDuplicates());
+        assertEquals(List.of(2L, 4L), report.getErrors().stream().map(UserImportReport.RowError::getLine).sorted().toList());
+        assertEquals(report.getImportId(), service.listImports().get(0).getImportId());
+    }
+
+    @Test
+    void importUsers_listsOnlyFirstErrors() throws InterruptedException {
+        StringBuilder csv = new StringBuilder("username,email,password\n");
+        for (int i = 0; i < 25; i++) {
+            csv.append("u").append(i).append(",bad,short\n");
+        }
+
+        UserImportReport report = importAndWait(csv.toString(), ImportFormat.CSV);
+
+        assertEquals(25, report.getInvalid());
+        assertEquals(10, report.getErrors().size());
+        assertEquals(15, report.getUnreportedErrors());
+        assertTrue(chunks.isEmpty());
+    }
+
+    @Test
+    void importUsers_treatsNullAddressesAsNoneAndRejectsNullEntries() throws InterruptedException {
+        String ndjson = """
+                {"username":"alice","email":"alice@example.com","password":"password-1","addresses":null}
+                {"username":"bob","email":"bob@example.com","password":"password-2","addresses":[null]}
+                """;
+
+        UserImportReport report = importAndWait(ndjson, ImportFormat.NDJSON);
+
+        assertEquals(ImportStatus.COMPLETED, report.getStatus());
+        assertEquals(1, report.getImported());
+        assertEquals(1, report.getInvalid());
+        assertEquals(2, report.getErrors().get(0).getLine());
+        assertEquals("addresses[0].<list element>: Address must not be null", report.getErrors().get(0).getMessage());
+        assertTrue(chunks.get(0).get(0).getAddresses().isEmpty());
+    }
+
+    @Test
+    void importUsers_marksJobFailedOnUnexpectedErrors() throws InterruptedException {
+        when(repository.write(anyList(), eq("USER"))).thenThrow(new IllegalStateException("boom"));
+
+        UserImportReport report = importAndWait("""
+                {"username":"alice","email":"alice@example.com","password":"password-1"}
+                """, ImportFormat.NDJSON);
+
+        assertEquals(ImportStatus.FAILED, report.getStatus());
+        assertEquals(ImportStatus.COMPLETED, importAndWait("username,email,password\n", ImportFormat.CSV).getStatus());
+    }
+
+    @Test
+    void importUsers_rejectsUnknownRoleBeforeReadingTheUpload() {
+        assertThrows(InvalidParameterException.class,
+                () -> service.importUsers(stream("username,email,password\n"), ImportFormat.CSV, "SUPERUSER"));
+        verify(repository, never()).write(anyList(), anyString());
+        assertTrue(service.listImports().isEmpty());
+    }
+
+    @Test
+    void importUsers_returnsRunningReportImmediately() throws InterruptedException {
+        UserImportReport started = service.importUsers(stream("username,email,password\n"), ImportFormat.CSV, "USER");
+
+        assertNotNull(started.getImportId());
+        assertEquals(ImportStatus.COMPLETED, awaitFinished(started.getImportId()).getStatus());
+    }
+
+    private UserImportReport importAndWait(String body, ImportFormat format) throws InterruptedException {
+        return awaitFinished(service.importUsers(stream(body), format, "USER").getImportId());
+    }
+
+    private UserImportReport awaitFinished(String importId) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            UserImportReport report = service.getImport(importId);
+            if (report.getStatus() != ImportStatus.RUNNING) {
+                return report;
+            }
+            Thread.sleep(10);
+        }
+        return fail("import " + importId + " did not finish");
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,129 @@
+package com.tetgift.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.tetgift.component.VNPaySigner;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the VNPay merchant API ({@code querydr}) with a fixed response latency.
+ * Checks request signatures, signs responses with the same secret, and records how many
+ * requests were in flight at once so tests can assert on concurrency.
+ */
+public class VNPayApiStub implements AutoCloseable {
+    private final VNPaySigner signer;
+    private final long latencyMillis;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, String[]> transactions = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger invalidRequests = new AtomicInteger();
+    private final HttpServer server;
+    private volatile boolean corruptSignatures;
+
+    public VNPayApiStub(VNPaySigner signer, long latencyMillis) throws IOException {
+        this.signer = signer;
+        this.latencyMillis = latencyMillis;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext("/merchant_webapi/api/transaction", this::handle);
+        this.server.start();
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/merchant_webapi/api/transaction";
+    }
+
+    /**
+     * Registers the transaction VNPay knows for {@code txnRef}; unknown references answer {@code 91}.
+     */
+    public void register(String txnRef, long vnpAmount, String transactionStatus) {
+        transactions.put(txnRef, new String[]{String.valueOf(vnpAmount), transactionStatus});
+    }
+
+    public void corruptSignatures(boolean corrupt) {
+        this.corruptSignatures = corrupt;
+    }
+
+    public int requests() {
+        return requests.get();
+    }
+
+    public int invalidRequests() {
+        return invalidRequests.get();
+    }
+
+    public int maxInFlight() {
+        return maxInFlight.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void handle(HttpExchange exchange) throws IOException {
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        requests.incrementAndGet();
+        try {
+            Map<String, String> request = objectMapper.readValue(exchange.getRequestBody(), Map.class);
+            if (!signer.verifyFields(request.get(VNPaySigner.SECURE_HASH), request.get("vnp_RequestId"),
+                    request.get("vnp_Version"), request.get("vnp_Command"), request.get("vnp_TmnCode"),
+                    request.get("vnp_TxnRef"), request.get("vnp_TransactionDate"), request.get("vnp_CreateDate"),
+                    request.get("vnp_IpAddr"), request.get("vnp_OrderInfo"))) {
+                invalidRequests.incrementAndGet();
+            }
+            Thread.sleep(latencyMillis);
+            write(exchange, objectMapper.writeValueAsBytes(respond(request)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private Map<String, String> respond(Map<String, String> request) {
+        String txnRef = request.get("vnp_TxnRef");
+        String[] transaction = transactions.get(txnRef);
+        Map<String, String> response = new LinkedHashMap<>();
+        response.put("vnp_ResponseId", request.get("vnp_RequestId"));
+        response.put("vnp_Command", "querydr");
+        response.put("vnp_ResponseCode", transaction != null ? "00" : "91");
+        response.put("vnp_Message", transaction != null ? "QueryDR Success" : "Transaction not found");
+        response.put("vnp_TmnCode", request.get("vnp_TmnCode"));
+        response.put("vnp_TxnRef", txnRef);
+        response.put("vnp_Amount", transaction != null ? transaction[0] : "");
+        response.put("vnp_BankCode", transaction != null ? "NCB" : "");
+        response.put("vnp_PayDate", transaction != null ? "20260210153000" : "");
+        response.put("vnp_TransactionNo", transaction != null ? "1400" + txnRef : "");
+        response.put("vnp_TransactionType", transaction != null ? "01" : "");
+        response.put("vnp_TransactionStatus", transaction != null ? transaction[1] : "");
+        response.put("vnp_OrderInfo", request.get("vnp_OrderInfo"));
+        response.put("vnp_PromotionCode", "");
+        response.put("vnp_PromotionAmount", "");
+        String signature = signer.signFields(response.values().toArray(String[]::new));
+        response.put(VNPaySigner.SECURE_HASH, corruptSignatures ? (signature.charAt(0) == '0' ? "1" : "0") + signature.substring(1) : signature);
+        return response;
+    }
+
+    private static void write(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
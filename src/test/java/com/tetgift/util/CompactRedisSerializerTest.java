@@ -0,0 +1,71 @@
+package com.tetgift.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactRedisSerializerTest {
+
+    @Test
+    void roundTripsEveryBinaryFormatSmallerThanJson() {
+        Map<String, Object> value = sample(5);
+        byte[] json = new GenericJackson2JsonRedisSerializer().serialize(value);
+
+        for (CompactRedisSerializer.Format format : List.of(CompactRedisSerializer.Format.SMILE, CompactRedisSerializer.Format.CBOR)) {
+            CompactRedisSerializer serializer = new CompactRedisSerializer(new ObjectMapper(), true, format, Integer.MAX_VALUE);
+            byte[] bytes = serializer.serialize(value);
+
+            assertEquals((byte) 0xFE, bytes[0]);
+            assertTrue(bytes.length < json.length, format + ": " + bytes.length + " >= " + json.length);
+            assertEquals(value, serializer.deserialize(bytes));
+        }
+    }
+
+    @Test
+    void compressesPayloadsAboveThreshold() {
+        Map<String, Object> value = sample(200);
+        CompactRedisSerializer plain = new CompactRedisSerializer(new ObjectMapper(), true, CompactRedisSerializer.Format.SMILE, Integer.MAX_VALUE);
+        CompactRedisSerializer compressed = new CompactRedisSerializer(new ObjectMapper(), true, CompactRedisSerializer.Format.SMILE, 256);
+
+        byte[] bytes = compressed.serialize(value);
+
+        assertEquals(1, bytes[1] & 0x01);
+        assertTrue(bytes.length < plain.serialize(value).length / 2);
+        assertEquals(value, plain.deserialize(bytes));
+    }
+
+    @Test
+    void readsLegacyJsonAndCanKeepWritingIt() {
+        Map<String, Object> value = sample(3);
+        byte[] legacy = new GenericJackson2JsonRedisSerializer().serialize(value);
+        CompactRedisSerializer smile = new CompactRedisSerializer(new ObjectMapper(), true, CompactRedisSerializer.Format.SMILE, 1024);
+        CompactRedisSerializer json = new CompactRedisSerializer(new ObjectMapper(), true, CompactRedisSerializer.Format.JSON, 1024);
+
+        assertEquals(value, smile.deserialize(legacy));
+        assertArrayEquals(legacy, json.serialize(value));
+        assertEquals(value, json.deserialize(smile.serialize(value)));
+    }
+
+    private static Map<String, Object> sample(int items) {
+        List<Map<String, Object>> lines = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("productName", "Hop qua Tet cao cap " + i);
+            line.put("quantity", i + 1);
+            line.put("unitPrice", 450_000L + i);
+            lines.add(line);
+        }
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("orderCode", "TG-20260118-0001");
+        order.put("status", "PENDING");
+        order.put("lines", lines);
+        return order;
+    }
+}
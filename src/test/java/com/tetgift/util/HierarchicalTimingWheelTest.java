@@ -0,0 +1,56 @@
+package com.tetgift.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void advanceTo_neverFiresEarlyAndAtMostOneTickLate() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(100, 8, START);
+        Random random = new Random(42);
+        List<Long> dues = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            long due = START + random.nextInt(3_600_000);
+            dues.add(due);
+            wheel.add(due, due);
+        }
+
+        Set<Long> fired = new HashSet<>();
+        for (long now = START; now <= START + 3_700_000; now += 37) {
+            for (Long due : wheel.advanceTo(now)) {
+                assertTrue(due <= now, "fired early: due " + due + " at " + now);
+                assertTrue(now - due < 100 + 37, "fired late: due " + due + " at " + now);
+                fired.add(due);
+            }
+        }
+        assertEquals(new HashSet<>(dues), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void add_firesOverdueEntriesOnNextTick() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(100, 8, START);
+        wheel.advanceTo(START + 10_000);
+
+        wheel.add("overdue", START);
+
+        assertEquals(List.of("overdue"), wheel.advanceTo(START + 10_100));
+    }
+
+    @Test
+    void advanceTo_catchesUpAfterLongPause() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(100, 8, START);
+        wheel.add("soon", START + 500);
+        wheel.add("later", START + 86_400_000L);
+
+        assertEquals(List.of("soon"), wheel.advanceTo(START + 3_600_000));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("later"), wheel.advanceTo(START + 86_400_100L));
+    }
+}
@@ -0,0 +1,61 @@
+package com.tetgift.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final long EPOCH = SnowflakeIdGenerator.DEFAULT_EPOCH_MILLIS;
+
+    @Test
+    void nextId_encodesTimestampAndNode() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(513, EPOCH, () -> EPOCH + 1_000L);
+
+        long id = generator.nextId();
+
+        assertEquals(EPOCH + 1_000L, SnowflakeIdGenerator.timestampOf(id, EPOCH));
+        assertEquals(513, SnowflakeIdGenerator.nodeOf(id));
+        assertTrue(id < generator.nextId());
+    }
+
+    @Test
+    void nextId_staysIncreasingWhenSequenceOverflowsOrClockGoesBack() {
+        AtomicLong clock = new AtomicLong(EPOCH + 5_000L);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, EPOCH, clock::get);
+        long previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+        assertEquals(EPOCH + 5_002L, SnowflakeIdGenerator.timestampOf(previous, EPOCH));
+
+        clock.set(EPOCH + 1_000L);
+        assertTrue(generator.nextId() > previous);
+    }
+
+    @Test
+    void nextId_isUniqueAcrossThreads() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 8).parallel().forEach(thread -> {
+            for (int i = 0; i < 50_000; i++) {
+                ids.add(generator.nextId());
+            }
+        });
+
+        assertEquals(400_000, ids.size());
+    }
+
+    @Test
+    void rejectsNodeIdOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1));
+    }
+}
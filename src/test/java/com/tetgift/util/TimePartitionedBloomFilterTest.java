@@ -0,0 +1,58 @@
+package com.tetgift.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimePartitionedBloomFilterTest {
+
+    private static final long PARTITION_MILLIS = 60_000L;
+
+    @Test
+    void mightContain_hasNoFalseNegatives() {
+        TimePartitionedBloomFilter filter = new TimePartitionedBloomFilter(PARTITION_MILLIS, 1_000, 0.01);
+        long expiresAt = System.currentTimeMillis() + 30_000L;
+        String[] ids = new String[1_000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = UUID.randomUUID().toString();
+            filter.add(ids[i], expiresAt);
+        }
+
+        for (String id : ids) {
+            assertTrue(filter.mightContain(id, expiresAt));
+        }
+    }
+
+    @Test
+    void mightContain_keepsFalsePositiveRateNearTarget() {
+        TimePartitionedBloomFilter filter = new TimePartitionedBloomFilter(PARTITION_MILLIS, 1_000, 0.01);
+        long expiresAt = System.currentTimeMillis() + 30_000L;
+        for (int i = 0; i < 1_000; i++) {
+            filter.add(UUID.randomUUID().toString(), expiresAt);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString(), expiresAt)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void evictExpired_dropsPartitionsWhoseWindowHasPassed() {
+        TimePartitionedBloomFilter filter = new TimePartitionedBloomFilter(PARTITION_MILLIS, 100, 0.01);
+        long now = System.currentTimeMillis();
+        filter.add("expired", now - 2 * PARTITION_MILLIS);
+        filter.add("live", now + 2 * PARTITION_MILLIS);
+
+        filter.evictExpired(now);
+
+        assertEquals(1, filter.partitionCount());
+        assertFalse(filter.mightContain("expired", now - 2 * PARTITION_MILLIS));
+        assertTrue(filter.mightContain("live", now + 2 * PARTITION_MILLIS));
+    }
+}